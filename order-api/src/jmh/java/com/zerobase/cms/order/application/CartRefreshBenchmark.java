@@ -0,0 +1,90 @@
+package com.zerobase.cms.order.application;
+
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.metrics.CartMetrics;
+import com.zerobase.cms.order.service.ProductSearchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 장바구니 한 개를 refreshCart 로 갱신하는 시간. (상품 items/10 개, 상품마다 옵션 10 개)
+ * 절반의 상품은 옵션 하나가 삭제되고 하나는 가격이 바뀌어 메시지가 생긴다.
+ * 상품 조회는 미리 만든 행을 돌려주므로 DB, 캐시 시간은 포함하지 않는다.
+ *
+ * 모듈 빌드 파일에 jmh 소스셋, 플러그인이 없어 빌드에 포함되지 않는다. JMH 러너(org.openjdk.jmh.Main)로 따로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartRefreshBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private CartApplication cartApplication;
+    private Cart cart;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int productCount = items / 10;
+        List<CartRefreshItem> rows = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            for (int j = 0; j < 10; j++) {
+                if (i % 2 == 0 && j == 0) {
+                    continue;
+                }
+                int price = i % 2 == 0 && j == 1 ? 99999 : 10000;
+                rows.add(new CartRefreshItem((long) i, i * 1000L + j, "Option " + j, price, 10));
+            }
+        }
+        ProductSearchService productSearchService = new ProductSearchService(null, null) {
+            @Override
+            public List<CartRefreshItem> getCartRefreshItems(List<Long> productIds) {
+                return rows;
+            }
+        };
+        cartApplication = new CartApplication(productSearchService, null, new CartMetrics(), null);
+    }
+
+    // refreshCart 가 장바구니를 바꾸므로 매번 새로 만든다.
+    @Setup(Level.Invocation)
+    public void createCart() {
+        cart = new Cart(1L);
+        for (int i = 0; i < items / 10; i++) {
+            Cart.Product product = new Cart.Product();
+            product.setId((long) i);
+            product.setName("Product " + i);
+            for (int j = 0; j < 10; j++) {
+                Cart.ProductItem item = new Cart.ProductItem();
+                item.setId(i * 1000L + j);
+                item.setName("Option " + j);
+                item.setPrice(10000);
+                item.setCount(1);
+                product.getItems().add(item);
+            }
+            cart.getProducts().add(product);
+        }
+    }
+
+    @Benchmark
+    public Cart refreshCart() {
+        return cartApplication.refreshCart(cart);
+    }
+}
@@ -0,0 +1,109 @@
+package com.zerobase.cms.order.client.redis;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 장바구니 한 개를 encode, decode 하는 시간. (상품 items/10 개, 상품마다 옵션 10 개)
+ * json* 은 이전 저장 형식인 JSON 이다. (비교용)
+ * encode 는 EncodedSize 로 만든 바이트 수도 남긴다. (bytes / carts = 장바구니 한 개의 크기)
+ *
+ * 모듈 빌드 파일에 jmh 소스셋, 플러그인이 없어 빌드에 포함되지 않는다. JMH 러너(org.openjdk.jmh.Main)로 따로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartCodecBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private final BinaryCartCodec binaryCodec = new BinaryCartCodec();
+    private final JsonCartCodec jsonCodec = new JsonCartCodec();
+
+    private Cart cart;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        cart = new Cart(1L);
+        for (int i = 0; i < items / 10; i++) {
+            Cart.Product product = new Cart.Product();
+            product.setId((long) i);
+            product.setSellerId(2L);
+            product.setName("Product " + i);
+            product.setDescription("Happy Shopping!");
+            for (int j = 0; j < 10; j++) {
+                Cart.ProductItem item = new Cart.ProductItem();
+                item.setId(i * 1000L + j);
+                item.setName("Option " + j);
+                item.setPrice(10000 + j);
+                item.setCount(j + 1);
+                product.getItems().add(item);
+            }
+            cart.getProducts().add(product);
+        }
+        binary = binaryCodec.encode(cart);
+        json = jsonCodec.encode(cart);
+    }
+
+    /**
+     * 측정 구간 동안 encode 한 장바구니 수와 바이트 수. 스레드, 반복 회차마다 더해지므로 나눠서 본다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long bytes;
+        public long carts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            carts = 0;
+        }
+
+        byte[] record(byte[] encoded) {
+            bytes += encoded.length;
+            carts++;
+            return encoded;
+        }
+    }
+
+    @Benchmark
+    public byte[] binaryEncode(EncodedSize size) {
+        return size.record(binaryCodec.encode(cart));
+    }
+
+    @Benchmark
+    public Cart binaryDecode() {
+        return binaryCodec.decode(binary);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode(EncodedSize size) {
+        return size.record(jsonCodec.encode(cart));
+    }
+
+    @Benchmark
+    public Cart jsonDecode() {
+        return jsonCodec.decode(json);
+    }
+}
@@ -1,33 +1,44 @@
 package com.zerobase.cms.order.application;
 
+import static com.zerobase.cms.order.exception.ErrorCode.CART_VERSION_CONFLICT;
+import static com.zerobase.cms.order.exception.ErrorCode.INVALID_CART_ITEM_FORM;
 import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 
-import com.zerobase.cms.order.domain.model.Product;
-import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.ProductItemDto;
+import com.zerobase.cms.order.domain.product.UpdateCartItemForm;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.metrics.CartMetrics;
 import com.zerobase.cms.order.service.CartService;
+import com.zerobase.cms.order.service.InventoryService;
 import com.zerobase.cms.order.service.ProductSearchService;
+import com.zerobase.cms.order.util.LongKeyMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class CartApplication {
 
     private final ProductSearchService productSearchService;
     private final CartService cartService;
+    private final CartMetrics cartMetrics;
+    private final InventoryService inventoryService;
 
     public Cart addCart(Long customerId, AddProductCartForm form) {
 
-        Product product = productSearchService.getByProductId(form.getId());
+        ProductDto product = productSearchService.getProductDto(form.getId());
         if (product == null) {
             throw new CustomException(NOT_FOUND_PRODUCT);
         }
@@ -44,46 +55,124 @@ public class CartApplication {
         return getCart(customerId);
     }
 
+    public Cart updateCartItem(Long customerId, UpdateCartItemForm form) {
+        if (form.getProductId() == null || form.getItemId() == null || form.getCount() == null) {
+            throw new CustomException(INVALID_CART_ITEM_FORM);
+        }
+        cartService.changeItemCount(
+            customerId, form.getProductId(), form.getItemId(), form.getCount());
+        return getCart(customerId);
+    }
+
+    public Cart removeCartItem(Long customerId, Long productId, Long itemId) {
+        cartService.removeItem(customerId, productId, itemId);
+        return getCart(customerId);
+    }
+
+    /**
+     * 장바구니를 최신 상품 정보로 갱신해서 돌려준다.
+     * 갱신으로 바뀐 내용이 있거나 메시지를 꺼냈을 때만 한 번 저장한다.
+     * 저장하지 못하면 꺼낸 메시지는 돌려주지 않고 남겨 두어, 다음 조회 때 돌려준다.
+     */
     public Cart getCart(Long customerId) {
         Cart cart = refreshCart(cartService.getCart(customerId));
-        cartService.putCart(cart.getCustomerId(), cart);
+        List<String> messages = cart.consumeMessages();
+
+        if (cart.isDirty()) {
+            Cart written = writeRefreshed(customerId, cart, messages);
+            if (written == null) {
+                messages = new ArrayList<>();
+            } else {
+                cart = written;
+                cartMetrics.viewWritten();
+            }
+        } else {
+            cartMetrics.viewWriteSkipped();
+        }
         Cart returnCart = new Cart();
         returnCart.setCustomerId(customerId);
         returnCart.setProducts(cart.getProducts());
-        returnCart.setMessages(cart.getMessages());
-        cart.setMessages(new ArrayList<>());
-
-        cartService.putCart(customerId, cart);
+        returnCart.setMessages(messages);
+        returnCart.setVersion(cart.getVersion());
         return returnCart;
     }
 
+    /**
+     * 갱신한 장바구니를 저장한다. 그 사이 다른 요청이 먼저 저장했다면 최신 장바구니를 다시 갱신하고
+     * 돌려줄 메시지만 지워서 저장한다. 끝내 저장하지 못하면 null
+     */
+    private Cart writeRefreshed(Long customerId, Cart cart, List<String> consumed) {
+        try {
+            return cartService.putCart(customerId, cart);
+        } catch (CustomException e) {
+            if (e.getErrorCode() != CART_VERSION_CONFLICT) {
+                throw e;
+            }
+        }
+        try {
+            return cartService.modifyCart(customerId, current -> {
+                Cart refreshed = refreshCart(current);
+                List<String> remaining = new ArrayList<>(refreshed.getMessages());
+                consumed.forEach(remaining::remove);
+                refreshed.setMessages(remaining);
+                return refreshed;
+            });
+        } catch (CustomException e) {
+            if (e.getErrorCode() != CART_VERSION_CONFLICT) {
+                throw e;
+            }
+            log.debug("skip cart refresh write. customerId : {}", customerId);
+            return null;
+        }
+    }
+
+    /**
+     * 장바구니를 최신 상품 정보와 한 번에 비교해 삭제된 상품/옵션을 빼고 가격, 수량을 맞춘다.
+     * 목록 중간 삭제 대신 남길 것만 앞으로 당겨 쓰고 끝을 잘라낸다.
+     */
     public Cart refreshCart(Cart cart) {
-        Map<Long, Product> productMap = productSearchService.getListByProductIds(
-            cart.getProducts().stream().map(Cart.Product::getId)
-                .collect(Collectors.toList())).stream()
-                .collect(Collectors.toMap(Product::getId, product -> product));
-
-        for (int i = 0; i < cart.getProducts().size(); i++) {
-            Cart.Product cartProduct = cart.getProducts().get(i);
-
-            Product p = productMap.get(cartProduct.getId());
-            if (p == null) {
-                cart.getProducts().remove(cartProduct);
-                i--;
+        List<Cart.Product> cartProducts = cart.getProducts();
+        List<Long> productIds = new ArrayList<>(cartProducts.size());
+        for (Cart.Product cartProduct : cartProducts) {
+            productIds.add(cartProduct.getId());
+        }
+        List<CartRefreshItem> rows = productSearchService.getCartRefreshItems(productIds);
+
+        // 상품 id -> 옵션이 있는지 여부, 옵션 id -> 옵션 (옵션 id 는 상품과 관계없이 유일)
+        LongKeyMap<Boolean> productMap = new LongKeyMap<>(cartProducts.size());
+        LongKeyMap<CartRefreshItem> itemMap = new LongKeyMap<>(rows.size());
+        for (CartRefreshItem row : rows) {
+            if (row.getItemId() == null) {
+                productMap.put(row.getProductId(), Boolean.FALSE);
+            } else {
+                productMap.put(row.getProductId(), Boolean.TRUE);
+                itemMap.put(row.getItemId(), row);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int keptProducts = 0;
+        for (int i = 0; i < cartProducts.size(); i++) {
+            Cart.Product cartProduct = cartProducts.get(i);
+            Boolean hasItems = productMap.get(cartProduct.getId());
+            if (hasItems == null) {
+                cart.markDirty();
                 cart.addMessage(cartProduct.getName() + " 상품이 삭제되었습니다.");
                 continue;
             }
-            Map<Long, ProductItem> productItemMap = p.getProductItems().stream()
-                .collect(Collectors.toMap(ProductItem::getId, productItem -> productItem));
-
-            List<String> tmpMessages = new ArrayList<>();
-            for (int j = 0; j < cartProduct.getItems().size(); j++) {
-                Cart.ProductItem cartProductItem = cartProduct.getItems().get(j);
-                ProductItem pi = productItemMap.get(cartProductItem.getId());
-                if (pi == null) {
-                    cartProduct.getItems().remove(cartProductItem);
-                    j--;
-                    tmpMessages.add(cartProductItem.getName() + " 옵션이 삭제되었습니다.");
+
+            sb.setLength(0);
+            sb.append(cartProduct.getName()).append(" 상품의 변동 사항 : ");
+            int prefixLength = sb.length();
+
+            List<Cart.ProductItem> cartItems = cartProduct.getItems();
+            int keptItems = 0;
+            for (int j = 0; j < cartItems.size(); j++) {
+                Cart.ProductItem cartProductItem = cartItems.get(j);
+                CartRefreshItem pi = itemMap.get(cartProductItem.getId());
+                if (pi == null || !pi.getProductId().equals(cartProduct.getId())) {
+                    cart.markDirty();
+                    appendChange(sb, prefixLength, cartProductItem.getName(), " 옵션이 삭제되었습니다.");
                     continue;
                 }
 
@@ -98,41 +187,67 @@ public class CartApplication {
                 }
 
                 if (isPriceChanged && isCountNotEnough) {
-                    tmpMessages.add(cartProductItem.getName() + " 가격 변동, 수량이 부족하여 구매 가능한 최대치로 변동되었습니다.");
+                    appendChange(sb, prefixLength, cartProductItem.getName(),
+                        " 가격 변동, 수량이 부족하여 구매 가능한 최대치로 변동되었습니다.");
                 } else if (isPriceChanged) {
-                    tmpMessages.add(cartProductItem.getName() + " 가격이 변동되었습니다.");
+                    appendChange(sb, prefixLength, cartProductItem.getName(), " 가격이 변동되었습니다.");
                 } else if (isCountNotEnough) {
-                    tmpMessages.add(cartProductItem.getName() + " 수량이 부족하여 구매 가능한 최대치로 변동되었습니다.");
+                    appendChange(sb, prefixLength, cartProductItem.getName(),
+                        " 수량이 부족하여 구매 가능한 최대치로 변동되었습니다.");
+                }
+                if (isPriceChanged || isCountNotEnough) {
+                    cart.markDirty();
                 }
+                moveTo(cartItems, j, keptItems++);
             }
-            if (cartProduct.getItems().size() == 0 && p.getProductItems().size() == 0) {
-                cart.getProducts().remove(cartProduct);
-                i--;
+            truncate(cartItems, keptItems);
+
+            if (keptItems == 0 && !hasItems) {
+                cart.markDirty();
                 cart.addMessage(cartProduct.getName() + " 상품의 옵션이 모두 없어져 구매가 불가능합니다.");
-            } else if (tmpMessages.size() > 0) {
-                StringBuilder sb = new StringBuilder();
-                sb.append(cartProduct.getName()).append(" 상품의 변동 사항 : ");
-                for (String message : tmpMessages) {
-                    sb.append(message);
-                    if (i < tmpMessages.size() - 1) {
-                        sb.append(", ");
-                    }
-                }
+                continue;
+            }
+            if (sb.length() > prefixLength) {
                 cart.addMessage(sb.toString());
             }
+            moveTo(cartProducts, i, keptProducts++);
         }
+        truncate(cartProducts, keptProducts);
         return cart;
     }
 
-    private boolean addAble(Cart cart, Product product, AddProductCartForm form) {
+    private void appendChange(StringBuilder sb, int prefixLength, String itemName, String change) {
+        if (sb.length() > prefixLength) {
+            sb.append(", ");
+        }
+        sb.append(itemName).append(change);
+    }
+
+    private <T> void moveTo(List<T> list, int from, int to) {
+        if (from != to) {
+            list.set(to, list.get(from));
+        }
+    }
+
+    private <T> void truncate(List<T> list, int size) {
+        if (size < list.size()) {
+            list.subList(size, list.size()).clear();
+        }
+    }
+
+    private boolean addAble(Cart cart, ProductDto product, AddProductCartForm form) {
         Cart.Product cartProduct =
             cart.getProducts().stream().filter(p -> p.getId().equals(form.getId()))
             .findFirst().orElse(Cart.Product.builder().id(product.getId()).items(
                     Collections.emptyList()).build());
         Map<Long, Integer> cartItemCountMap = cartProduct.getItems().stream()
             .collect(Collectors.toMap(Cart.ProductItem::getId, Cart.ProductItem::getCount));
-        Map<Long, Integer> currentItemCountMap = product.getProductItems().stream()
-            .collect(Collectors.toMap(ProductItem::getId, ProductItem::getCount));
+        // Redis 재고 카운터를 사용하면 예약 중인 수량을 뺀 주문 가능 수량과 비교한다.
+        Map<Long, Integer> currentItemCountMap = inventoryService.isEnabled() ?
+            inventoryService.getAvailable(product.getItems().stream()
+                .map(ProductItemDto::getId).collect(Collectors.toList())) :
+            product.getItems().stream()
+                .collect(Collectors.toMap(ProductItemDto::getId, ProductItemDto::getCount));
 
         return form.getItems().stream().noneMatch(
             formItem -> {
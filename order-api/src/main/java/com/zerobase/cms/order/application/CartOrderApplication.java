@@ -1,39 +1,48 @@
 package com.zerobase.cms.order.application;
 
 import static com.zerobase.cms.order.exception.ErrorCode.CART_IS_EMPTY;
+import static com.zerobase.cms.order.exception.ErrorCode.INVALID_IDEMPOTENCY_KEY;
 import static com.zerobase.cms.order.exception.ErrorCode.ORDER_FAIL_CHECK_CART;
-import static com.zerobase.cms.order.exception.ErrorCode.ORDER_FAIL_NOT_ENOUGH_MONEY;
+import static com.zerobase.cms.order.exception.ErrorCode.ORDER_IN_PROGRESS;
 
-import com.zerobase.cms.order.client.RedisClient;
-import com.zerobase.cms.order.client.UserClient;
-import com.zerobase.cms.order.client.mailgun.MailgunClient;
-import com.zerobase.cms.order.client.mailgun.SendMailForm;
-import com.zerobase.cms.order.client.user.ChangeBalanceForm;
-import com.zerobase.cms.order.client.user.CustomerDto;
-import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import com.zerobase.cms.order.domain.model.Order;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import com.zerobase.cms.order.domain.order.OrderDto;
 import com.zerobase.cms.order.domain.redis.Cart;
-import com.zerobase.cms.order.domain.redis.Cart.Product;
 import com.zerobase.cms.order.exception.CustomException;
-import com.zerobase.cms.order.service.ProductItemService;
-import java.util.ArrayList;
-import java.util.List;
+import com.zerobase.cms.order.service.OrderService;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CartOrderApplication {
 
     private final CartApplication cartApplication;
-    private final UserClient userClient;
-    private final ProductItemService productItemService;
-    private final MailgunClient mailgunClient;
-    private final RedisClient redisClient;
+    private final OrderService orderService;
+
+    /**
+     * 장바구니를 확인하고 주문을 접수(ACCEPTED)만 한 뒤 바로 돌려준다.
+     * 재고 차감, 결제, 실패 시 되돌리기는 OrderSagaRunner 가 이어서 처리한다.
+     * 같은 고객이 같은 idempotencyKey 로 다시 요청하면 다시 접수하지 않고 처음 주문을 그대로 돌려준다.
+     * (idempotencyKey 가 없으면 매번 새 주문)
+     * 접수(claim)와 저장(accept)은 각자 커밋하므로 이 메서드는 트랜잭션으로 묶지 않는다.
+     */
+    public OrderDto order(UserVo user, Cart cart, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            idempotencyKey = UUID.randomUUID().toString();
+        } else if (idempotencyKey.length() > 100) {
+            throw new CustomException(INVALID_IDEMPOTENCY_KEY);
+        }
+        Optional<Order> submitted = orderService.findByIdempotencyKey(user.getId(), idempotencyKey);
+        if (submitted.isPresent()) {
+            return replay(submitted.get());
+        }
 
-    @Transactional
-    public void order(String token, Cart cart) {
         Cart orderCart = cartApplication.refreshCart(cart);
         if (orderCart.getMessages().size() > 0) {
             throw new CustomException(ORDER_FAIL_CHECK_CART);
@@ -41,32 +50,24 @@ public class CartOrderApplication {
         if (orderCart.getProducts().isEmpty()) {
             throw new CustomException(CART_IS_EMPTY);
         }
-        CustomerDto customerDto = userClient.getCustomerInfo(token).getBody();
 
-        int totalPrice = getTotalPrice(orderCart);
-        if (customerDto.getBalance() < totalPrice) {
-            throw new CustomException(ORDER_FAIL_NOT_ENOUGH_MONEY);
+        // 같은 키의 동시 요청은 여기서 하나만 통과한다.
+        Long orderId = orderService.claim(user.getId(), idempotencyKey)
+            .orElseThrow(() -> new CustomException(ORDER_IN_PROGRESS));
+        try {
+            return orderService.accept(orderId, orderCart, getTotalPrice(orderCart),
+                user.getEmail());
+        } catch (RuntimeException e) {
+            orderService.release(orderId);
+            throw e;
         }
-        userClient.changeBalance(token,
-            ChangeBalanceForm.builder()
-                .from("USER")
-                .message("Order")
-                .money(-totalPrice)
-                .build());
+    }
 
-        for (Cart.Product product : orderCart.getProducts()) {
-            for (Cart.ProductItem cartItem : product.getItems()) {
-                ProductItem productItem =
-                    productItemService.getProductItem(cartItem.getId());
-                productItem.setCount(productItem.getCount() - cartItem.getCount());
-            }
+    private OrderDto replay(Order order) {
+        if (order.getStatus() == OrderStatus.PENDING) {
+            throw new CustomException(ORDER_IN_PROGRESS);
         }
-        // 주문이 처리된 후에 주문된 상품을 카트에서 제거
-        removeOrderedProductsFromCart(orderCart);
-        redisClient.put(customerDto.getId(), orderCart);
-
-        // 주문 내역 이메일 발송
-        sendOrderResultEmail(orderCart, customerDto.getEmail());
+        return OrderDto.from(order);
     }
 
     private Integer getTotalPrice(Cart cart) {
@@ -79,50 +80,4 @@ public class CartOrderApplication {
             )
             .sum();
     }
-
-    private void removeOrderedProductsFromCart(Cart cart) {
-        List<Product> productsToRemove = new ArrayList<>();
-
-        for (Cart.Product product : cart.getProducts()) {
-            List<Cart.ProductItem> itemsToRemove = new ArrayList<>();
-
-            for (Cart.ProductItem cartItem : product.getItems()) {
-                itemsToRemove.add(cartItem);
-            }
-            product.getItems().removeAll(itemsToRemove);
-            if (product.getItems().isEmpty()) {
-                productsToRemove.add(product);
-            }
-        }
-        cart.getProducts().removeAll(productsToRemove);
-    }
-
-    private void sendOrderResultEmail(Cart cart, String customerEmail) {
-
-        StringBuilder emailContent = new StringBuilder();
-        emailContent.append("Thank you for your order!\n\n");
-        emailContent.append("Order Details:\n");
-
-        for (Cart.Product product : cart.getProducts()) {
-            emailContent.append("Product: ").append(product.getName()).append("\n");
-
-            for (Cart.ProductItem item : product.getItems()) {
-                emailContent.append(" - ProductItem: ").append(item.getName()).append("\n");
-                emailContent.append("   Price: ").append(item.getPrice()).append("\n");
-                emailContent.append("   Quantity: ").append(item.getCount()).append("\n");
-                emailContent.append("\n");
-            }
-
-            emailContent.append("\n");
-        }
-
-        SendMailForm sendMailForm = SendMailForm.builder()
-            .from("test@mailgun.org")
-            .to(customerEmail)
-            .subject("Order Result")
-            .text(emailContent.toString())
-            .build();
-
-        mailgunClient.sendEmail(sendMailForm);
-    }
 }
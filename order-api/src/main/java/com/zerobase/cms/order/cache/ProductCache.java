@@ -0,0 +1,276 @@
+package com.zerobase.cms.order.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.util.TransactionHooks;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 조회 캐시. 인스턴스 로컬 캐시와 (선택) Redis 캐시 두 단계로 구성된다.
+ * 이름/설명/가격은 infoTtl 동안, 자주 바뀌는 재고 수량은 더 짧은 stockTtl 동안만 따로 보관한다.
+ * 판매자가 상품/옵션을 수정하면 evict 로 지우고, pub/sub 으로 다른 인스턴스의 로컬 캐시도 지우게 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCache implements MessageListener {
+
+    public static final String CHANNEL = "product:invalidate";
+    private static final String INFO_KEY = "product:info:";
+    private static final String STOCK_KEY = "product:stock:";
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JavaType INFO_TYPE = mapper.constructType(ProductDto.class);
+    private static final JavaType STOCK_TYPE =
+        mapper.getTypeFactory().constructMapType(Map.class, Long.class, Integer.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value(value = "${product.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value(value = "${product.cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value(value = "${product.cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    @Value(value = "${product.cache.info-ttl-seconds:600}")
+    private long infoTtlSeconds = 600;
+
+    @Value(value = "${product.cache.stock-ttl-seconds:5}")
+    private long stockTtlSeconds = 5;
+
+    // 자기가 보낸 무효화 메시지를 구분하기 위한 값
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 무효화될 때마다 증가, DB 에서 읽는 사이 무효화되었다면 읽은 값을 캐시하지 않는다.
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final LocalTier<ProductDto> localInfos = new LocalTier<>();
+    private final LocalTier<Map<Long, Integer>> localStocks = new LocalTier<>();
+    private final Counter redisInfo = new Counter();
+    private final Counter redisStock = new Counter();
+    private final LongAdder invalidations = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * 재고 수량을 뺀 상품 정보 (옵션의 count 는 null)
+     */
+    public ProductDto getInfo(Long productId) {
+        ProductDto info = localInfos.get(productId);
+        if (info == null && redisEnabled) {
+            info = read(INFO_KEY + productId, INFO_TYPE, redisInfo);
+            if (info != null) {
+                localInfos.put(productId, info, infoTtlSeconds);
+            }
+        }
+        return info;
+    }
+
+    /**
+     * 옵션 id - 재고 수량
+     */
+    public Map<Long, Integer> getStock(Long productId) {
+        Map<Long, Integer> stock = localStocks.get(productId);
+        if (stock == null && redisEnabled) {
+            stock = read(STOCK_KEY + productId, STOCK_TYPE, redisStock);
+            if (stock != null) {
+                localStocks.put(productId, stock, stockTtlSeconds);
+            }
+        }
+        return stock;
+    }
+
+    // DB 에서 읽은 값, 읽기 시작한 뒤(epoch) 무효화되지 않았을 때만 캐시한다.
+    public void put(ProductDto product, long epoch) {
+        putInfo(ProductDto.withoutCount(product), epoch);
+        putStock(product.getId(), ProductDto.countsOf(product), epoch);
+    }
+
+    public void putInfo(ProductDto info, long epoch) {
+        if (this.epoch.get() != epoch) {
+            return;
+        }
+        localInfos.put(info.getId(), info, infoTtlSeconds);
+        write(INFO_KEY + info.getId(), info, infoTtlSeconds);
+    }
+
+    public void putStock(Long productId, Map<Long, Integer> stock, long epoch) {
+        if (this.epoch.get() != epoch) {
+            return;
+        }
+        localStocks.put(productId, stock, stockTtlSeconds);
+        write(STOCK_KEY + productId, stock, stockTtlSeconds);
+    }
+
+    /**
+     * 상품/옵션이 바뀌면 호출한다. 트랜잭션 안이면 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로
+     * 커밋 후에 한 번 더 지운다.
+     */
+    public void evict(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        evictNow(productId);
+        if (TransactionHooks.inTransaction()) {
+            TransactionHooks.afterCommit(() -> evictNow(productId));
+        }
+    }
+
+    public void invalidate(Long productId) {
+        epoch.incrementAndGet();
+        boolean removed = localInfos.remove(productId) | localStocks.remove(productId);
+        if (removed) {
+            invalidations.increment();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        try {
+            invalidate(Long.valueOf(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("invalid product invalidation message : {}", body);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("redis-enabled", redisEnabled);
+        snapshot.put("local.size", localInfos.size());
+        localInfos.counter.put("local.info", snapshot);
+        localStocks.counter.put("local.stock", snapshot);
+        redisInfo.put("redis.info", snapshot);
+        redisStock.put("redis.stock", snapshot);
+        snapshot.put("invalidation", invalidations.sum());
+        return snapshot;
+    }
+
+    private void evictNow(Long productId) {
+        invalidate(productId);
+        try {
+            if (redisEnabled) {
+                redisTemplate.delete(List.of(INFO_KEY + productId, STOCK_KEY + productId));
+            }
+            redisTemplate.convertAndSend(CHANNEL, instanceId + ":" + productId);
+        } catch (RuntimeException e) {
+            log.error("product invalidation failed. productId : {}", productId, e);
+        }
+    }
+
+    private <T> T read(String key, JavaType type, Counter counter) {
+        try {
+            Object json = redisTemplate.opsForValue().get(key);
+            counter.count(json != null);
+            return json == null ? null : mapper.readValue(json.toString(), type);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("product cache read failed. key : {}", key, e);
+            return null;
+        }
+    }
+
+    private void write(String key, Object value, long ttlSeconds) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, mapper.writeValueAsString(value),
+                Duration.ofSeconds(ttlSeconds));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("product cache write failed. key : {}", key, e);
+        }
+    }
+
+    private static class Counter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private void count(boolean hit) {
+            (hit ? hits : misses).increment();
+        }
+
+        private void put(String prefix, Map<String, Object> snapshot) {
+            long hitCount = hits.sum(), missCount = misses.sum();
+            snapshot.put(prefix + ".hit", hitCount);
+            snapshot.put(prefix + ".miss", missCount);
+            snapshot.put(prefix + ".hit-ratio",
+                hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        }
+    }
+
+    /**
+     * 최대 maxSize 개, 오래 사용하지 않은 것부터 지우는 로컬 캐시.
+     * 값은 호출하는 쪽에서 수정하지 않는다. (조회 결과는 항상 새 ProductDto 로 만들어 돌려준다)
+     */
+    private class LocalTier<V> {
+        private final Counter counter = new Counter();
+        private final Map<Long, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        private synchronized V get(Long productId) {
+            Entry<V> entry = entries.get(productId);
+            if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(productId);
+                entry = null;
+            }
+            counter.count(entry != null);
+            return entry == null ? null : entry.value;
+        }
+
+        private synchronized void put(Long productId, V value, long ttlSeconds) {
+            entries.put(productId,
+                new Entry<>(value, System.currentTimeMillis() + ttlSeconds * 1000));
+        }
+
+        private synchronized boolean remove(Long productId) {
+            return entries.remove(productId) != null;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
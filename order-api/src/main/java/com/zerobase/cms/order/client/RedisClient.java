@@ -1,14 +1,35 @@
 package com.zerobase.cms.order.client;
 
-import static com.zerobase.cms.order.exception.ErrorCode.CART_CHANGE_FAIL;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.client.redis.CartKeyInfo;
+import com.zerobase.cms.order.client.redis.CartNearCache;
+import com.zerobase.cms.order.client.redis.CartScanIterator;
+import com.zerobase.cms.order.client.redis.VersionedCartCodec;
 import com.zerobase.cms.order.domain.redis.Cart;
-import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.domain.redis.CartHash;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.util.ObjectUtils;
 
@@ -17,36 +38,504 @@ import org.springframework.util.ObjectUtils;
 @Slf4j
 public class RedisClient {
 
+    private final RedisTemplate<String, byte[]> cartRedisTemplate;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final VersionedCartCodec cartCodec;
+    private final CartNearCache nearCache;
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    @Value(value = "${cart.redis.message-limit:50}")
+    private int messageLimit;
+
+    @Value(value = "${cart.redis.batch-size:500}")
+    private int batchSize;
+
+    // 장바구니 만료 시간, 읽거나 쓸 때마다 다시 연장된다. (0 이하 = 만료 없음)
+    @Value(value = "${cart.redis.ttl-days:30}")
+    private long ttlDays;
+
+    // 장바구니(BLOB) 키는 customerId 그대로 저장된다.
+    private static final String CART_KEY_PATTERN = "[0-9]*";
+
+    // KEYS: cart:{id}, cart:{id}:messages / ARGV: 옵션 필드, 수량 필드, 수량, TTL(초, 0 = 만료 없음)
+    // 옵션이 없으면 수량 필드를 만들지 않는다. (나중에 담을 때 그 위에 더해지지 않도록)
+    private static final RedisScript<Long> SET_COUNT = new DefaultRedisScript<>(
+        "if redis.call('hexists', KEYS[1], ARGV[1]) == 0 then return 0 end\n"
+            + "redis.call('hset', KEYS[1], ARGV[2], ARGV[3])\n"
+            + "if tonumber(ARGV[4]) > 0 then\n"
+            + "  redis.call('expire', KEYS[1], ARGV[4])\n"
+            + "  redis.call('expire', KEYS[2], ARGV[4])\n"
+            + "end\n"
+            + "return 1", Long.class);
+
     public <T> T get(Long key, Class<T> classType) {
         return get(key.toString(), classType);
     }
 
     private <T> T get(String key, Class<T> classType) {
-        String redisValue = (String) redisTemplate.opsForValue().get(key);
+        byte[] redisValue = classType == Cart.class ? readCart(key) : read(key);
         if (ObjectUtils.isEmpty(redisValue)) {
             return null;
-        }else {
-            try {
-                return mapper.readValue(redisValue, classType);
-            } catch (JsonProcessingException e) {
-                log.error("Parsing error", e);
-                return null;
+        }
+        try {
+            if (classType == Cart.class) {
+                Cart cart = cartCodec.decode(redisValue);
+                if (!cartCodec.isCurrent(redisValue)) { // 이전 포맷으로 저장된 장바구니는 읽을 때 새 포맷으로 변환
+                    compareAndSet(key, cart, cart.getVersion());
+                }
+                return classType.cast(cart);
             }
+            return mapper.readValue(redisValue, classType);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Parsing error", e);
+            return null;
         }
     }
 
+    private byte[] read(String key) {
+        return hasTtl()
+            ? cartRedisTemplate.opsForValue().getAndExpire(key, getTtl())
+            : cartRedisTemplate.opsForValue().get(key);
+    }
+
+    // near-cache 를 사용하면 먼저 로컬에서 찾고, 없으면 Redis 에서 읽어 캐시한다.
+    private byte[] readCart(String key) {
+        if (!nearCache.isEnabled()) {
+            return read(key);
+        }
+        Long customerId = Long.valueOf(key);
+        byte[] cached = nearCache.get(customerId);
+        if (cached != null) {
+            return cached;
+        }
+        long epoch = nearCache.epoch(customerId);
+        long start = System.nanoTime();
+        byte[] value = read(key);
+        nearCache.loaded(customerId, value, epoch, System.nanoTime() - start);
+        return value;
+    }
+
     public void put(Long key, Cart cart) {
         put(key.toString(), cart);
     }
 
     private void put(String key, Cart cart) {
+        byte[] value = cartCodec.encode(cart);
+        set(cartRedisTemplate, key, value);
+        written(key, value);
+    }
+
+    /**
+     * 여러 장바구니를 batchSize 개씩 MGET 으로 읽는다. 없는 장바구니는 결과에서 빠진다.
+     */
+    public Map<Long, Cart> getAll(Collection<Long> customerIds) {
+        List<Long> ids = new ArrayList<>(customerIds);
+        Map<Long, Cart> result = new LinkedHashMap<>();
+
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            List<String> keys = new ArrayList<>(chunk.size());
+            for (Long customerId : chunk) {
+                keys.add(customerId.toString());
+            }
+            List<byte[]> values = cartRedisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                continue;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                Cart cart = decode(keys.get(i), values.get(i));
+                if (cart != null) {
+                    if (cart.getCustomerId() == null) {
+                        cart.setCustomerId(chunk.get(i));
+                    }
+                    result.put(chunk.get(i), cart);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 여러 장바구니를 batchSize 개씩 파이프라인으로 저장한다.
+     * 버전 확인 없이 덮어쓰지만 버전은 1 올려서, 그 전에 읽어간 요청의 compareAndSet 은 실패하게 한다.
+     */
+    public void putAll(Map<Long, Cart> carts) {
+        List<Map.Entry<Long, Cart>> entries = new ArrayList<>(carts.entrySet());
+
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            Map<String, byte[]> chunk = new LinkedHashMap<>();
+            for (Map.Entry<Long, Cart> entry
+                : entries.subList(from, Math.min(from + batchSize, entries.size()))) {
+                Cart cart = entry.getValue();
+                cart.setVersion(cart.getVersion() == null ? 1 : cart.getVersion() + 1);
+                chunk.put(entry.getKey().toString(), cartCodec.encode(cart));
+            }
+            cartRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations)
+                    throws DataAccessException {
+                    RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                    chunk.forEach((key, value) -> set(ops, key, value));
+                    return null;
+                }
+            });
+            chunk.forEach(this::written);
+        }
+    }
+
+    /**
+     * 저장된 모든 장바구니를 SCAN 으로 훑는다. 사용 후 반드시 close 해야 한다.
+     * <pre>
+     * try (CartScanIterator<Cart> carts = redisClient.scanCarts()) {
+     *     carts.forEachRemaining(cart -> ...);
+     * }
+     * </pre>
+     */
+    public CartScanIterator<Cart> scanCarts() {
+        return new CartScanIterator<>(scanCartKeys(), batchSize, ids -> getAll(ids).values());
+    }
+
+    /**
+     * 장바구니를 읽지 않고 customerId 만 batchSize 개씩 묶어서 훑는다. 사용 후 반드시 close 해야 한다.
+     */
+    public CartScanIterator<List<Long>> scanCartIds() {
+        return new CartScanIterator<>(scanCartKeys(), batchSize, Collections::singletonList);
+    }
+
+    private Cursor<byte[]> scanCartKeys() {
+        ScanOptions options = ScanOptions.scanOptions()
+            .match(CART_KEY_PATTERN)
+            .count(batchSize)
+            .build();
+        return cartRedisTemplate.executeWithStickyConnection(
+            (RedisCallback<Cursor<byte[]>>) connection -> connection.scan(options));
+    }
+
+    /**
+     * 장바구니의 남은 만료 시간과 크기를 파이프라인으로 한 번에 조회한다.
+     * 값을 읽지 않으므로 만료 시간이 연장되지 않는다.
+     */
+    public List<CartKeyInfo> getCartKeyInfos(List<Long> customerIds) {
+        List<Object> results = cartRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                for (Long customerId : customerIds) {
+                    ops.getExpire(customerId.toString(), TimeUnit.MILLISECONDS);
+                    ops.opsForValue().size(customerId.toString());
+                }
+                return null;
+            }
+        });
+
+        List<CartKeyInfo> infos = new ArrayList<>(customerIds.size());
+        for (int i = 0; i < customerIds.size(); i++) {
+            Long ttlMillis = (Long) results.get(i * 2);
+            Long size = (Long) results.get(i * 2 + 1);
+            infos.add(new CartKeyInfo(customerIds.get(i),
+                ttlMillis == null ? -2 : ttlMillis, size == null ? 0 : size));
+        }
+        return infos;
+    }
+
+    public long getTtlMillis() {
+        return hasTtl() ? getTtl().toMillis() : 0;
+    }
+
+    // 만료 시간 없이 저장되어 있던 장바구니에 만료 시간을 설정
+    public void expire(Long customerId) {
+        if (hasTtl()) {
+            cartRedisTemplate.expire(customerId.toString(), getTtl());
+        }
+    }
+
+    // 만료 시간을 연장하지 않고 저장된 값 그대로 읽는다.
+    public byte[] getRaw(Long customerId) {
+        return cartRedisTemplate.opsForValue().get(customerId.toString());
+    }
+
+    // 장바구니가 없을 때만 저장된 값 그대로 저장한다.
+    public boolean putRawIfAbsent(Long customerId, byte[] value) {
+        Boolean result = hasTtl()
+            ? cartRedisTemplate.opsForValue().setIfAbsent(customerId.toString(), value, getTtl())
+            : cartRedisTemplate.opsForValue().setIfAbsent(customerId.toString(), value);
+        if (Boolean.TRUE.equals(result)) {
+            written(customerId.toString(), value);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 저장된 값이 expected 그대로일 때만 삭제한다. (WATCH/MULTI)
+     */
+    public boolean deleteIfUnchanged(Long customerId, byte[] expected) {
+        String key = customerId.toString();
+
+        List<Object> result = cartRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                ops.watch(key);
+                if (!Arrays.equals(ops.opsForValue().get(key), expected)) {
+                    ops.unwatch();
+                    return null;
+                }
+                ops.multi();
+                ops.delete(key);
+                return ops.exec();
+            }
+        });
+        boolean success = result != null && !result.isEmpty();
+        if (success && nearCache.isEnabled()) {
+            nearCache.removed(customerId);
+        }
+        return success;
+    }
+
+    private Cart decode(String key, byte[] value) {
+        if (ObjectUtils.isEmpty(value)) {
+            return null;
+        }
         try {
-            redisTemplate.opsForValue().set(key, mapper.writeValueAsString(cart));
-        } catch (JsonProcessingException e) {
-            throw new CustomException(CART_CHANGE_FAIL);
+            return cartCodec.decode(value);
+        } catch (IllegalArgumentException e) {
+            log.error("Parsing error. key : {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 저장된 장바구니의 버전이 expectedVersion 과 같을 때만 저장한다. (WATCH/MULTI)
+     * 성공하면 cart 의 버전이 1 증가한다.
+     */
+    public boolean compareAndSet(Long key, Cart cart, Long expectedVersion) {
+        return compareAndSet(key.toString(), cart, expectedVersion);
+    }
+
+    private boolean compareAndSet(String key, Cart cart, Long expectedVersion) {
+        long expected = expectedVersion == null ? 0 : expectedVersion;
+        cart.setVersion(expected + 1);
+        byte[] value = cartCodec.encode(cart);
+
+        List<Object> result = cartRedisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                ops.watch(key);
+                if (versionOf(ops.opsForValue().get(key)) != expected) {
+                    ops.unwatch();
+                    return null;
+                }
+                ops.multi();
+                set(ops, key, value);
+                return ops.exec();
+            }
+        });
+
+        boolean success = result != null && !result.isEmpty();
+        if (success) {
+            written(key, value);
+        } else {
+            cart.setVersion(expectedVersion);
+            if (nearCache.isEnabled()) { // 캐시된 값이 오래되어 실패했을 수 있으므로 다음에는 Redis 에서 읽도록
+                nearCache.invalidate(Long.valueOf(key));
+            }
+        }
+        return success;
+    }
+
+    private void written(String key, byte[] value) {
+        if (nearCache.isEnabled()) {
+            nearCache.written(Long.valueOf(key), value);
+        }
+    }
+
+    private void set(RedisOperations<String, byte[]> ops, String key, byte[] value) {
+        if (hasTtl()) {
+            ops.opsForValue().set(key, value, getTtl());
+        } else {
+            ops.opsForValue().set(key, value);
+        }
+    }
+
+    private boolean hasTtl() {
+        return ttlDays > 0;
+    }
+
+    private Duration getTtl() {
+        return Duration.ofDays(ttlDays);
+    }
+
+    private long versionOf(byte[] value) {
+        if (ObjectUtils.isEmpty(value)) {
+            return 0;
+        }
+        try {
+            Long version = cartCodec.decode(value).getVersion();
+            return version == null ? 0 : version;
+        } catch (IllegalArgumentException e) {
+            log.error("Parsing error", e);
+            return 0;
+        }
+    }
+
+    // -------cart hash------
+    public Cart getCartHash(Long customerId) {
+        Map<Object, Object> fields =
+            redisTemplate.opsForHash().entries(CartHash.key(customerId));
+        List<Object> messages =
+            redisTemplate.opsForList().range(CartHash.messagesKey(customerId), 0, -1);
+        if (hasTtl() && !fields.isEmpty()) {
+            redisTemplate.expire(CartHash.key(customerId), getTtl());
+            redisTemplate.expire(CartHash.messagesKey(customerId), getTtl());
+        }
+        return CartHash.fromFields(customerId, fields, toStrings(messages));
+    }
+
+    public List<Object> getCartHashFields(Long customerId, Collection<Object> fields) {
+        return redisTemplate.opsForHash().multiGet(CartHash.key(customerId), fields);
+    }
+
+    /**
+     * 새 필드 저장, 수량 증감, 메시지 추가를 MULTI 로 한 번에 반영한다.
+     */
+    public void updateCartHash(Long customerId, Map<String, String> fields,
+        Map<String, Long> increments, List<String> messages) {
+        String key = CartHash.key(customerId);
+        String messagesKey = CartHash.messagesKey(customerId);
+
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.multi();
+                if (!fields.isEmpty()) {
+                    ops.opsForHash().putAll(key, fields);
+                }
+                increments.forEach((field, delta) ->
+                    ops.opsForHash().increment(key, field, delta));
+                pushMessages(ops, messagesKey, messages);
+                expireHash(ops, key, messagesKey);
+                return ops.exec();
+            }
+        });
+    }
+
+    /**
+     * 장바구니에 있는 옵션의 수량만 바꾼다. 없는 옵션이면 수량 필드를 만들지 않고 false.
+     */
+    public boolean setCartHashCount(Long customerId, Long productId, Long itemId, int count) {
+        Long result = redisTemplate.execute(SET_COUNT,
+            List.of(CartHash.key(customerId), CartHash.messagesKey(customerId)),
+            CartHash.itemField(productId, itemId), CartHash.countField(productId, itemId),
+            String.valueOf(count), String.valueOf(hasTtl() ? getTtl().getSeconds() : 0));
+        return result != null && result == 1;
+    }
+
+    public void deleteCartHashFields(Long customerId, Object... fields) {
+        String key = CartHash.key(customerId);
+        String messagesKey = CartHash.messagesKey(customerId);
+
+        redisTemplate.execute(new SessionCallback<List<Object>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.multi();
+                ops.opsForHash().delete(key, fields);
+                expireHash(ops, key, messagesKey);
+                return ops.exec();
+            }
+        });
+    }
+
+    /**
+     * 장바구니에서 바뀐 필드만 MULTI 로 반영한다. (CartHash.diff)
+     * getCartHash 로 읽은 장바구니가 아니면 지금 저장된 값과 비교한다.
+     */
+    public void writeCartHash(Long customerId, Cart cart) {
+        String key = CartHash.key(customerId);
+        String messagesKey = CartHash.messagesKey(customerId);
+        boolean relative = cart.getLoadedFields() != null;
+        Map<String, String> loadedFields = new HashMap<>();
+        List<String> loadedMessages;
+        if (relative) {
+            loadedFields.putAll(cart.getLoadedFields());
+            loadedMessages = cart.getLoadedMessages() == null
+                ? new ArrayList<>() : cart.getLoadedMessages();
+        } else {
+            redisTemplate.opsForHash().entries(key).forEach(
+                (field, value) -> loadedFields.put(field.toString(), value.toString()));
+            loadedMessages = toStrings(redisTemplate.opsForList().range(messagesKey, 0, -1));
+        }
+        CartHash.Changes changes =
+            CartHash.diff(cart, loadedFields, loadedMessages, relative);
+
+        if (!changes.isEmpty()) {
+            redisTemplate.execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations)
+                    throws DataAccessException {
+                    RedisOperations<String, Object> ops =
+                        (RedisOperations<String, Object>) operations;
+                    ops.multi();
+                    if (!changes.getPuts().isEmpty()) {
+                        ops.opsForHash().putAll(key, changes.getPuts());
+                    }
+                    changes.getIncrements().forEach((field, delta) ->
+                        ops.opsForHash().increment(key, field, delta));
+                    if (!changes.getDeletes().isEmpty()) {
+                        ops.opsForHash().delete(key, changes.getDeletes().toArray());
+                    }
+                    if (changes.getTrimMessages() > 0) {
+                        ops.opsForList().trim(messagesKey, changes.getTrimMessages(), -1);
+                    }
+                    pushMessages(ops, messagesKey, changes.getMessages());
+                    expireHash(ops, key, messagesKey);
+                    return ops.exec();
+                }
+            });
+        }
+        // 같은 객체로 다시 저장해도 이미 반영한 차이를 한 번 더 더하지 않도록
+        cart.setLoadedFields(CartHash.toFields(cart));
+        cart.setLoadedMessages(new ArrayList<>(cart.getMessages()));
+    }
+
+    private void pushMessages(RedisOperations<String, Object> ops, String messagesKey,
+        List<String> messages) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+        ops.opsForList().rightPushAll(messagesKey, messages.toArray());
+        ops.opsForList().trim(messagesKey, -messageLimit, -1);
+    }
+
+    private void expireHash(RedisOperations<String, Object> ops, String key, String messagesKey) {
+        if (hasTtl()) {
+            ops.expire(key, getTtl());
+            ops.expire(messagesKey, getTtl());
+        }
+    }
+
+    private List<String> toStrings(List<Object> values) {
+        List<String> result = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                result.add(value.toString());
+            }
         }
+        return result;
     }
 }
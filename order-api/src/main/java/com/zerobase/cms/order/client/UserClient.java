@@ -2,9 +2,11 @@ package com.zerobase.cms.order.client;
 
 import com.zerobase.cms.order.client.user.ChangeBalanceForm;
 import com.zerobase.cms.order.client.user.CustomerDto;
+import com.zerobase.cms.order.client.user.DebitBalanceForm;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -20,4 +22,26 @@ public interface UserClient {
     ResponseEntity<Integer> changeBalance(
         @RequestHeader(name = "X-AUTH-TOKEN") String token,
         @RequestBody ChangeBalanceForm form);
+
+    /**
+     * 내부 API (X-INTERNAL-KEY). 고객 토큰 없이 customerId 의 잔액 확인과 차감을 한 번에 한다.
+     * 같은 idempotencyKey 로 다시 보내도 한 번만 차감되고 차감 후 잔액을 돌려준다.
+     */
+    @PostMapping("/internal/customer/{customerId}/balance/debit")
+    ResponseEntity<Integer> debitBalance(
+        @RequestHeader(name = "X-INTERNAL-KEY") String internalKey,
+        @PathVariable("customerId") Long customerId,
+        @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
+        @RequestBody DebitBalanceForm form);
+
+    /**
+     * 내부 API (X-INTERNAL-KEY). customerId 의 잔액에 form 의 money 를 더한다. (환불)
+     * 같은 idempotencyKey 로 다시 보내도 한 번만 더해진다.
+     */
+    @PostMapping("/internal/customer/{customerId}/balance/credit")
+    ResponseEntity<Integer> creditBalance(
+        @RequestHeader(name = "X-INTERNAL-KEY") String internalKey,
+        @PathVariable("customerId") Long customerId,
+        @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
+        @RequestBody ChangeBalanceForm form);
 }
@@ -0,0 +1,21 @@
+package com.zerobase.cms.order.client.mail;
+
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 메일 서버 없이 로컬에서 실행할 때 쓰는 sink. 보내지 않고 로그로 남긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mail.sender", havingValue = "log")
+public class LogMailSender implements MailSender {
+
+    @Override
+    public void send(SendMailForm form) {
+        log.info("mail to : {}, subject : {}", form.getTo(), form.getSubject());
+        log.debug("mail text : {}", form.getText());
+    }
+}
@@ -0,0 +1,12 @@
+package com.zerobase.cms.order.client.mail;
+
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+
+/**
+ * 메일을 실제로 보내는 곳. mail.sender 로 고른다. (mailgun, log)
+ * 실패하면 예외를 던지고, MailOutboxWorker 가 재시도한다.
+ */
+public interface MailSender {
+
+    void send(SendMailForm form);
+}
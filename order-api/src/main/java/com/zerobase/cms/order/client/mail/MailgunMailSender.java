@@ -0,0 +1,20 @@
+package com.zerobase.cms.order.client.mail;
+
+import com.zerobase.cms.order.client.mailgun.MailgunClient;
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mail.sender", havingValue = "mailgun", matchIfMissing = true)
+public class MailgunMailSender implements MailSender {
+
+    private final MailgunClient mailgunClient;
+
+    @Override
+    public void send(SendMailForm form) {
+        mailgunClient.sendEmail(form);
+    }
+}
@@ -9,7 +9,7 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class FeignConfig {
 
-    @Value(value = "${mailgunApiKey}")
+    @Value(value = "${mailgunApiKey:}")
     private String mailgunKey;
 
     @Bean
@@ -0,0 +1,343 @@
+package com.zerobase.cms.order.client.redis;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 바이너리 포맷.
+ * <pre>
+ * [MAGIC][VERSION][문자열 테이블][장바구니 본문]
+ * </pre>
+ * 숫자는 zigzag varint, 문자열은 한 번만 테이블에 저장하고 본문에서는 (인덱스 + 1)로 참조한다. (0 = null)
+ * VERSION 2 부터 장바구니 버전(낙관적 락)을 함께 저장한다. VERSION 1 값도 그대로 읽을 수 있다.
+ */
+public class BinaryCartCodec implements CartCodec {
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_CART_VERSION = 1;
+
+    private static final int CUSTOMER_ID = 1;
+    private static final int CART_VERSION = 1 << 1;
+
+    private static final int PRODUCT_ID = 1;
+    private static final int PRODUCT_SELLER_ID = 1 << 1;
+
+    private static final int ITEM_ID = 1;
+    private static final int ITEM_COUNT = 1 << 1;
+    private static final int ITEM_PRICE = 1 << 2;
+
+    @Override
+    public byte[] encode(Cart cart) {
+        StringTable table = new StringTable();
+        Writer body = new Writer(128);
+
+        int cartFlags = 0;
+        if (cart.getCustomerId() != null) {
+            cartFlags |= CUSTOMER_ID;
+        }
+        if (cart.getVersion() != null) {
+            cartFlags |= CART_VERSION;
+        }
+        body.writeFlags(cartFlags);
+        body.writeLongIfPresent(cart.getCustomerId());
+        body.writeLongIfPresent(cart.getVersion());
+
+        List<Cart.Product> products = cart.getProducts();
+        body.writeSize(products);
+        if (products != null) {
+            for (Cart.Product product : products) {
+                writeProduct(body, table, product);
+            }
+        }
+
+        List<String> messages = cart.getMessages();
+        body.writeSize(messages);
+        if (messages != null) {
+            for (String message : messages) {
+                body.writeVarLong(table.ref(message));
+            }
+        }
+
+        Writer out = new Writer(body.size() + table.byteSize() + 8);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(table.strings.size());
+        for (byte[] string : table.strings) {
+            out.writeVarLong(string.length);
+            out.writeRaw(string);
+        }
+        body.copyTo(out);
+        return out.toByteArray();
+    }
+
+    private void writeProduct(Writer body, StringTable table, Cart.Product product) {
+        int flags = 0;
+        if (product.getId() != null) {
+            flags |= PRODUCT_ID;
+        }
+        if (product.getSellerId() != null) {
+            flags |= PRODUCT_SELLER_ID;
+        }
+        body.writeFlags(flags);
+        body.writeLongIfPresent(product.getId());
+        body.writeLongIfPresent(product.getSellerId());
+        body.writeVarLong(table.ref(product.getName()));
+        body.writeVarLong(table.ref(product.getDescription()));
+
+        List<Cart.ProductItem> items = product.getItems();
+        body.writeSize(items);
+        if (items != null) {
+            for (Cart.ProductItem item : items) {
+                writeItem(body, table, item);
+            }
+        }
+    }
+
+    private void writeItem(Writer body, StringTable table, Cart.ProductItem item) {
+        int flags = 0;
+        if (item.getId() != null) {
+            flags |= ITEM_ID;
+        }
+        if (item.getCount() != null) {
+            flags |= ITEM_COUNT;
+        }
+        if (item.getPrice() != null) {
+            flags |= ITEM_PRICE;
+        }
+        body.writeFlags(flags);
+        body.writeLongIfPresent(item.getId());
+        body.writeVarLong(table.ref(item.getName()));
+        if (item.getCount() != null) {
+            body.writeZigZag(item.getCount());
+        }
+        if (item.getPrice() != null) {
+            body.writeZigZag(item.getPrice());
+        }
+    }
+
+    @Override
+    public Cart decode(byte[] value) {
+        Reader in = new Reader(value);
+        if (in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary cart");
+        }
+        byte version = in.readByte();
+        if (version != VERSION && version != VERSION_WITHOUT_CART_VERSION) {
+            throw new IllegalArgumentException("Unsupported cart version : " + version);
+        }
+
+        String[] strings = new String[in.readSize()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = in.readString(in.readSize());
+        }
+
+        Cart cart = new Cart();
+        int cartFlags = in.readInt();
+        if ((cartFlags & CUSTOMER_ID) != 0) {
+            cart.setCustomerId(in.readZigZag());
+        }
+        if ((cartFlags & CART_VERSION) != 0) {
+            cart.setVersion(in.readZigZag());
+        }
+
+        int productCount = in.readSize();
+        List<Cart.Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            products.add(readProduct(in, strings));
+        }
+        cart.setProducts(products);
+
+        int messageCount = in.readSize();
+        List<String> messages = new ArrayList<>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            messages.add(in.readRef(strings));
+        }
+        cart.setMessages(messages);
+        return cart;
+    }
+
+    private Cart.Product readProduct(Reader in, String[] strings) {
+        int flags = in.readInt();
+        Cart.Product product = new Cart.Product();
+        if ((flags & PRODUCT_ID) != 0) {
+            product.setId(in.readZigZag());
+        }
+        if ((flags & PRODUCT_SELLER_ID) != 0) {
+            product.setSellerId(in.readZigZag());
+        }
+        product.setName(in.readRef(strings));
+        product.setDescription(in.readRef(strings));
+
+        int itemCount = in.readSize();
+        List<Cart.ProductItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(readItem(in, strings));
+        }
+        product.setItems(items);
+        return product;
+    }
+
+    private Cart.ProductItem readItem(Reader in, String[] strings) {
+        int flags = in.readInt();
+        Cart.ProductItem item = new Cart.ProductItem();
+        if ((flags & ITEM_ID) != 0) {
+            item.setId(in.readZigZag());
+        }
+        item.setName(in.readRef(strings));
+        if ((flags & ITEM_COUNT) != 0) {
+            item.setCount((int) in.readZigZag());
+        }
+        if ((flags & ITEM_PRICE) != 0) {
+            item.setPrice((int) in.readZigZag());
+        }
+        return item;
+    }
+
+    @Override
+    public boolean supports(byte[] value) {
+        return value.length > 1 && value[0] == MAGIC;
+    }
+
+    private static class StringTable {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private int byteSize;
+
+        long ref(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer i = index.get(value);
+            if (i == null) {
+                i = strings.size();
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                strings.add(bytes);
+                byteSize += bytes.length + 5;
+                index.put(value, i);
+            }
+            return i + 1;
+        }
+
+        int byteSize() {
+            return byteSize;
+        }
+    }
+
+    private static class Writer extends ByteArrayOutputStream {
+
+        Writer(int size) {
+            super(size);
+        }
+
+        void writeByte(int b) {
+            write(b);
+        }
+
+        void writeRaw(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeFlags(int flags) {
+            writeVarLong(flags);
+        }
+
+        void writeSize(List<?> list) {
+            writeVarLong(list == null ? 0 : list.size());
+        }
+
+        void writeLongIfPresent(Long value) {
+            if (value != null) {
+                writeZigZag(value);
+            }
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void copyTo(Writer out) {
+            out.write(buf, 0, count);
+        }
+    }
+
+    private static class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("Truncated cart value");
+            }
+            return buf[pos++];
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        long readZigZag() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        int readInt() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed cart value");
+            }
+            return (int) value;
+        }
+
+        // 원소 하나는 최소 1바이트이므로 남은 길이보다 클 수 없다.
+        int readSize() {
+            int size = readInt();
+            if (size > buf.length - pos) {
+                throw new IllegalArgumentException("Truncated cart value");
+            }
+            return size;
+        }
+
+        String readString(int length) {
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        String readRef(String[] strings) {
+            int ref = readInt();
+            if (ref == 0) {
+                return null;
+            }
+            if (ref > strings.length) {
+                throw new IllegalArgumentException("Unknown string reference");
+            }
+            return strings[ref - 1];
+        }
+    }
+}
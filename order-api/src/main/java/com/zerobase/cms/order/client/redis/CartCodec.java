@@ -0,0 +1,13 @@
+package com.zerobase.cms.order.client.redis;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+
+public interface CartCodec {
+
+    byte[] encode(Cart cart);
+
+    Cart decode(byte[] value);
+
+    // 저장된 값이 이 코덱으로 쓰여진 값인지 헤더로 판별
+    boolean supports(byte[] value);
+}
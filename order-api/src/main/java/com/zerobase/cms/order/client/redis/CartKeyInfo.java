@@ -0,0 +1,25 @@
+package com.zerobase.cms.order.client.redis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 값을 읽지 않고 조회한 장바구니 키 정보.
+ */
+@Getter
+@AllArgsConstructor
+public class CartKeyInfo {
+
+    private Long customerId;
+    // 남은 만료 시간(ms), -1 = 만료 없음, -2 = 키 없음
+    private long ttlMillis;
+    private long size;
+
+    public boolean exists() {
+        return ttlMillis != -2;
+    }
+
+    public boolean hasExpire() {
+        return ttlMillis >= 0;
+    }
+}
@@ -0,0 +1,177 @@
+package com.zerobase.cms.order.client.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 앞에 두는 인스턴스 로컬 장바구니 캐시. (BLOB 저장 방식만 해당)
+ * 최대 maxSize 개, ttlMillis 동안만 보관하고, 장바구니가 바뀌면 pub/sub 으로 다른 인스턴스에 알려 지우게 한다.
+ * 값은 Redis 에 저장된 바이트 그대로 보관하고, 꺼낼 때마다 새로 디코딩하므로 호출하는 쪽에서 수정해도 안전하다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartNearCache implements MessageListener {
+
+    public static final String CHANNEL = "cart:invalidate";
+    private static final int STRIPES = 64;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value(value = "${cart.near-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value(value = "${cart.near-cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    @Value(value = "${cart.near-cache.ttl-ms:2000}")
+    private long ttlMillis = 2000;
+
+    // 자기가 보낸 무효화 메시지를 구분하기 위한 값
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > maxSize) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // 무효화될 때마다 증가, Redis 에서 읽는 사이 무효화되었다면 읽은 값을 캐시하지 않는다.
+    private final AtomicLongArray epochs = new AtomicLongArray(STRIPES);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized byte[] get(Long customerId) {
+        Entry entry = entries.get(customerId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(customerId);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public long epoch(Long customerId) {
+        return epochs.get(stripe(customerId));
+    }
+
+    // Redis 에서 읽은 값, 읽기 시작한 뒤 무효화되지 않았을 때만 캐시한다.
+    public synchronized void loaded(Long customerId, byte[] value, long epoch, long nanos) {
+        loadNanos.add(nanos);
+        if (value != null && epochs.get(stripe(customerId)) == epoch) {
+            entries.put(customerId, new Entry(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    // 이 인스턴스에서 저장한 값, 로컬 캐시를 바꾸고 다른 인스턴스에 알린다.
+    public void written(Long customerId, byte[] value) {
+        synchronized (this) {
+            epochs.incrementAndGet(stripe(customerId));
+            entries.put(customerId, new Entry(value, System.currentTimeMillis() + ttlMillis));
+        }
+        publish(customerId);
+    }
+
+    // 이 인스턴스에서 삭제한 값, 로컬 캐시에서 지우고 다른 인스턴스에 알린다.
+    public void removed(Long customerId) {
+        invalidate(customerId);
+        publish(customerId);
+    }
+
+    public synchronized void invalidate(Long customerId) {
+        epochs.incrementAndGet(stripe(customerId));
+        if (entries.remove(customerId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        try {
+            invalidate(Long.valueOf(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("invalid cart invalidation message : {}", body);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Map<String, Object> snapshot() {
+        long hitCount = hits.sum(), missCount = misses.sum();
+        long averageLoadNanos = missCount == 0 ? 0 : loadNanos.sum() / missCount;
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("size", size());
+        snapshot.put("hit", hitCount);
+        snapshot.put("miss", missCount);
+        snapshot.put("hit-ratio",
+            hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        snapshot.put("eviction", evictions.sum());
+        snapshot.put("expiration", expirations.sum());
+        snapshot.put("invalidation", invalidations.sum());
+        // 캐시에서 찾은 만큼 Redis 조회 평균 시간을 아낀 것으로 계산
+        snapshot.put("saved-ms", hitCount * averageLoadNanos / 1_000_000);
+        return snapshot;
+    }
+
+    private void publish(Long customerId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + ":" + customerId);
+        } catch (RuntimeException e) {
+            log.error("cart invalidation publish failed. customerId : {}", customerId, e);
+        }
+    }
+
+    private int stripe(Long customerId) {
+        return (int) (customerId & (STRIPES - 1));
+    }
+
+    private static class Entry {
+        private final byte[] value;
+        private final long expiresAt;
+
+        private Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.zerobase.cms.order.client.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import org.springframework.data.util.CloseableIterator;
+
+/**
+ * SCAN 으로 받은 장바구니 키를 batchSize 개씩 모아 loader 로 한 번에 처리하는 iterator.
+ * 메모리에는 한 묶음만 올라가므로 장바구니 수와 관계없이 사용할 수 있다.
+ * 다 쓰고 나면 반드시 close 해서 SCAN 커서(커넥션)를 반납해야 한다.
+ */
+public class CartScanIterator<T> implements CloseableIterator<T> {
+
+    private final CloseableIterator<byte[]> keys;
+    private final int batchSize;
+    private final Function<List<Long>, ? extends Collection<T>> loader;
+
+    private Iterator<T> batch = Collections.emptyIterator();
+
+    public CartScanIterator(CloseableIterator<byte[]> keys, int batchSize,
+        Function<List<Long>, ? extends Collection<T>> loader) {
+        this.keys = keys;
+        this.batchSize = Math.max(1, batchSize);
+        this.loader = loader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!batch.hasNext() && keys.hasNext()) {
+            List<Long> customerIds = new ArrayList<>(batchSize);
+            while (customerIds.size() < batchSize && keys.hasNext()) {
+                Long customerId = toCustomerId(keys.next());
+                if (customerId != null) {
+                    customerIds.add(customerId);
+                }
+            }
+            if (!customerIds.isEmpty()) {
+                batch = loader.apply(customerIds).iterator();
+            }
+        }
+        return batch.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return batch.next();
+    }
+
+    @Override
+    public void close() {
+        keys.close();
+    }
+
+    // 장바구니 키는 customerId 그대로이므로 숫자가 아닌 키는 건너뛴다.
+    private Long toCustomerId(byte[] key) {
+        try {
+            return Long.valueOf(new String(key, StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
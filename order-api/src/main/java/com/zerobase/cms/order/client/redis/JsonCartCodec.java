@@ -0,0 +1,44 @@
+package com.zerobase.cms.order.client.redis;
+
+import static com.zerobase.cms.order.exception.ErrorCode.CART_CHANGE_FAIL;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.exception.CustomException;
+import java.io.IOException;
+
+/**
+ * 기존 방식의 JSON 문자열 포맷. 이전 버전이 저장한 값을 읽기 위해 유지한다.
+ */
+public class JsonCartCodec implements CartCodec {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Override
+    public byte[] encode(Cart cart) {
+        try {
+            return mapper.writeValueAsBytes(cart);
+        } catch (IOException e) {
+            throw new CustomException(CART_CHANGE_FAIL);
+        }
+    }
+
+    @Override
+    public Cart decode(byte[] value) {
+        try {
+            return mapper.readValue(value, Cart.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cart json", e);
+        }
+    }
+
+    @Override
+    public boolean supports(byte[] value) {
+        for (byte b : value) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.zerobase.cms.order.client.redis;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import java.util.List;
+
+/**
+ * 쓰기는 현재 설정된 코덱 하나로, 읽기는 헤더를 보고 맞는 코덱을 골라서 한다.
+ * 이전 포맷으로 저장된 값은 {@link #isCurrent(byte[])} 로 판별해 다시 저장하면 된다.
+ */
+public class VersionedCartCodec implements CartCodec {
+
+    private final CartCodec writeCodec;
+    private final List<CartCodec> readCodecs;
+
+    public VersionedCartCodec(CartCodec writeCodec, List<CartCodec> readCodecs) {
+        this.writeCodec = writeCodec;
+        this.readCodecs = readCodecs;
+    }
+
+    public static VersionedCartCodec of(String format) {
+        CartCodec binary = new BinaryCartCodec();
+        CartCodec json = new JsonCartCodec();
+        if ("json".equalsIgnoreCase(format)) {
+            return new VersionedCartCodec(json, List.of(json, binary));
+        }
+        return new VersionedCartCodec(binary, List.of(binary, json));
+    }
+
+    @Override
+    public byte[] encode(Cart cart) {
+        return writeCodec.encode(cart);
+    }
+
+    @Override
+    public Cart decode(byte[] value) {
+        for (CartCodec codec : readCodecs) {
+            if (codec.supports(value)) {
+                return codec.decode(value);
+            }
+        }
+        throw new IllegalArgumentException("Unknown cart format");
+    }
+
+    @Override
+    public boolean supports(byte[] value) {
+        return readCodecs.stream().anyMatch(codec -> codec.supports(value));
+    }
+
+    public boolean isCurrent(byte[] value) {
+        return writeCodec.supports(value);
+    }
+}
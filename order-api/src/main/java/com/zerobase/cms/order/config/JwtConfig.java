@@ -1,14 +1,28 @@
 package com.zerobase.cms.order.config;
 
 import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.config.JwtKeySet;
+import java.nio.file.Paths;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class JwtConfig {
     @Bean
-    public JwtAuthenticationProvider jwtAuthenticationProvider() {
-        return new JwtAuthenticationProvider();
+    public JwtAuthenticationProvider jwtAuthenticationProvider(
+        @Value(value = "${jwt.cache.size:10000}") int cacheSize,
+        @Value(value = "${jwt.cache.ttl-ms:600000}") long cacheTtlMillis,
+        @Value(value = "${jwt.key-set.path:}") String keySetPath,
+        @Value(value = "${jwt.key-set.reload-ms:5000}") long reloadMillis,
+        @Value(value = "${jwt.legacy-tokens-until:}") String legacyTokensUntil) {
+        // 검증만 하므로 키 파일에는 public 키만 둔다. (user-api 와 같은 kid)
+        JwtKeySet keySet = keySetPath.isEmpty()
+            ? null : new JwtKeySet(Paths.get(keySetPath), reloadMillis);
+        return new JwtAuthenticationProvider(
+            cacheSize, cacheTtlMillis, keySet,
+            legacyTokensUntil.isEmpty() ? null : Instant.parse(legacyTokensUntil));
     }
 
 }
@@ -1,16 +1,26 @@
 package com.zerobase.cms.order.config;
 
+import com.zerobase.cms.order.cache.ProductCache;
+import com.zerobase.cms.order.client.redis.CartNearCache;
+import com.zerobase.cms.order.client.redis.VersionedCartCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 @EnableRedisRepositories
 public class RedisConfig {
 
+    @Value(value = "${cart.redis.codec:binary}")
+    private String cartCodecFormat;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
@@ -24,4 +34,40 @@ public class RedisConfig {
 
         return redisTemplate;
     }
+
+    @Bean
+    public RedisTemplate<String, byte[]> cartRedisTemplate(RedisConnectionFactory redisConnectionFactory) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+
+        return redisTemplate;
+    }
+
+    @Bean
+    public VersionedCartCodec cartCodec() {
+        return VersionedCartCodec.of(cartCodecFormat);
+    }
+
+    /**
+     * 로컬 캐시 무효화 메시지 수신. 사용하는 캐시가 없으면 구독하지 않는다.
+     */
+    @Bean
+    public RedisMessageListenerContainer invalidationListenerContainer(
+        RedisConnectionFactory redisConnectionFactory, CartNearCache cartNearCache,
+        ProductCache productCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+        container.setConnectionFactory(redisConnectionFactory);
+        if (cartNearCache.isEnabled()) {
+            container.addMessageListener(cartNearCache, new ChannelTopic(CartNearCache.CHANNEL));
+        }
+        if (productCache.isEnabled()) {
+            container.addMessageListener(productCache, new ChannelTopic(ProductCache.CHANNEL));
+        }
+
+        return container;
+    }
 }
@@ -0,0 +1,53 @@
+package com.zerobase.cms.order.config;
+
+import com.zerobase.cms.domain.config.AuthMetrics;
+import com.zerobase.cms.domain.config.AuthUserArgumentResolver;
+import com.zerobase.cms.domain.config.JwtAuthenticationFilter;
+import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.domain.common.UserType;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final JwtAuthenticationProvider provider;
+
+    @Bean
+    public AuthMetrics authMetrics() {
+        return new AuthMetrics();
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> customerFilter(
+        AuthMetrics authMetrics) {
+        return filter("/customer/*", new JwtAuthenticationFilter(
+            provider, authMetrics, UserType.CUSTOMER));
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> sellerFilter(
+        AuthMetrics authMetrics) {
+        return filter("/seller/*", new JwtAuthenticationFilter(
+            provider, authMetrics, UserType.SELLER));
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthUserArgumentResolver(provider));
+    }
+
+    private FilterRegistrationBean<JwtAuthenticationFilter> filter(
+        String urlPattern, JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+            new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(urlPattern);
+        return registration;
+    }
+}
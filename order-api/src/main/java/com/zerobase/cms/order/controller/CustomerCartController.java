@@ -1,19 +1,23 @@
 package com.zerobase.cms.order.controller;
 
-import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.config.AuthUser;
+import com.zerobase.cms.domain.domain.common.UserVo;
 import com.zerobase.cms.order.application.CartApplication;
 import com.zerobase.cms.order.application.CartOrderApplication;
+import com.zerobase.cms.order.domain.order.OrderDto;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.UpdateCartItemForm;
 import com.zerobase.cms.order.domain.redis.Cart;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -23,37 +27,55 @@ public class CustomerCartController {
 
     private final CartApplication cartApplication;
     private final CartOrderApplication cartOrderApplication;
-    private final JwtAuthenticationProvider provider;
 
 
     @PostMapping
     public ResponseEntity<Cart> addCart(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestBody AddProductCartForm form) {
         return ResponseEntity.ok(
-            cartApplication.addCart(provider.getUserVo(token).getId(), form));
+            cartApplication.addCart(user.getId(), form));
     }
 
     @GetMapping()
     public ResponseEntity<Cart> showCart(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token) {
+        @AuthUser UserVo user) {
         return ResponseEntity.ok(
-            cartApplication.getCart(provider.getUserVo(token).getId()));
+            cartApplication.getCart(user.getId()));
     }
 
     @PutMapping
     public ResponseEntity<Cart> updateCart(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestBody Cart cart) {
         return ResponseEntity.ok(
-            cartApplication.updateCart(provider.getUserVo(token).getId(), cart));
+            cartApplication.updateCart(user.getId(), cart));
+    }
+
+    @PutMapping("/item")
+    public ResponseEntity<Cart> updateCartItem(
+        @AuthUser UserVo user,
+        @RequestBody UpdateCartItemForm form) {
+        return ResponseEntity.ok(
+            cartApplication.updateCartItem(user.getId(), form));
+    }
+
+    @DeleteMapping("/item")
+    public ResponseEntity<Cart> removeCartItem(
+        @AuthUser UserVo user,
+        @RequestParam Long productId,
+        @RequestParam Long itemId) {
+        return ResponseEntity.ok(
+            cartApplication.removeCartItem(user.getId(), productId, itemId));
     }
 
     @PostMapping("/order")
-    public ResponseEntity<String> order(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+    public ResponseEntity<OrderDto> order(
+        @AuthUser UserVo user,
+        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
         @RequestBody Cart cart) {
-        cartOrderApplication.order(token, cart);
-        return ResponseEntity.status(HttpStatus.OK).body("Order confirmation email sent successfully");
+        // 접수만 하고 돌려준다. 처리 결과는 주문 내역(GET /customer/order)의 status 로 확인
+        return ResponseEntity.accepted().body(cartOrderApplication.order(
+            user, cart, idempotencyKey));
     }
 }
@@ -0,0 +1,32 @@
+package com.zerobase.cms.order.controller;
+
+import com.zerobase.cms.domain.config.AuthUser;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import com.zerobase.cms.order.domain.order.OrderDto;
+import com.zerobase.cms.order.domain.order.OrderPage;
+import com.zerobase.cms.order.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/customer/order")
+@RequiredArgsConstructor
+public class CustomerOrderController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderService orderService;
+
+    @GetMapping
+    public ResponseEntity<OrderPage<OrderDto>> getOrders(
+        @AuthUser UserVo user,
+        @RequestParam(required = false) Long lastId,
+        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderService.getCustomerOrders(
+            user.getId(), lastId, Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.zerobase.cms.order.controller;
+
+import com.zerobase.cms.domain.config.AuthMetrics;
+import com.zerobase.cms.order.cache.ProductCache;
+import com.zerobase.cms.order.client.redis.CartNearCache;
+import com.zerobase.cms.order.metrics.CartMetrics;
+import com.zerobase.cms.order.service.MailOutboxWorker;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+    private final CartMetrics cartMetrics;
+    private final CartNearCache cartNearCache;
+    private final ProductCache productCache;
+    private final MailOutboxWorker mailOutboxWorker;
+    private final AuthMetrics authMetrics;
+
+    @GetMapping("/cart")
+    public ResponseEntity<Map<String, Long>> getCartMetrics() {
+        return ResponseEntity.ok(cartMetrics.snapshot());
+    }
+
+    @GetMapping("/cart/near-cache")
+    public ResponseEntity<Map<String, Object>> getCartNearCacheMetrics() {
+        return ResponseEntity.ok(cartNearCache.snapshot());
+    }
+
+    @GetMapping("/product-cache")
+    public ResponseEntity<Map<String, Object>> getProductCacheMetrics() {
+        return ResponseEntity.ok(productCache.snapshot());
+    }
+
+    @GetMapping("/mail-outbox")
+    public ResponseEntity<Map<String, Object>> getMailOutboxMetrics() {
+        return ResponseEntity.ok(mailOutboxWorker.snapshot());
+    }
+
+    @GetMapping("/auth")
+    public ResponseEntity<Map<String, Long>> getAuthMetrics() {
+        return ResponseEntity.ok(authMetrics.snapshot());
+    }
+}
@@ -27,8 +27,6 @@ public class SearchController {
 
     @GetMapping("/detail")
     public ResponseEntity<ProductDto> getDetail(@RequestParam Long productId) {
-        return ResponseEntity.ok(
-            ProductDto.from(productSearchService.getByProductId(productId))
-        );
+        return ResponseEntity.ok(productSearchService.getProductDto(productId));
     }
 }
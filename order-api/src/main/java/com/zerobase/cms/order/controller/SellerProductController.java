@@ -1,6 +1,7 @@
 package com.zerobase.cms.order.controller;
 
-import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.config.AuthUser;
+import com.zerobase.cms.domain.domain.common.UserVo;
 import com.zerobase.cms.order.domain.product.AddProductForm;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
 import com.zerobase.cms.order.domain.product.ProductDto;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,67 +27,66 @@ public class SellerProductController {
 
     private final ProductService productService;
     private final ProductItemService productItemService;
-    private final JwtAuthenticationProvider provider;
 
     @PostMapping
     public ResponseEntity<ProductDto> addProduct(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestBody AddProductForm form
     ) {
         return ResponseEntity.ok(
             ProductDto.from(
                 productService.addProduct(
-                    provider.getUserVo(token).getId(), form)));
+                    user.getId(), form)));
     }
 
     @PostMapping("/item")
     public ResponseEntity<ProductDto> addProductItem(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestBody AddProductItemForm form
     ) {
         return ResponseEntity.ok(
             ProductDto.from(
                 productItemService.addProductItem(
-                    provider.getUserVo(token).getId(), form)));
+                    user.getId(), form)));
     }
 
     @PutMapping
     public ResponseEntity<ProductDto> updateProduct(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestBody UpdateProductForm form
     ) {
         return ResponseEntity.ok(
             ProductDto.from(
                 productService.updateProduct(
-                    provider.getUserVo(token).getId(), form)));
+                    user.getId(), form)));
     }
 
     @PutMapping("/item")
     public ResponseEntity<ProductItemDto> updateProductItem(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestBody UpdateProductItemForm form
     ) {
         return ResponseEntity.ok(
             ProductItemDto.from(
                 productItemService.updateProductItem(
-                    provider.getUserVo(token).getId(), form)));
+                    user.getId(), form)));
     }
 
     @DeleteMapping
     public ResponseEntity<ProductDto> deleteProduct(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestParam Long id
     ) {
-        productService.deleteProduct(provider.getUserVo(token).getId(), id);
+        productService.deleteProduct(user.getId(), id);
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/item")
     public ResponseEntity<ProductItemDto> deleteProductItem(
-        @RequestHeader(name = "X-AUTH-TOKEN") String token,
+        @AuthUser UserVo user,
         @RequestParam Long id
     ) {
-        productItemService.deleteProductItem(provider.getUserVo(token).getId(), id);
+        productItemService.deleteProductItem(user.getId(), id);
         return ResponseEntity.ok().build();
     }
 }
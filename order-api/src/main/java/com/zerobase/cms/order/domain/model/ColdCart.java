@@ -0,0 +1,38 @@
+package com.zerobase.cms.order.domain.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 오래 사용하지 않아 Redis 에서 내린 장바구니. Redis 에 저장된 값을 그대로 보관한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColdCart extends BaseEntity {
+
+    @Id
+    private Long customerId;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    private Integer size;
+
+    public static ColdCart of(Long customerId, byte[] data) {
+        return ColdCart.builder()
+            .customerId(customerId)
+            .data(data)
+            .size(data.length)
+            .build();
+    }
+}
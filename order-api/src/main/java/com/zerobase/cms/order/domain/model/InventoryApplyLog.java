@@ -0,0 +1,44 @@
+package com.zerobase.cms.order.domain.model;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Redis 판매 수량(inventory:applying)을 product_item 에 반영한 기록.
+ * 수량 차감과 같은 트랜잭션으로 저장해, 반영 후 applying 을 지우기 전에 죽어도 다시 차감하지 않는다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "inventory_apply_log",
+    uniqueConstraints = @UniqueConstraint(name = "uk_inventory_apply_log_batch_item",
+        columnNames = {"batch_id", "item_id"}),
+    indexes = @Index(name = "idx_inventory_apply_log_applied_at", columnList = "applied_at"))
+public class InventoryApplyLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false, length = 36)
+    private String batchId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
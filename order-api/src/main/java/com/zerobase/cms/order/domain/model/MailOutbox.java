@@ -0,0 +1,95 @@
+package com.zerobase.cms.order.domain.model;
+
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 보낼 메일 (outbox). 메일을 보내야 하는 트랜잭션 안에서 저장만 하고, MailOutboxWorker 가 모아서 보낸다.
+ * 발송이 끝났거나(SENT) 포기한(DEAD) 행은 next_run_at 이 null 이라 다시 가져가지 않는다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "mail_outbox", indexes = {
+    @Index(name = "idx_mail_outbox_next_run_at", columnList = "next_run_at"),
+    @Index(name = "idx_mail_outbox_lease_id", columnList = "lease_id")})
+public class MailOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String sender;
+    private String recipient;
+    private String subject;
+
+    @Lob
+    private String text;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MailStatus status;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    // 이 행을 가져간 MailOutboxWorker 실행의 id
+    @Column(name = "lease_id", length = 36)
+    private String leaseId;
+
+    public static MailOutbox from(SendMailForm form) {
+        return MailOutbox.builder()
+            .sender(form.getFrom())
+            .recipient(form.getTo())
+            .subject(form.getSubject())
+            .text(form.getText())
+            .status(MailStatus.PENDING)
+            .nextRunAt(LocalDateTime.now())
+            .build();
+    }
+
+    public SendMailForm toForm() {
+        return SendMailForm.builder()
+            .from(sender)
+            .to(recipient)
+            .subject(subject)
+            .text(text)
+            .build();
+    }
+
+    /**
+     * nextRunAt 에 다시 보낸다. nextRunAt 이 null 이면 포기한다. (DEAD)
+     */
+    public void retry(String error, LocalDateTime nextRunAt) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+        this.nextRunAt = nextRunAt;
+        this.leaseId = null;
+        if (nextRunAt == null) {
+            this.status = MailStatus.DEAD;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.zerobase.cms.order.domain.model;
+
+public enum MailStatus {
+    PENDING,    // 발송 대기, 실패하면 next_run_at 에 다시 발송
+    SENT,       // 발송 완료
+    DEAD        // 재시도를 모두 써버림, 원인은 last_error
+}
@@ -0,0 +1,71 @@
+package com.zerobase.cms.order.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.CascadeType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+
+/**
+ * 주문. 같은 고객이 같은 Idempotency-Key 로 다시 요청하면 유니크 인덱스에 걸려 한 번만 접수된다.
+ * 고객별 주문 내역은 (customer_id, id) 인덱스로 id 역순 keyset 페이징한다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "orders",
+    uniqueConstraints = @UniqueConstraint(name = "uk_orders_idempotency_key",
+        columnNames = {"customer_id", "idempotency_key"}),
+    indexes = @Index(name = "idx_orders_customer_id", columnList = "customer_id, id"))
+public class Order extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    private Integer totalPrice;
+
+    // 한 페이지의 주문 옵션을 주문마다 따로 조회하지 않고 in 조건으로 한 번에 조회
+    @OneToMany(cascade = CascadeType.ALL)
+    @JoinColumn(name = "order_id")
+    @BatchSize(size = 100)
+    @Builder.Default
+    private List<OrderLine> lines = new ArrayList<>();
+
+    public static Order pending(Long customerId, String idempotencyKey) {
+        return Order.builder()
+            .customerId(customerId)
+            .idempotencyKey(idempotencyKey)
+            .status(OrderStatus.PENDING)
+            .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.zerobase.cms.order.domain.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 옵션. 주문 당시의 상품명, 옵션명, 가격을 그대로 남긴다.
+ * 판매자별 판매 내역은 (seller_id, id) 인덱스로 id 역순 keyset 페이징한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_line",
+    indexes = @Index(name = "idx_order_line_seller_id", columnList = "seller_id, id"))
+public class OrderLine extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", insertable = false, updatable = false)
+    private Long orderId;
+
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    private Long productId;
+    private Long itemId;
+    private String productName;
+    private String itemName;
+    private Integer price;
+    private Integer count;
+}
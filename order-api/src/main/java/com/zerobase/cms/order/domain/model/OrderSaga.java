@@ -0,0 +1,88 @@
+package com.zerobase.cms.order.domain.model;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 접수된 주문의 처리 상태 (outbox). 주문 접수와 같은 트랜잭션으로 저장되고,
+ * OrderSagaRunner 가 next_run_at 이 지난 행을 가져가 한 단계씩 진행한다.
+ * 끝난(DONE, FAILED) 행과 재시도를 모두 써버린 행은 next_run_at 이 null 이라 다시 가져가지 않는다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_saga",
+    indexes = @Index(name = "idx_order_saga_next_run_at", columnList = "next_run_at"))
+public class OrderSaga extends BaseEntity {
+
+    @Id
+    private Long orderId;
+
+    private Long customerId;
+
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SagaStep step;
+
+    // Redis 재고 예약을 쓰는 경우의 예약 id
+    private String reservationId;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    public static OrderSaga start(Long orderId, Long customerId, String email) {
+        return OrderSaga.builder()
+            .orderId(orderId)
+            .customerId(customerId)
+            .email(email)
+            .step(SagaStep.RESERVE_STOCK)
+            .nextRunAt(LocalDateTime.now())
+            .build();
+    }
+
+    public OrderSaga moveTo(SagaStep next, String reason) {
+        this.step = next;
+        this.attempts = 0;
+        this.lastError = truncate(reason);
+        if (next.isTerminal()) {
+            this.nextRunAt = null;
+        } else {
+            this.nextRunAt = LocalDateTime.now();
+        }
+        return this;
+    }
+
+    /**
+     * 같은 단계를 nextRunAt 에 다시 실행한다. nextRunAt 이 null 이면 더 이상 실행하지 않는다.
+     */
+    public void retry(String error, LocalDateTime nextRunAt) {
+        this.attempts++;
+        this.lastError = truncate(error);
+        this.nextRunAt = nextRunAt;
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
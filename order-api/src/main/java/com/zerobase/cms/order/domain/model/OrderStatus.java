@@ -0,0 +1,8 @@
+package com.zerobase.cms.order.domain.model;
+
+public enum OrderStatus {
+    PENDING,    // 접수 중, 주문 옵션 저장 전
+    ACCEPTED,   // 접수 완료, OrderSagaRunner 가 재고 차감, 결제 진행 중
+    COMPLETED,  // 결제, 재고 차감 완료
+    FAILED      // 재고 또는 잔액 부족 등으로 실패, 차감한 재고와 잔액은 되돌림
+}
@@ -0,0 +1,25 @@
+package com.zerobase.cms.order.domain.model;
+
+/**
+ * 주문 처리 단계. 앞 단계가 성공하면 다음 단계로, 실패하면 되돌리는 단계로 넘어간다.
+ * <pre>
+ * RESERVE_STOCK -> DEBIT_BALANCE -> CONFIRM -> DONE
+ *        |               |              |
+ *      FAILED     RELEASE_STOCK  REFUND_BALANCE (예약 만료)
+ *                        |              |
+ *                      FAILED         FAILED
+ * </pre>
+ */
+public enum SagaStep {
+    RESERVE_STOCK,
+    DEBIT_BALANCE,
+    CONFIRM,
+    RELEASE_STOCK,
+    REFUND_BALANCE,
+    DONE,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED;
+    }
+}
@@ -0,0 +1,36 @@
+package com.zerobase.cms.order.domain.order;
+
+import com.zerobase.cms.order.domain.model.Order;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDto {
+    private Long id;
+    private OrderStatus status;
+    private Integer totalPrice;
+    private LocalDateTime createdAt;
+    private List<OrderLineDto> lines;
+
+    public static OrderDto from(Order order) {
+        return OrderDto.builder()
+            .id(order.getId())
+            .status(order.getStatus())
+            .totalPrice(order.getTotalPrice())
+            .createdAt(order.getCreatedAt())
+            .lines(order.getLines().stream()
+                .map(OrderLineDto::from).collect(Collectors.toList()))
+            .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.zerobase.cms.order.domain.order;
+
+import com.zerobase.cms.order.domain.model.OrderLine;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineDto {
+    private Long id;
+    private Long orderId;
+    private Long productId;
+    private Long itemId;
+    private String productName;
+    private String itemName;
+    private Integer price;
+    private Integer count;
+    private LocalDateTime createdAt;
+
+    public static OrderLineDto from(OrderLine line) {
+        return OrderLineDto.builder()
+            .id(line.getId())
+            .orderId(line.getOrderId())
+            .productId(line.getProductId())
+            .itemId(line.getItemId())
+            .productName(line.getProductName())
+            .itemName(line.getItemName())
+            .price(line.getPrice())
+            .count(line.getCount())
+            .createdAt(line.getCreatedAt())
+            .build();
+    }
+}
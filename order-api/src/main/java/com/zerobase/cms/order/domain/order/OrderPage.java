@@ -0,0 +1,23 @@
+package com.zerobase.cms.order.domain.order;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * keyset 페이지. 다음 페이지는 lastId 로 요청한다. (마지막 페이지면 null)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPage<T> {
+    private List<T> content;
+    private Long lastId;
+
+    public static <T> OrderPage<T> of(List<T> content, int size, Function<T, Long> id) {
+        Long lastId = content.size() < size ? null : id.apply(content.get(content.size() - 1));
+        return new OrderPage<>(content, lastId);
+    }
+}
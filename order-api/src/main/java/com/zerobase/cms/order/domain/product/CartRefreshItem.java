@@ -0,0 +1,20 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 장바구니 갱신에 필요한 상품 옵션 정보만 담은 조회 전용 DTO.
+ * 옵션이 하나도 없는 상품은 itemId 등이 null 인 행 하나로 조회된다.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CartRefreshItem {
+    private Long productId;
+    private Long itemId;
+    private String name;
+    private Integer price;
+    private Integer count;
+}
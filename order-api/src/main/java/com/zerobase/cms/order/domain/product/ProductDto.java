@@ -1,7 +1,9 @@
 package com.zerobase.cms.order.domain.product;
 
 import com.zerobase.cms.order.domain.model.Product;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -39,4 +41,37 @@ public class ProductDto {
             .description(product.getDescription())
             .build();
     }
+
+    /**
+     * 캐시에 따로 보관하기 위해 재고 수량(count)을 뺀 복사본
+     */
+    public static ProductDto withoutCount(ProductDto product) {
+        return withCount(product, null);
+    }
+
+    public static ProductDto withCount(ProductDto product, Map<Long, Integer> counts) {
+        List<ProductItemDto> items = product.getItems() == null ? null :
+            product.getItems().stream().map(item -> ProductItemDto.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .price(item.getPrice())
+                    .count(counts == null ? null : counts.getOrDefault(item.getId(), 0))
+                    .build())
+                .collect(Collectors.toList());
+
+        return ProductDto.builder()
+            .id(product.getId())
+            .name(product.getName())
+            .description(product.getDescription())
+            .items(items)
+            .build();
+    }
+
+    public static Map<Long, Integer> countsOf(ProductDto product) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (product.getItems() != null) {
+            product.getItems().forEach(item -> counts.put(item.getId(), item.getCount()));
+        }
+        return counts;
+    }
 }
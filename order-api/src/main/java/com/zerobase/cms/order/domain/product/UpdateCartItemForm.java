@@ -0,0 +1,16 @@
+package com.zerobase.cms.order.domain.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateCartItemForm {
+    private Long productId;
+    private Long itemId;
+    private Integer count;
+}
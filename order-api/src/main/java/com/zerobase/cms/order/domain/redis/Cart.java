@@ -1,8 +1,10 @@
 package com.zerobase.cms.order.domain.redis;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.persistence.Id;
 import lombok.AllArgsConstructor;
@@ -18,8 +20,18 @@ public class Cart {
 
     @Id
     private Long customerId;
+    // 낙관적 락을 위한 버전, 저장될 때마다 1씩 증가 (null = 저장된 적 없음)
+    private Long version;
     private List<Product> products = new ArrayList<>();
     private List<String> messages =new ArrayList<>();
+    // 읽어온 뒤 내용이 바뀌었는지 여부, 저장하지 않음
+    @JsonIgnore
+    private transient boolean dirty;
+    // HASH 저장 방식에서 읽어 온 필드, 메시지. 바뀐 필드만 쓰는 데 사용하고 저장하지 않음 (CartHash.diff)
+    @JsonIgnore
+    private transient Map<String, String> loadedFields;
+    @JsonIgnore
+    private transient List<String> loadedMessages;
 
     public Cart(Long customerId) {
         this.customerId = customerId;
@@ -27,6 +39,23 @@ public class Cart {
 
     public void addMessage(String message) {
         messages.add(message);
+        dirty = true;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * 메시지를 꺼내고 비운다. 꺼낼 메시지가 있었다면 저장이 필요하다.
+     */
+    public List<String> consumeMessages() {
+        List<String> consumed = messages;
+        if (!consumed.isEmpty()) {
+            messages = new ArrayList<>();
+            dirty = true;
+        }
+        return consumed;
     }
 
     @Data
@@ -0,0 +1,228 @@
+package com.zerobase.cms.order.domain.redis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 장바구니를 Redis Hash 하나로 저장할 때의 필드 구성.
+ * <pre>
+ * cart:{customerId}           (hash)
+ *   {productId}:{itemId}      수량 (HINCRBY 대상)
+ *   p:{productId}             상품 정보 (items 제외)
+ *   i:{productId}:{itemId}    아이템 정보 (count 제외)
+ * cart:{customerId}:messages  (list, 최대 길이 제한)
+ * </pre>
+ */
+@Slf4j
+public final class CartHash {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final String KEY_PREFIX = "cart:";
+    private static final String MESSAGES_SUFFIX = ":messages";
+    private static final String PRODUCT_PREFIX = "p:";
+    private static final String ITEM_PREFIX = "i:";
+
+    private CartHash() {
+    }
+
+    public static String key(Long customerId) {
+        return KEY_PREFIX + customerId;
+    }
+
+    public static String messagesKey(Long customerId) {
+        return KEY_PREFIX + customerId + MESSAGES_SUFFIX;
+    }
+
+    public static String countField(Long productId, Long itemId) {
+        return productId + ":" + itemId;
+    }
+
+    public static String productField(Long productId) {
+        return PRODUCT_PREFIX + productId;
+    }
+
+    public static String itemField(Long productId, Long itemId) {
+        return ITEM_PREFIX + productId + ":" + itemId;
+    }
+
+    public static boolean isCountField(String field) {
+        return !field.startsWith(PRODUCT_PREFIX) && !field.startsWith(ITEM_PREFIX);
+    }
+
+    public static String writeProduct(Cart.Product product) {
+        return write(Cart.Product.builder()
+            .id(product.getId())
+            .sellerId(product.getSellerId())
+            .name(product.getName())
+            .description(product.getDescription())
+            .items(new ArrayList<>())
+            .build());
+    }
+
+    public static String writeItem(Cart.ProductItem item) {
+        return write(Cart.ProductItem.builder()
+            .id(item.getId())
+            .name(item.getName())
+            .price(item.getPrice())
+            .build());
+    }
+
+    public static Cart.Product readProduct(Object value) {
+        return read(value, Cart.Product.class);
+    }
+
+    public static Cart.ProductItem readItem(Object value) {
+        return read(value, Cart.ProductItem.class);
+    }
+
+    public static Map<String, String> toFields(Cart cart) {
+        Map<String, String> fields = new HashMap<>();
+        for (Cart.Product product : cart.getProducts()) {
+            fields.put(productField(product.getId()), writeProduct(product));
+            for (Cart.ProductItem item : product.getItems()) {
+                fields.put(itemField(product.getId(), item.getId()), writeItem(item));
+                fields.put(countField(product.getId(), item.getId()),
+                    String.valueOf(item.getCount() == null ? 0 : item.getCount()));
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * 필드 순서가 보장되지 않으므로 상품, 아이템 id 순으로 정렬해서 복원한다.
+     * 수량이 없거나 0 이하인 아이템, 아이템이 하나도 없는 상품은 제외된다.
+     */
+    public static Cart fromFields(Long customerId, Map<Object, Object> fields, List<String> messages) {
+        Map<String, String> loaded = new HashMap<>();
+        fields.forEach((field, value) -> loaded.put(field.toString(), value.toString()));
+        Map<Long, Cart.Product> products = new TreeMap<>();
+        Map<String, Cart.ProductItem> items = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (Map.Entry<Object, Object> entry : fields.entrySet()) {
+            String field = entry.getKey().toString();
+            if (field.startsWith(PRODUCT_PREFIX)) {
+                Cart.Product product = readProduct(entry.getValue());
+                if (product != null) {
+                    products.put(product.getId(), product);
+                }
+            } else if (field.startsWith(ITEM_PREFIX)) {
+                Cart.ProductItem item = readItem(entry.getValue());
+                if (item != null) {
+                    items.put(field.substring(ITEM_PREFIX.length()), item);
+                }
+            } else {
+                counts.put(field, Integer.valueOf(entry.getValue().toString()));
+            }
+        }
+
+        Map<Long, Map<Long, Cart.ProductItem>> itemsByProduct = new HashMap<>();
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            Cart.ProductItem item = items.get(count.getKey());
+            if (item == null || count.getValue() <= 0) {
+                continue;
+            }
+            Long productId = Long.valueOf(
+                count.getKey().substring(0, count.getKey().indexOf(':')));
+            item.setCount(count.getValue());
+            itemsByProduct.computeIfAbsent(productId, id -> new TreeMap<>())
+                .put(item.getId(), item);
+        }
+
+        Cart cart = new Cart(customerId);
+        for (Cart.Product product : products.values()) {
+            Map<Long, Cart.ProductItem> productItems = itemsByProduct.get(product.getId());
+            if (productItems != null) {
+                product.setItems(new ArrayList<>(productItems.values()));
+                cart.getProducts().add(product);
+            }
+        }
+        cart.setMessages(new ArrayList<>(messages));
+        cart.setLoadedFields(loaded);
+        cart.setLoadedMessages(new ArrayList<>(messages));
+        return cart;
+    }
+
+    /**
+     * 읽어 온 필드, 메시지와 비교해 바뀐 것만 골라낸다. 장바구니 전체를 다시 쓰지 않으므로
+     * 읽은 뒤 다른 요청이 HINCRBY 로 더한 수량, 새로 추가한 상품이 남는다.
+     * relative 면 수량은 읽은 값과의 차이만큼 증감하고, 아니면(읽어 온 장바구니가 아님) 그 값으로 맞춘다.
+     * 읽은 메시지를 꺼냈으면 그 개수만큼 목록 앞에서 잘라낸다.
+     */
+    public static Changes diff(Cart cart, Map<String, String> loadedFields,
+        List<String> loadedMessages, boolean relative) {
+        Changes changes = new Changes();
+        Map<String, String> fields = toFields(cart);
+        fields.forEach((field, value) -> {
+            String loaded = loadedFields.get(field);
+            if (value.equals(loaded)) {
+                return;
+            }
+            if (relative && loaded != null && isCountField(field)) {
+                changes.increments.put(field, Long.parseLong(value) - Long.parseLong(loaded));
+            } else {
+                changes.puts.put(field, value);
+            }
+        });
+        for (String field : loadedFields.keySet()) {
+            if (!fields.containsKey(field)) {
+                changes.deletes.add(field);
+            }
+        }
+
+        List<String> messages = cart.getMessages();
+        int loadedCount = loadedMessages.size();
+        if (messages.size() >= loadedCount
+            && messages.subList(0, loadedCount).equals(loadedMessages)) {
+            changes.messages.addAll(messages.subList(loadedCount, messages.size()));
+        } else {
+            changes.trimMessages = loadedCount;
+            changes.messages.addAll(messages);
+        }
+        return changes;
+    }
+
+    @Getter
+    public static class Changes {
+        private final Map<String, String> puts = new HashMap<>();
+        private final Map<String, Long> increments = new HashMap<>();
+        private final List<Object> deletes = new ArrayList<>();
+        // messages 목록 앞에서 잘라낼 개수
+        private int trimMessages;
+        // messages 목록 끝에 추가할 메시지
+        private final List<String> messages = new ArrayList<>();
+
+        public boolean isEmpty() {
+            return puts.isEmpty() && increments.isEmpty() && deletes.isEmpty()
+                && trimMessages == 0 && messages.isEmpty();
+        }
+    }
+
+    private static String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static <T> T read(Object value, Class<T> classType) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return mapper.readValue(value.toString(), classType);
+        } catch (JsonProcessingException e) {
+            log.error("Parsing error", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.zerobase.cms.order.domain.redis;
+
+public enum CartStorageType {
+    BLOB, // 장바구니 전체를 하나의 값으로 저장
+    HASH  // 장바구니를 Redis Hash 로 저장, 아이템 단위로 변경
+}
@@ -0,0 +1,25 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.ColdCart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ColdCartRepository extends JpaRepository<ColdCart, Long> {
+
+    @Query("select coalesce(sum(c.size), 0) from ColdCart c")
+    long sumSize();
+
+    /**
+     * 없으면 0 을 돌려준다. (deleteById 와 달리 예외 없음)
+     * 같은 장바구니를 동시에 restore 해도 늦은 쪽은 0 건 삭제로 끝난다.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ColdCart c where c.customerId = :customerId")
+    int deleteIfExists(@Param("customerId") Long customerId);
+}
@@ -0,0 +1,24 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.InventoryApplyLog;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface InventoryApplyLogRepository extends JpaRepository<InventoryApplyLog, Long> {
+
+    /**
+     * before 이전에 반영한 기록을 지운다. 아직 반영 중인 batch 의 기록은 남긴다.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from InventoryApplyLog l"
+        + " where l.appliedAt < :before and l.batchId <> :applyingBatchId")
+    int deleteAppliedBefore(@Param("before") LocalDateTime before,
+        @Param("applyingBatchId") String applyingBatchId);
+}
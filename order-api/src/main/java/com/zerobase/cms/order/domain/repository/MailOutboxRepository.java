@@ -0,0 +1,43 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.MailOutbox;
+import com.zerobase.cms.order.domain.model.MailStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    @Query("select m.id from MailOutbox m where m.nextRunAt <= :now order by m.nextRunAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 아직 보낼 때가 된 행만 leaseUntil 까지 미루고 leaseId 를 남긴다.
+     * 여러 인스턴스가 같은 id 를 읽어도 각 행은 한 인스턴스만 가져간다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update MailOutbox m set m.nextRunAt = :leaseUntil, m.leaseId = :leaseId"
+        + " where m.id in :ids and m.nextRunAt <= :now")
+    int lease(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+        @Param("leaseUntil") LocalDateTime leaseUntil, @Param("leaseId") String leaseId);
+
+    List<MailOutbox> findByLeaseId(String leaseId);
+
+    @Transactional
+    @Modifying
+    @Query("update MailOutbox m"
+        + " set m.status = com.zerobase.cms.order.domain.model.MailStatus.SENT,"
+        + " m.nextRunAt = null, m.leaseId = null where m.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(MailStatus status);
+}
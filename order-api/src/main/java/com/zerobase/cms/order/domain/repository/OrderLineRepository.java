@@ -0,0 +1,14 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.OrderLine;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+
+    List<OrderLine> findBySellerIdAndIdLessThanOrderByIdDesc(
+        Long sellerId, Long lastId, Pageable pageable);
+}
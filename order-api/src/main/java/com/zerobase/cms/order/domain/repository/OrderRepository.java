@@ -0,0 +1,31 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.Order;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    Optional<Order> findByCustomerIdAndIdempotencyKey(Long customerId, String idempotencyKey);
+
+    // idx_orders_customer_id 를 따라 lastId 다음부터 읽으므로 페이지가 뒤로 가도 비용이 같다.
+    List<Order> findByCustomerIdAndIdLessThanOrderByIdDesc(
+        Long customerId, Long lastId, Pageable pageable);
+
+    // PENDING 접수에는 주문 옵션이 없으므로 한 번에 지운다.
+    @Transactional
+    @Modifying
+    @Query("delete from Order o where o.status = :status and o.createdAt < :before")
+    int deleteByStatusAndCreatedAtBefore(@Param("status") OrderStatus status,
+        @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,30 @@
+package com.zerobase.cms.order.domain.repository;
+
+import com.zerobase.cms.order.domain.model.OrderSaga;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, Long> {
+
+    List<OrderSaga> findByNextRunAtLessThanEqualOrderByNextRunAt(
+        LocalDateTime now, Pageable pageable);
+
+    /**
+     * 아직 실행할 때가 된 행만 leaseUntil 까지 미뤄 가져간다.
+     * 여러 인스턴스가 같은 행을 읽어도 1 건 갱신된 인스턴스 하나만 진행한다.
+     */
+    @Transactional
+    @Modifying
+    @Query("update OrderSaga s set s.nextRunAt = :leaseUntil"
+        + " where s.orderId = :orderId and s.nextRunAt <= :now")
+    int lease(@Param("orderId") Long orderId, @Param("now") LocalDateTime now,
+        @Param("leaseUntil") LocalDateTime leaseUntil);
+}
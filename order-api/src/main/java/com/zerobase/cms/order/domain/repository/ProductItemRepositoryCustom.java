@@ -0,0 +1,42 @@
+package com.zerobase.cms.order.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+public interface ProductItemRepositoryCustom {
+
+    /**
+     * 옵션 id - 차감할 수량. 재고가 충분한 행만 차감하고, 입력 순서(id 오름차순)대로 행마다 성공 여부를 돌려준다.
+     */
+    boolean[] decreaseCounts(Map<Long, Integer> counts);
+
+    /**
+     * 이미 판매된 수량을 반영한다. 재고가 모자란 행은 0 으로 만들고, 행마다 모자라지 않았는지를 돌려준다.
+     * 반영한 옵션은 batchId 와 함께 inventory_apply_log 에 남기고, 이미 남아 있는 옵션은 다시 차감하지 않는다. (true)
+     */
+    boolean[] decreaseCountsToZero(String batchId, Map<Long, Integer> counts);
+
+    /**
+     * Redis 재고 카운터를 채울 DB 수량. batchId 의 판매 수량이 이미 반영되었는지도 같은 조회로 읽는다.
+     * 없는 옵션은 빠진다.
+     */
+    List<SeedCount> findSeedCounts(Collection<Long> itemIds, String batchId);
+
+    /**
+     * 옵션 id - 되돌릴 수량. 주문이 실패해 차감했던 재고를 되돌린다.
+     */
+    void increaseCounts(Map<Long, Integer> counts);
+
+    @Getter
+    @AllArgsConstructor
+    class SeedCount {
+
+        private final Long itemId;
+        private final int count;
+        // count 에 batchId 의 판매 수량이 이미 빠져 있는지
+        private final boolean applied;
+    }
+}
@@ -0,0 +1,130 @@
+package com.zerobase.cms.order.domain.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductItemRepositoryImpl implements ProductItemRepositoryCustom {
+
+    private static final String DECREASE_COUNT_SQL =
+        "update product_item set count = count - ?, modified_at = ? where id = ? and count >= ?";
+    private static final String CLAMP_COUNT_SQL =
+        "update product_item set count = greatest(count - ?, 0), modified_at = ? where id = ?";
+    private static final String INCREASE_COUNT_SQL =
+        "update product_item set count = count + ?, modified_at = ? where id = ?";
+    private static final String FIND_APPLIED_SQL =
+        "select item_id from inventory_apply_log where batch_id = ? for update";
+    private static final String INSERT_APPLIED_SQL =
+        "insert into inventory_apply_log (batch_id, item_id, applied_at) values (?, ?, ?)";
+    private static final String FIND_SEED_COUNTS_SQL =
+        "select p.id, p.count, l.item_id from product_item p"
+            + " left join inventory_apply_log l on l.batch_id = ? and l.item_id = p.id"
+            + " where p.id in (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 조회 없이 조건부 UPDATE 를 한 번의 batch 로 보낸다. (rewriteBatchedStatements 사용 시 한 번의 왕복)
+     * 재고가 부족하면 해당 행은 0 건 갱신되므로 초과 판매가 생기지 않는다.
+     * 동시에 주문해도 항상 같은 순서로 잠그도록 id 오름차순으로 보낸다.
+     */
+    @Override
+    public boolean[] decreaseCounts(Map<Long, Integer> counts) {
+        Map<Long, Integer> sorted = new TreeMap<>(counts);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(sorted.size());
+        sorted.forEach((id, count) -> args.add(new Object[]{count, now, id, count}));
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREASE_COUNT_SQL, args);
+        boolean[] result = new boolean[updated.length];
+        for (int i = 0; i < updated.length; i++) {
+            result[i] = updated[i] > 0;
+        }
+        return result;
+    }
+
+    /**
+     * decreaseCounts 로 차감하지 못한 행은 0 까지만 차감한다.
+     * 반영 기록과 차감을 한 트랜잭션에서 처리한다. 같은 batch 를 동시에 반영하면 늦은 쪽은 유니크 인덱스에 걸려 롤백된다.
+     */
+    @Override
+    @Transactional
+    public boolean[] decreaseCountsToZero(String batchId, Map<Long, Integer> counts) {
+        Set<Long> applied = new HashSet<>(
+            jdbcTemplate.queryForList(FIND_APPLIED_SQL, Long.class, batchId));
+        Map<Long, Integer> pending = new TreeMap<>();
+        counts.forEach((id, count) -> {
+            if (!applied.contains(id)) {
+                pending.put(id, count);
+            }
+        });
+
+        boolean[] result = new boolean[counts.size()];
+        Arrays.fill(result, true);
+        if (pending.isEmpty()) {
+            return result;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> logArgs = new ArrayList<>(pending.size());
+        pending.keySet().forEach(id -> logArgs.add(new Object[]{batchId, id, now}));
+        jdbcTemplate.batchUpdate(INSERT_APPLIED_SQL, logArgs);
+
+        boolean[] decreased = decreaseCounts(pending);
+        List<Object[]> args = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : pending.entrySet()) {
+            if (!decreased[i++]) {
+                args.add(new Object[]{entry.getValue(), now, entry.getKey()});
+            }
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(CLAMP_COUNT_SQL, args);
+        }
+
+        // 입력 순서(id 오름차순)로 돌려준다. 이미 반영되어 건너뛴 행은 true
+        int j = 0, k = 0;
+        for (Long id : new TreeMap<>(counts).keySet()) {
+            result[j++] = !pending.containsKey(id) || decreased[k++];
+        }
+        return result;
+    }
+
+    /**
+     * 수량과 반영 기록을 한 번의 조회로 읽어 두 값이 같은 시점이 되게 한다.
+     */
+    @Override
+    public List<SeedCount> findSeedCounts(Collection<Long> itemIds, String batchId) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(itemIds.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(batchId == null ? "" : batchId);
+        args.addAll(itemIds);
+        return jdbcTemplate.query(String.format(FIND_SEED_COUNTS_SQL, placeholders),
+            (rs, rowNum) -> new SeedCount(rs.getLong(1), rs.getInt(2), rs.getObject(3) != null),
+            args.toArray());
+    }
+
+    @Override
+    public void increaseCounts(Map<Long, Integer> counts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(counts.size());
+        new TreeMap<>(counts).forEach((id, count) -> args.add(new Object[]{count, now, id}));
+        jdbcTemplate.batchUpdate(INCREASE_COUNT_SQL, args);
+    }
+}
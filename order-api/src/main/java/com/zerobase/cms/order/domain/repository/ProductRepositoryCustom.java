@@ -1,8 +1,12 @@
 package com.zerobase.cms.order.domain.repository;
 
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductRepositoryCustom {
     List<Product> searchByName(String name);
+
+    List<CartRefreshItem> findCartRefreshItems(Collection<Long> productIds);
 }
@@ -1,11 +1,17 @@
 package com.zerobase.cms.order.domain.repository;
 
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.QProduct;
+import com.zerobase.cms.order.domain.model.QProductItem;
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import java.util.Collection;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 @RequiredArgsConstructor
@@ -22,4 +28,22 @@ public class ProductRepositoryImpl implements ProductRepositoryCustom{
             .where(product.name.like(search))
             .fetch();
     }
+
+    /**
+     * 엔티티 대신 (상품 id, 옵션 id, 이름, 가격, 수량) 만 바로 조회한다.
+     * 영속성 컨텍스트에 엔티티가 올라가지 않으므로 dirty checking, Envers 대상도 아니다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CartRefreshItem> findCartRefreshItems(Collection<Long> productIds) {
+        QProduct product = QProduct.product;
+        QProductItem productItem = QProductItem.productItem;
+        return queryFactory.select(Projections.constructor(CartRefreshItem.class,
+                product.id, productItem.id, productItem.name, productItem.price, productItem.count))
+            .from(product)
+            .leftJoin(product.productItems, productItem)
+            .where(product.id.in(productIds))
+            .setHint(QueryHints.READ_ONLY, true)
+            .fetch();
+    }
 }
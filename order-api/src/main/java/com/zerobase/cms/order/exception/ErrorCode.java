@@ -13,10 +13,16 @@ public enum ErrorCode {
 
     CART_CHANGE_FAIL(HttpStatus.BAD_REQUEST, "장바구니에 추가할 수 없습니다."),
     ITEM_COUNT_NOT_ENOUGH(HttpStatus.BAD_REQUEST, "상품의 수량이 부족합니다."),
+    INVALID_CART_ITEM_FORM(HttpStatus.BAD_REQUEST, "상품, 옵션, 수량을 모두 입력 해주세요."),
+    CART_VERSION_CONFLICT(HttpStatus.CONFLICT, "장바구니가 다른 요청에 의해 변경되었습니다. 다시 시도 해주세요."),
 
     ORDER_FAIL_CHECK_CART(HttpStatus.BAD_REQUEST, "주문 불가! 장바구니를 확인 해주세요."),
     CART_IS_EMPTY(HttpStatus.BAD_REQUEST, "주문 불가! 장바구니가 비어 있습니다."),
-    ORDER_FAIL_NOT_ENOUGH_MONEY(HttpStatus.BAD_REQUEST, "주문 불가! 잔액이 부족합니다.")
+    ORDER_FAIL_NOT_ENOUGH_MONEY(HttpStatus.BAD_REQUEST, "주문 불가! 잔액이 부족합니다."),
+    RESERVATION_EXPIRED(HttpStatus.CONFLICT, "주문 처리 시간이 초과되었습니다. 다시 시도 해주세요."),
+    ORDER_IN_PROGRESS(HttpStatus.CONFLICT, "같은 주문이 처리 중입니다."),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency-Key 는 100자 이하여야 합니다."),
+    NOT_FOUND_ORDER(HttpStatus.BAD_REQUEST, "주문을 찾을 수 없습니다.")
 
 
     ;
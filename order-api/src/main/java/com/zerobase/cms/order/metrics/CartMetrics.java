@@ -0,0 +1,61 @@
+package com.zerobase.cms.order.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장바구니 관련 카운터와 게이지. 카운터는 애플리케이션이 떠 있는 동안 누적되고,
+ * 저장소 게이지는 CartCompactor 가 돌 때마다 갱신된다.
+ */
+@Component
+public class CartMetrics {
+
+    private final LongAdder viewWrites = new LongAdder();
+    private final LongAdder viewWriteSkips = new LongAdder();
+
+    private final AtomicLong hotCount = new AtomicLong();
+    private final AtomicLong hotBytes = new AtomicLong();
+    private final AtomicLong coldCount = new AtomicLong();
+    private final AtomicLong coldBytes = new AtomicLong();
+
+    // 조회 중 갱신된 내용이 있어 저장한 경우
+    public void viewWritten() {
+        viewWrites.increment();
+    }
+
+    // 바뀐 내용이 없어 저장을 건너뛴 경우
+    public void viewWriteSkipped() {
+        viewWriteSkips.increment();
+    }
+
+    public long getViewWrites() {
+        return viewWrites.sum();
+    }
+
+    public long getViewWriteSkips() {
+        return viewWriteSkips.sum();
+    }
+
+    // Redis(hot) 와 DB(cold) 에 저장된 장바구니 수, 크기
+    public void updateStorage(long hotCount, long hotBytes, long coldCount, long coldBytes) {
+        this.hotCount.set(hotCount);
+        this.hotBytes.set(hotBytes);
+        this.coldCount.set(coldCount);
+        this.coldBytes.set(coldBytes);
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("cart.view.count", getViewWrites() + getViewWriteSkips());
+        snapshot.put("cart.view.write", getViewWrites());
+        snapshot.put("cart.view.write-skipped", getViewWriteSkips());
+        snapshot.put("cart.storage.hot.count", hotCount.get());
+        snapshot.put("cart.storage.hot.bytes", hotBytes.get());
+        snapshot.put("cart.storage.cold.count", coldCount.get());
+        snapshot.put("cart.storage.cold.bytes", coldBytes.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,76 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.client.redis.CartKeyInfo;
+import com.zerobase.cms.order.client.redis.CartScanIterator;
+import com.zerobase.cms.order.metrics.CartMetrics;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주기적으로 모든 장바구니를 훑어 idle-days 이상 사용하지 않은 장바구니를 DB 로 내린다.
+ * 만료 시간은 사용할 때마다 연장되므로 (만료 시간 - 남은 만료 시간) 을 사용하지 않은 시간으로 본다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cart.cold-store.enabled", havingValue = "true")
+public class CartCompactor {
+
+    private final RedisClient redisClient;
+    private final ColdCartService coldCartService;
+    private final CartMetrics cartMetrics;
+
+    @Value(value = "${cart.cold-store.idle-days:14}")
+    private long idleDays;
+
+    @Scheduled(fixedDelayString = "${cart.cold-store.interval-ms:3600000}",
+        initialDelayString = "${cart.cold-store.interval-ms:3600000}")
+    public void compact() {
+        long ttlMillis = redisClient.getTtlMillis();
+        long idleMillis = Duration.ofDays(idleDays).toMillis();
+        boolean archivable = ttlMillis > idleMillis;
+        if (!archivable) {
+            log.warn("cart ttl must be longer than idle days. skip archiving.");
+        }
+
+        long hotCount = 0, hotBytes = 0, archived = 0;
+        try (CartScanIterator<List<Long>> chunks = redisClient.scanCartIds()) {
+            while (chunks.hasNext()) {
+                for (CartKeyInfo info : redisClient.getCartKeyInfos(chunks.next())) {
+                    if (!info.exists()) {
+                        continue;
+                    }
+                    if (!info.hasExpire()) { // 만료 시간 없이 저장되어 있던 장바구니
+                        redisClient.expire(info.getCustomerId());
+                    } else if (archivable && ttlMillis - info.getTtlMillis() >= idleMillis
+                        && archive(info.getCustomerId())) {
+                        archived++;
+                        continue;
+                    }
+                    hotCount++;
+                    hotBytes += info.getSize();
+                }
+            }
+        }
+
+        cartMetrics.updateStorage(hotCount, hotBytes,
+            coldCartService.count(), coldCartService.totalSize());
+        log.info("cart compaction done. archived : {}, hot : {}", archived, hotCount);
+    }
+
+    private boolean archive(Long customerId) {
+        try {
+            return coldCartService.archive(customerId);
+        } catch (RuntimeException e) {
+            log.error("cart archive failed. customerId : {}", customerId, e);
+            return false;
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.zerobase.cms.order.service;
 
+import static com.zerobase.cms.order.exception.ErrorCode.CART_VERSION_CONFLICT;
+
 import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartHash;
+import com.zerobase.cms.order.domain.redis.CartStorageType;
+import com.zerobase.cms.order.exception.CustomException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,24 +26,78 @@ import org.springframework.stereotype.Service;
 public class CartService {
 
     private final RedisClient redisClient;
+    private final ColdCartService coldCartService;
+
+    @Value(value = "${cart.redis.storage:BLOB}")
+    private CartStorageType storageType = CartStorageType.BLOB;
+
+    @Value(value = "${cart.redis.cas-retry:5}")
+    private int casRetry = 5;
 
     public Cart getCart(Long customerId) {
+        if (storageType == CartStorageType.HASH) {
+            return redisClient.getCartHash(customerId);
+        }
         Cart cart = redisClient.get(customerId, Cart.class);
+        if (cart == null) { // 오래 사용하지 않아 DB 로 내려간 장바구니
+            cart = coldCartService.restore(customerId);
+        }
         return cart != null ? cart : new Cart();
     }
 
     public Cart putCart(Long customerId, Cart cart) {
-        redisClient.put(customerId, cart);
+        if (storageType == CartStorageType.HASH) {
+            redisClient.writeCartHash(customerId, cart);
+            return cart;
+        }
+        if (cart.getVersion() == null) { // 버전 없이 들어온 장바구니는 최신 버전 위에 저장
+            return modifyCart(customerId, current -> {
+                cart.setVersion(current.getVersion());
+                return cart;
+            });
+        }
+        if (!redisClient.compareAndSet(customerId, cart, cart.getVersion())) {
+            throw new CustomException(CART_VERSION_CONFLICT);
+        }
         return cart;
     }
 
+    /**
+     * 장바구니를 읽어 mutation 을 적용한 뒤, 읽은 버전 그대로일 때만 저장한다.
+     * 그 사이 다른 요청이 먼저 저장했다면 다시 읽어서 최대 casRetry 번까지 재시도한다.
+     */
+    public Cart modifyCart(Long customerId, UnaryOperator<Cart> mutation) {
+        if (storageType == CartStorageType.HASH) {
+            Cart cart = mutation.apply(getCart(customerId));
+            redisClient.writeCartHash(customerId, cart);
+            return cart;
+        }
+        for (int attempt = 1; attempt <= casRetry; attempt++) {
+            Cart cart = getCart(customerId);
+            Long expectedVersion = cart.getVersion();
+            Cart changed = mutation.apply(cart);
+            if (redisClient.compareAndSet(customerId, changed, expectedVersion)) {
+                return changed;
+            }
+            log.debug("cart version conflict. customerId : {}, attempt : {}", customerId, attempt);
+        }
+        throw new CustomException(CART_VERSION_CONFLICT);
+    }
+
     public Cart addCart(Long customerId, AddProductCartForm form) {
-        Cart cart = redisClient.get(customerId, Cart.class);
-        if (cart == null) {
-            cart = new Cart();
-            cart.setCustomerId(customerId);
+        if (storageType == CartStorageType.HASH) {
+            return addCartToHash(customerId, form);
         }
+        return modifyCart(customerId, cart -> {
+            if (cart.getCustomerId() == null) {
+                cart.setCustomerId(customerId);
+            }
+            addProduct(cart, form);
+            return cart;
+        });
+    }
 
+    private void addProduct(Cart cart, AddProductCartForm form) {
         Optional<Cart.Product> productOptional =
             cart.getProducts().stream()
             .filter(p -> p.getId().equals(form.getId()))
@@ -72,9 +135,104 @@ public class CartService {
             Cart.Product product = Cart.Product.from(form);
             cart.getProducts().add(product);
         }
-        redisClient.put(customerId, cart);
-        return cart;
     }
 
+    public Cart changeItemCount(Long customerId, Long productId, Long itemId, int count) {
+        if (count <= 0) {
+            return removeItem(customerId, productId, itemId);
+        }
+        if (storageType == CartStorageType.HASH) {
+            redisClient.setCartHashCount(customerId, productId, itemId, count);
+            return redisClient.getCartHash(customerId);
+        }
+        return modifyCart(customerId, cart -> {
+            cart.getProducts().stream()
+                .filter(p -> p.getId().equals(productId))
+                .flatMap(p -> p.getItems().stream())
+                .filter(item -> item.getId().equals(itemId))
+                .forEach(item -> item.setCount(count));
+            return cart;
+        });
+    }
+
+    public Cart removeItem(Long customerId, Long productId, Long itemId) {
+        if (storageType == CartStorageType.HASH) {
+            redisClient.deleteCartHashFields(customerId,
+                CartHash.countField(productId, itemId), CartHash.itemField(productId, itemId));
+            return redisClient.getCartHash(customerId);
+        }
+        return modifyCart(customerId, cart -> {
+            cart.getProducts().stream()
+                .filter(p -> p.getId().equals(productId))
+                .forEach(p -> p.getItems().removeIf(item -> item.getId().equals(itemId)));
+            cart.getProducts().removeIf(p -> p.getItems().isEmpty());
+            return cart;
+        });
+    }
+
+    /**
+     * 옵션 id - 상품 id. 주문이 끝난 옵션을 장바구니에서 한 번에 뺀다.
+     */
+    public Cart removeItems(Long customerId, Map<Long, Long> productIds) {
+        if (storageType == CartStorageType.HASH) {
+            List<String> fields = new ArrayList<>();
+            productIds.forEach((itemId, productId) -> {
+                fields.add(CartHash.countField(productId, itemId));
+                fields.add(CartHash.itemField(productId, itemId));
+            });
+            redisClient.deleteCartHashFields(customerId, fields.toArray(new String[0]));
+            return redisClient.getCartHash(customerId);
+        }
+        return modifyCart(customerId, cart -> {
+            cart.getProducts().forEach(p -> p.getItems().removeIf(item ->
+                p.getId().equals(productIds.get(item.getId()))));
+            cart.getProducts().removeIf(p -> p.getItems().isEmpty());
+            return cart;
+        });
+    }
+
+    /**
+     * 추가하려는 상품, 아이템의 필드만 읽고 수량은 HINCRBY 로 반영한다.
+     * 장바구니 전체를 다시 쓰지 않으므로 동시에 추가해도 수량이 유실되지 않는다.
+     */
+    private Cart addCartToHash(Long customerId, AddProductCartForm form) {
+        List<Object> fields = new ArrayList<>();
+        fields.add(CartHash.productField(form.getId()));
+        for (AddProductCartForm.ProductItem item : form.getItems()) {
+            fields.add(CartHash.itemField(form.getId(), item.getId()));
+        }
+        List<Object> values = redisClient.getCartHashFields(customerId, fields);
 
+        Map<String, String> newFields = new HashMap<>();
+        Map<String, Long> increments = new HashMap<>();
+        List<String> messages = new ArrayList<>();
+
+        Cart.Product redisProduct = CartHash.readProduct(values.get(0));
+        String productName = form.getName();
+        if (redisProduct == null) {
+            newFields.put(CartHash.productField(form.getId()),
+                CartHash.writeProduct(Cart.Product.from(form)));
+        } else {
+            productName = redisProduct.getName();
+            if (!redisProduct.getName().equals(form.getName())) { // 카트에 있는 상품의 정보 변경된 경우
+                messages.add(redisProduct.getName() + "의 정보가 변동되었습니다. 확인 부탁드립니다.");
+            }
+        }
+
+        for (int i = 0; i < form.getItems().size(); i++) {
+            Cart.ProductItem item = Cart.ProductItem.from(form.getItems().get(i));
+            Cart.ProductItem redisItem = CartHash.readItem(values.get(i + 1));
+            if (redisItem == null) {
+                newFields.put(CartHash.itemField(form.getId(), item.getId()),
+                    CartHash.writeItem(item));
+            } else if (redisProduct != null && !redisItem.getPrice().equals(item.getPrice())) {
+                messages.add(productName + item.getName() + "의 가격이 변동되었습니다.");
+            }
+            increments.merge(CartHash.countField(form.getId(), item.getId()),
+                (long) item.getCount(), Long::sum);
+        }
+
+        redisClient.updateCartHash(customerId, newFields, increments, messages);
+        return redisClient.getCartHash(customerId);
+    }
 }
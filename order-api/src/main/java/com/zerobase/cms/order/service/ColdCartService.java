@@ -0,0 +1,71 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.domain.model.ColdCart;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.repository.ColdCartRepository;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 오래 사용하지 않은 장바구니를 DB 로 내리고, 다시 조회될 때 Redis 로 올린다.
+ * BLOB 으로 저장된 장바구니만 대상이다. HASH 로 저장된 장바구니는 내리지도, 올리지도 않는다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ColdCartService {
+
+    private final RedisClient redisClient;
+    private final ColdCartRepository coldCartRepository;
+
+    @Value(value = "${cart.cold-store.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Redis 의 장바구니를 DB 에 저장한 뒤 Redis 에서 삭제한다.
+     * 그 사이 장바구니가 변경되었다면 DB 에 저장한 것을 지우고 Redis 에 그대로 둔다.
+     */
+    public boolean archive(Long customerId) {
+        byte[] value = redisClient.getRaw(customerId);
+        if (value == null) {
+            return false;
+        }
+        coldCartRepository.save(ColdCart.of(customerId, value));
+        if (redisClient.deleteIfUnchanged(customerId, value)) {
+            return true;
+        }
+        coldCartRepository.deleteIfExists(customerId);
+        return false;
+    }
+
+    /**
+     * DB 에 내려간 장바구니를 Redis 로 다시 올리고 돌려준다. 없으면 null.
+     * 그 사이 새 장바구니가 만들어졌다면 새 장바구니를 사용한다.
+     */
+    public Cart restore(Long customerId) {
+        if (!enabled) {
+            return null;
+        }
+        Optional<ColdCart> coldCart = coldCartRepository.findById(customerId);
+        if (coldCart.isEmpty()) {
+            return null;
+        }
+        if (!redisClient.putRawIfAbsent(customerId, coldCart.get().getData())) {
+            log.info("cart already exists, drop cold cart. customerId : {}", customerId);
+        }
+        coldCartRepository.deleteIfExists(customerId);
+        return redisClient.get(customerId, Cart.class);
+    }
+
+    public long count() {
+        return coldCartRepository.count();
+    }
+
+    public long totalSize() {
+        return coldCartRepository.sumSize();
+    }
+}
@@ -0,0 +1,111 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.domain.repository.InventoryApplyLogRepository;
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import com.zerobase.cms.order.service.InventoryService.SoldBatch;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 재고 카운터의 뒷정리. 만료된 예약을 되돌리고, 확정된 판매 수량을 batch 로 product_item 에 반영한다.
+ * 반영 기록(inventory_apply_log)을 차감과 같은 트랜잭션으로 남겨, applying 을 지우기 전에 죽어도 두 번 차감하지 않는다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.enabled", havingValue = "true")
+public class InventoryReconciler {
+
+    private final InventoryService inventoryService;
+    private final ProductItemRepository productItemRepository;
+    private final InventoryApplyLogRepository inventoryApplyLogRepository;
+
+    @Value(value = "${inventory.reconcile.batch-size:500}")
+    private int batchSize = 500;
+
+    // 반영 기록을 남겨 두는 시간. 반영 중인 batch 의 기록은 지나도 남긴다.
+    @Value(value = "${inventory.apply-log.retention-hours:24}")
+    private long applyLogRetentionHours = 24;
+
+    @Scheduled(fixedDelayString = "${inventory.reconcile.interval-ms:1000}")
+    public void releaseExpired() {
+        for (Object reservationId : inventoryService.findExpired(batchSize)) {
+            try {
+                inventoryService.release(reservationId.toString());
+            } catch (RuntimeException e) {
+                log.error("reservation release failed. reservationId : {}", reservationId, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reconcile.interval-ms:1000}")
+    public void reconcile() {
+        if (!inventoryService.tryLock(Duration.ofMinutes(1))) {
+            return;
+        }
+        try {
+            SoldBatch batch = inventoryService.drainSold();
+            if (!batch.getCounts().isEmpty()) {
+                apply(batch.getId(), batch.getCounts());
+            }
+        } finally {
+            inventoryService.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.apply-log.cleanup-interval-ms:3600000}")
+    public void cleanupApplyLog() {
+        String applyingBatchId = inventoryService.getApplyingBatchId();
+        inventoryApplyLogRepository.deleteAppliedBefore(
+            LocalDateTime.now().minusHours(applyLogRetentionHours),
+            applyingBatchId == null ? "" : applyingBatchId);
+    }
+
+    private void apply(String batchId, Map<Long, Integer> sold) {
+        List<Map<Long, Integer>> chunks = new ArrayList<>();
+        Map<Long, Integer> chunk = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(sold).entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() == batchSize) {
+                chunks.add(chunk);
+                chunk = new TreeMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        for (Map<Long, Integer> counts : chunks) {
+            boolean[] decreased;
+            try {
+                decreased = productItemRepository.decreaseCountsToZero(batchId, counts);
+            } catch (RuntimeException e) {
+                // 남은 수량은 inventory:applying 에 그대로 두고 다음에 다시 반영한다.
+                log.error("sold count apply failed. items : {}", counts.keySet(), e);
+                return;
+            }
+            inventoryService.applied(counts.keySet());
+
+            int i = 0;
+            for (Long itemId : counts.keySet()) { // decreaseCounts 결과도 id 오름차순
+                if (!decreased[i++]) {
+                    // DB 수량이 더 적다 = 판매자가 그 사이 수량을 줄였다. DB 는 0 까지만 차감했으므로
+                    // 반영은 끝난 것으로 보고, 카운터를 DB 기준으로 다시 채운다.
+                    log.warn("sold count exceeds db count, clamped to 0. itemId : {}, sold : {}",
+                        itemId, counts.get(itemId));
+                    inventoryService.reset(itemId);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.zerobase.cms.order.service;
+
+import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
+
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import com.zerobase.cms.order.domain.repository.ProductItemRepositoryCustom.SeedCount;
+import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.util.TransactionHooks;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * 주문이 몰리는 옵션의 재고를 Redis 카운터로 관리해 주문 시 product_item 행 잠금을 피한다.
+ * (inventory.reservation.enabled=true 일 때만 사용)
+ * <pre>
+ * stock:{itemId}                 주문 가능 수량, 없으면 DB 수량 - 예약 중 - DB 미반영 판매 수량으로 채운다.
+ * inventory:reservation:{id}     예약 (옵션 id - 수량), inventory:expiry 의 만료 시각이 지나면 되돌린다.
+ * inventory:committed:{id}       확정한 예약 표시, committed-ttl-seconds 동안 남는다.
+ * inventory:reserved             옵션별 예약 중인 수량
+ * inventory:sold                 확정되었지만 아직 DB 에 반영되지 않은 판매 수량
+ * inventory:applying             DB 에 반영 중인 판매 수량 (InventoryReconciler)
+ * inventory:applying:id          반영 중인 batch id, 반영한 옵션은 DB 의 inventory_apply_log 에 남는다.
+ * inventory:applying:seq         applying 이 바뀔 때마다 1 씩 늘어난다. 카운터를 채우는 사이 바뀌었는지 확인한다.
+ * </pre>
+ * 모든 변경은 Lua 스크립트로 원자적으로 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+
+    private static final String STOCK_KEY = "stock:";
+    private static final String RESERVATION_KEY = "inventory:reservation:";
+    private static final String COMMITTED_KEY = "inventory:committed:";
+    private static final String EXPIRY_KEY = "inventory:expiry";
+    private static final String RESERVED_KEY = "inventory:reserved";
+    private static final String SOLD_KEY = "inventory:sold";
+    private static final String APPLYING_KEY = "inventory:applying";
+    private static final String APPLYING_ID_KEY = "inventory:applying:id";
+    private static final String APPLYING_SEQ_KEY = "inventory:applying:seq";
+    private static final String RECONCILE_LOCK_KEY = "inventory:reconcile:lock";
+
+    private static final long RESERVED = 1, NOT_ENOUGH = 0, NOT_SEEDED = -1;
+    private static final long SEED_STALE = -1;
+
+    // KEYS: reservation, reserved, expiry, stock:{id}... / ARGV: reservationId, expireAt, n, (id, count)...
+    // 카운터가 없는 옵션이 있으면 {-1, id...}, 수량이 부족하면 {0, id}, 예약하면 {1}
+    private static final RedisScript<List> RESERVE = new DefaultRedisScript<>(
+        "local n = tonumber(ARGV[3])\n"
+            + "local missing = {-1}\n"
+            + "for i = 1, n do\n"
+            + "  if redis.call('exists', KEYS[3 + i]) == 0 then\n"
+            + "    missing[#missing + 1] = tonumber(ARGV[2 + i * 2])\n"
+            + "  end\n"
+            + "end\n"
+            + "if #missing > 1 then return missing end\n"
+            + "for i = 1, n do\n"
+            + "  if tonumber(redis.call('get', KEYS[3 + i])) < tonumber(ARGV[3 + i * 2]) then\n"
+            + "    return {0, tonumber(ARGV[2 + i * 2])}\n"
+            + "  end\n"
+            + "end\n"
+            + "for i = 1, n do\n"
+            + "  local id, count = ARGV[2 + i * 2], ARGV[3 + i * 2]\n"
+            + "  redis.call('decrby', KEYS[3 + i], count)\n"
+            + "  redis.call('hincrby', KEYS[2], id, count)\n"
+            + "  redis.call('hset', KEYS[1], id, count)\n"
+            + "end\n"
+            + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[1])\n"
+            + "return {1}", List.class);
+
+    // KEYS: reservation, reserved, expiry, sold, committed / ARGV: reservationId, committed TTL(초)
+    // 이미 확정한 예약을 다시 확정하면 1, 확정하기 전에 되돌려졌으면 0
+    private static final RedisScript<Long> COMMIT = new DefaultRedisScript<>(
+        "if redis.call('exists', KEYS[5]) == 1 then return 1 end\n"
+            + "local items = redis.call('hgetall', KEYS[1])\n"
+            + "if #items == 0 then return 0 end\n"
+            + "for i = 1, #items, 2 do\n"
+            + "  redis.call('hincrby', KEYS[2], items[i], -tonumber(items[i + 1]))\n"
+            + "  redis.call('hincrby', KEYS[4], items[i], items[i + 1])\n"
+            + "end\n"
+            + "redis.call('del', KEYS[1])\n"
+            + "redis.call('zrem', KEYS[3], ARGV[1])\n"
+            + "redis.call('set', KEYS[5], 1, 'EX', ARGV[2])\n"
+            + "return 1", Long.class);
+
+    // KEYS: reservation, reserved, expiry / ARGV: reservationId, stock 키 prefix
+    // 그 사이 카운터가 초기화되었다면 (판매자 수정) 다시 채울 때 반영되므로 카운터는 건드리지 않는다.
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+        "local items = redis.call('hgetall', KEYS[1])\n"
+            + "for i = 1, #items, 2 do\n"
+            + "  redis.call('hincrby', KEYS[2], items[i], -tonumber(items[i + 1]))\n"
+            + "  local stock = ARGV[2] .. items[i]\n"
+            + "  if redis.call('exists', stock) == 1 then\n"
+            + "    redis.call('incrby', stock, items[i + 1])\n"
+            + "  end\n"
+            + "end\n"
+            + "redis.call('del', KEYS[1])\n"
+            + "redis.call('zrem', KEYS[3], ARGV[1])\n"
+            + "return #items / 2", Long.class);
+
+    // KEYS: stock:{id}, reserved, sold, applying, applying:seq / ARGV: id, DB 수량, DB 를 읽기 전 seq, 반영 여부
+    // DB 수량에 이미 빠진 판매 수량(반영 여부 1)은 applying 에 남아 있어도 다시 빼지 않는다.
+    // DB 를 읽은 뒤 applying 이 바뀌었으면 두 값이 맞지 않으므로 -1 (다시 읽기)
+    private static final RedisScript<Long> SEED = new DefaultRedisScript<>(
+        "if redis.call('exists', KEYS[1]) == 1 then return 0 end\n"
+            + "if (redis.call('get', KEYS[5]) or '0') ~= ARGV[3] then return -1 end\n"
+            + "local used = 0\n"
+            + "for i = 2, 3 do\n"
+            + "  used = used + tonumber(redis.call('hget', KEYS[i], ARGV[1]) or 0)\n"
+            + "end\n"
+            + "if ARGV[4] == '0' then\n"
+            + "  used = used + tonumber(redis.call('hget', KEYS[4], ARGV[1]) or 0)\n"
+            + "end\n"
+            + "redis.call('set', KEYS[1], tonumber(ARGV[2]) - used)\n"
+            + "return 1", Long.class);
+
+    // KEYS: sold, applying, applying:id, applying:seq / ARGV: 새 batch id
+    // 이전에 반영하지 못한 수량이 남아 있으면 그것부터 같은 batch id 로 다시 반영한다. {batch id, (id, 수량)...}
+    private static final RedisScript<List> DRAIN = new DefaultRedisScript<>(
+        "if redis.call('exists', KEYS[2]) == 0 then\n"
+            + "  if redis.call('exists', KEYS[1]) == 0 then return {} end\n"
+            + "  redis.call('rename', KEYS[1], KEYS[2])\n"
+            + "  redis.call('set', KEYS[3], ARGV[1])\n"
+            + "  redis.call('incr', KEYS[4])\n"
+            + "end\n"
+            + "local id = redis.call('get', KEYS[3])\n"
+            + "if not id then\n"
+            + "  id = ARGV[1]\n"
+            + "  redis.call('set', KEYS[3], id)\n"
+            + "end\n"
+            + "local result = redis.call('hgetall', KEYS[2])\n"
+            + "table.insert(result, 1, id)\n"
+            + "return result", List.class);
+
+    // KEYS: applying, applying:id, applying:seq / ARGV: 반영한 옵션 id...
+    private static final RedisScript<Long> APPLIED = new DefaultRedisScript<>(
+        "redis.call('hdel', KEYS[1], unpack(ARGV))\n"
+            + "if redis.call('exists', KEYS[1]) == 0 then redis.call('del', KEYS[2]) end\n"
+            + "return redis.call('incr', KEYS[3])", Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductItemRepository productItemRepository;
+
+    @Value(value = "${inventory.reservation.enabled:false}")
+    private boolean enabled;
+
+    // 결제가 끝나지 않은 예약을 되돌리기까지의 시간
+    @Value(value = "${inventory.reservation.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    // 확정 결과를 저장하기 전에 죽은 주문이 다시 확정할 때까지 남겨 두는 시간
+    @Value(value = "${inventory.reservation.committed-ttl-seconds:86400}")
+    private long committedTtlSeconds = 86400;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 옵션 id - 주문 가능 수량
+     */
+    public Map<Long, Integer> getAvailable(Collection<Long> itemIds) {
+        List<Long> ids = new ArrayList<>(itemIds);
+        List<Object> values = redisTemplate.opsForValue().multiGet(stockKeys(ids));
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (values == null || values.get(i) == null) {
+                missing.add(ids.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            seed(missing);
+            values = redisTemplate.opsForValue().multiGet(stockKeys(ids));
+        }
+
+        Map<Long, Integer> available = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object value = values == null ? null : values.get(i);
+            available.put(ids.get(i), value == null ? 0 : Integer.parseInt(value.toString()));
+        }
+        return available;
+    }
+
+    /**
+     * 옵션 id - 주문 수량 만큼 예약하고 예약 id 를 돌려준다. 하나라도 부족하면 아무것도 예약하지 않는다.
+     */
+    public String reserve(Map<Long, Integer> counts) {
+        Map<Long, Integer> sorted = new TreeMap<>(counts);
+        String reservationId = UUID.randomUUID().toString();
+        long expireAt = System.currentTimeMillis() + Duration.ofSeconds(ttlSeconds).toMillis();
+
+        List<String> keys = new ArrayList<>();
+        keys.add(RESERVATION_KEY + reservationId);
+        keys.add(RESERVED_KEY);
+        keys.add(EXPIRY_KEY);
+        keys.addAll(stockKeys(sorted.keySet()));
+        List<Object> args = new ArrayList<>();
+        args.add(reservationId);
+        args.add(String.valueOf(expireAt));
+        args.add(String.valueOf(sorted.size()));
+        sorted.forEach((id, count) -> {
+            args.add(id.toString());
+            args.add(count.toString());
+        });
+
+        // 처음 주문되는 옵션은 카운터를 채운 뒤 한 번 더 시도한다.
+        for (int attempt = 0; attempt < 3; attempt++) {
+            List<?> result = redisTemplate.execute(RESERVE, keys, args.toArray());
+            long status = ((Number) result.get(0)).longValue();
+            if (status == RESERVED) {
+                return reservationId;
+            }
+            if (status == NOT_ENOUGH) {
+                log.info("not enough stock. itemId : {}", result.get(1));
+                break;
+            }
+            seed(result.subList(1, result.size()).stream()
+                .map(id -> ((Number) id).longValue()).collect(Collectors.toList()));
+        }
+        throw new CustomException(ITEM_COUNT_NOT_ENOUGH);
+    }
+
+    /**
+     * 결제가 끝난 예약을 판매로 확정한다. 그 사이 만료되어 되돌려졌다면 false.
+     * 이미 확정한 예약이면 다시 판매로 더하지 않고 true (확정 후 저장 전에 죽어 다시 호출한 경우)
+     */
+    public boolean commit(String reservationId) {
+        Long result = redisTemplate.execute(COMMIT,
+            List.of(RESERVATION_KEY + reservationId, RESERVED_KEY, EXPIRY_KEY, SOLD_KEY,
+                COMMITTED_KEY + reservationId),
+            reservationId, String.valueOf(committedTtlSeconds));
+        return result != null && result == 1;
+    }
+
+    public void release(String reservationId) {
+        redisTemplate.execute(RELEASE,
+            List.of(RESERVATION_KEY + reservationId, RESERVED_KEY, EXPIRY_KEY),
+            reservationId, STOCK_KEY);
+    }
+
+    public Set<Object> findExpired(int limit) {
+        Set<Object> expired = redisTemplate.opsForZSet()
+            .rangeByScore(EXPIRY_KEY, 0, System.currentTimeMillis(), 0, limit);
+        return expired == null ? Collections.emptySet() : expired;
+    }
+
+    /**
+     * 판매자가 수량을 바꾸거나 옵션을 지우면 카운터를 지워 다음 조회 때 DB 에서 다시 채우게 한다.
+     */
+    public void reset(Long itemId) {
+        if (!enabled) {
+            return;
+        }
+        redisTemplate.delete(STOCK_KEY + itemId);
+        if (TransactionHooks.inTransaction()) {
+            TransactionHooks.afterCommit(() -> redisTemplate.delete(STOCK_KEY + itemId));
+        }
+    }
+
+    /**
+     * DB 에 반영할 판매 수량 (옵션 id - 수량). 반영한 뒤 applied 로 지운다.
+     * 다 지우기 전까지는 같은 batch id 로 남은 수량을 다시 돌려준다.
+     */
+    public SoldBatch drainSold() {
+        List<?> result = redisTemplate.execute(DRAIN,
+            List.of(SOLD_KEY, APPLYING_KEY, APPLYING_ID_KEY, APPLYING_SEQ_KEY),
+            UUID.randomUUID().toString());
+        Map<Long, Integer> sold = new LinkedHashMap<>();
+        if (result == null || result.isEmpty()) {
+            return new SoldBatch(null, sold);
+        }
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            sold.put(Long.valueOf(result.get(i).toString()),
+                Integer.valueOf(result.get(i + 1).toString()));
+        }
+        return new SoldBatch(result.get(0).toString(), sold);
+    }
+
+    public void applied(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            redisTemplate.execute(APPLIED,
+                List.of(APPLYING_KEY, APPLYING_ID_KEY, APPLYING_SEQ_KEY),
+                itemIds.stream().map(Object::toString).toArray());
+        }
+    }
+
+    /**
+     * 지금 반영 중인 batch id, 없으면 null
+     */
+    public String getApplyingBatchId() {
+        Object batchId = redisTemplate.opsForValue().get(APPLYING_ID_KEY);
+        return batchId == null ? null : batchId.toString();
+    }
+
+    // 여러 인스턴스 중 하나만 DB 에 반영하도록
+    public boolean tryLock(Duration timeout) {
+        return Boolean.TRUE.equals(
+            redisTemplate.opsForValue().setIfAbsent(RECONCILE_LOCK_KEY, instanceId, timeout));
+    }
+
+    public void unlock() {
+        if (instanceId.equals(redisTemplate.opsForValue().get(RECONCILE_LOCK_KEY))) {
+            redisTemplate.delete(RECONCILE_LOCK_KEY);
+        }
+    }
+
+    private void seed(List<Long> itemIds) {
+        List<Long> pending = itemIds;
+        for (int attempt = 0; attempt < 3 && !pending.isEmpty(); attempt++) {
+            // DB 를 읽는 사이 판매 수량이 반영되면 seq 가 바뀌어 SEED 가 -1 을 돌려준다.
+            List<Object> applying =
+                redisTemplate.opsForValue().multiGet(List.of(APPLYING_SEQ_KEY, APPLYING_ID_KEY));
+            String seq = applying == null || applying.get(0) == null
+                ? "0" : applying.get(0).toString();
+            String batchId = applying == null || applying.get(1) == null
+                ? null : applying.get(1).toString();
+
+            Map<Long, SeedCount> counts = new HashMap<>();
+            for (SeedCount count : productItemRepository.findSeedCounts(pending, batchId)) {
+                counts.put(count.getItemId(), count);
+            }
+            List<Long> stale = new ArrayList<>();
+            for (Long itemId : pending) {
+                // 삭제된 옵션은 0 으로 채운다.
+                SeedCount count = counts.get(itemId);
+                Long result = redisTemplate.execute(SEED,
+                    List.of(STOCK_KEY + itemId, RESERVED_KEY, SOLD_KEY, APPLYING_KEY,
+                        APPLYING_SEQ_KEY),
+                    itemId.toString(), String.valueOf(count == null ? 0 : count.getCount()), seq,
+                    count != null && count.isApplied() ? "1" : "0");
+                if (result != null && result == SEED_STALE) {
+                    stale.add(itemId);
+                }
+            }
+            pending = stale;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SoldBatch {
+
+        private final String id;
+        private final Map<Long, Integer> counts;
+    }
+
+    private List<String> stockKeys(Collection<Long> itemIds) {
+        return itemIds.stream().map(id -> STOCK_KEY + id).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,23 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import com.zerobase.cms.order.domain.model.MailOutbox;
+import com.zerobase.cms.order.domain.repository.MailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class MailOutboxService {
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    /**
+     * 메일을 보내지 않고 outbox 에 저장만 한다. 호출한 트랜잭션이 커밋되어야 발송된다.
+     */
+    @Transactional
+    public void enqueue(SendMailForm form) {
+        mailOutboxRepository.save(MailOutbox.from(form));
+    }
+}
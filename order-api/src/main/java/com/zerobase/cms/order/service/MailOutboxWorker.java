@@ -0,0 +1,163 @@
+package com.zerobase.cms.order.service;
+
+import com.zerobase.cms.order.client.mail.MailSender;
+import com.zerobase.cms.order.domain.model.MailOutbox;
+import com.zerobase.cms.order.domain.model.MailStatus;
+import com.zerobase.cms.order.domain.repository.MailOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * mail_outbox 에 쌓인 메일을 batch-size 만큼 가져가 threads 개의 스레드로 보낸다.
+ * 보낸 메일은 한 번의 update 로 SENT 처리하고, 실패한 메일은 지수 backoff 로 다시 보내다가
+ * max-attempts 를 넘기면 DEAD 로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailOutboxWorker {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSender mailSender;
+
+    @Value(value = "${mail.outbox.threads:4}")
+    private int threads = 4;
+
+    @Value(value = "${mail.outbox.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value(value = "${mail.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value(value = "${mail.outbox.backoff-ms:5000}")
+    private long backoffMs = 5000;
+
+    @Value(value = "${mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs = 3600000;
+
+    // 한 batch 를 기다리는 최대 시간. 넘기면 남은 메일은 취소하고 다시 보낸다. (lease-seconds 보다 짧게)
+    @Value(value = "${mail.outbox.send-timeout-ms:60000}")
+    private long sendTimeoutMs = 60000;
+
+    // 보내는 동안 다른 인스턴스가 가져가지 않도록 미뤄 두는 시간
+    @Value(value = "${mail.outbox.lease-seconds:300}")
+    private long leaseSeconds = 300;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder dead = new LongAdder();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        // 한 번에 batch-size 까지만 넣으므로 큐가 차지 않는다.
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(batchSize), runnable -> {
+                Thread thread = new Thread(runnable, "mail-outbox-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.interval-ms:1000}")
+    public void drain() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = mailOutboxRepository.findDueIds(now, PageRequest.ofSize(batchSize));
+        if (ids.isEmpty()) {
+            return;
+        }
+        String leaseId = UUID.randomUUID().toString();
+        if (mailOutboxRepository.lease(ids, now, now.plusSeconds(leaseSeconds), leaseId) == 0) {
+            return; // 다른 인스턴스가 모두 가져감
+        }
+
+        Map<MailOutbox, Future<?>> sending = new LinkedHashMap<>();
+        for (MailOutbox mail : mailOutboxRepository.findByLeaseId(leaseId)) {
+            sending.put(mail, executor.submit(() -> mailSender.send(mail.toForm())));
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        List<MailOutbox> failed = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Map.Entry<MailOutbox, Future<?>> entry : sending.entrySet()) {
+            MailOutbox mail = entry.getKey();
+            try {
+                entry.getValue().get(Math.max(deadline - System.nanoTime(), 0),
+                    TimeUnit.NANOSECONDS);
+                sentIds.add(mail.getId());
+            } catch (ExecutionException e) {
+                retryLater(mail, e.getCause());
+                failed.add(mail);
+            } catch (TimeoutException e) {
+                // 응답하지 않는 메일 서버에 스레드가 묶이지 않도록 취소하고 나중에 다시 보낸다.
+                entry.getValue().cancel(true);
+                retryLater(mail, e);
+                failed.add(mail);
+            } catch (InterruptedException e) {
+                // 남은 메일은 lease 가 끝나면 다시 가져간다.
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            mailOutboxRepository.markSent(sentIds);
+            sent.add(sentIds.size());
+        }
+        if (!failed.isEmpty()) {
+            mailOutboxRepository.saveAll(failed);
+        }
+    }
+
+    private void retryLater(MailOutbox mail, Throwable cause) {
+        if (mail.getAttempts() + 1 >= maxAttempts) {
+            log.error("mail dead. id : {}, to : {}", mail.getId(), mail.getRecipient(), cause);
+            mail.retry(cause.toString(), null);
+            dead.increment();
+            return;
+        }
+        long delay = Math.min(backoffMs << Math.min(mail.getAttempts(), 20), maxBackoffMs);
+        log.warn("mail send failed. id : {}, attempts : {}", mail.getId(), mail.getAttempts() + 1,
+            cause);
+        mail.retry(cause.toString(), LocalDateTime.now().plusNanos(delay * 1_000_000));
+        retried.increment();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("sent", sent.sum());
+        snapshot.put("retried", retried.sum());
+        snapshot.put("dead", dead.sum());
+        snapshot.put("pending", mailOutboxRepository.countByStatus(MailStatus.PENDING));
+        snapshot.put("dead.total", mailOutboxRepository.countByStatus(MailStatus.DEAD));
+        return snapshot;
+    }
+}
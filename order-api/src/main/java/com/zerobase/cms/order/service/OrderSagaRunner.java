@@ -0,0 +1,317 @@
+package com.zerobase.cms.order.service;
+
+import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
+import static com.zerobase.cms.order.exception.ErrorCode.RESERVATION_EXPIRED;
+
+import com.zerobase.cms.order.client.UserClient;
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import com.zerobase.cms.order.client.user.ChangeBalanceForm;
+import com.zerobase.cms.order.client.user.DebitBalanceForm;
+import com.zerobase.cms.order.domain.model.OrderSaga;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import com.zerobase.cms.order.domain.model.SagaStep;
+import com.zerobase.cms.order.domain.order.OrderDto;
+import com.zerobase.cms.order.domain.order.OrderLineDto;
+import com.zerobase.cms.order.domain.repository.OrderSagaRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import feign.FeignException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * order_saga 에 쌓인 주문을 한 단계씩 진행한다. (SagaStep 참고)
+ * 단계마다 결과를 order_saga 에 저장하므로 중간에 죽어도 다음 실행에서 그 단계부터 이어 간다.
+ * 실패는 지수 backoff 로 재시도하고, max-attempts 를 넘기면 max-backoff-ms 간격으로 계속 재시도하며 error 로그를 남긴다.
+ * 단계마다 다시 실행해도 한 번만 반영되므로 멈춰 두지 않는다. (멈추면 차감한 재고가 그대로 남음)
+ */
+@Slf4j
+@Component
+public class OrderSagaRunner {
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final OrderService orderService;
+    private final InventoryService inventoryService;
+    private final ProductItemService productItemService;
+    private final CartService cartService;
+    private final UserClient userClient;
+    private final MailOutboxService mailOutboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value(value = "${order.saga.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value(value = "${order.saga.max-attempts:10}")
+    private int maxAttempts = 10;
+
+    @Value(value = "${order.saga.backoff-ms:1000}")
+    private long backoffMs = 1000;
+
+    @Value(value = "${order.saga.max-backoff-ms:300000}")
+    private long maxBackoffMs = 300000;
+
+    // user-api 내부 API 키. 고객 토큰을 저장하지 않고 customerId 로 잔액을 바꾼다.
+    @Value(value = "${internal.api-key:}")
+    private String internalApiKey;
+
+    // 한 단계를 처리하는 동안 다른 인스턴스가 가져가지 않도록 미뤄 두는 시간
+    @Value(value = "${order.saga.lease-seconds:60}")
+    private long leaseSeconds = 60;
+
+    // 접수(PENDING)만 하고 이 시간이 지나도록 accept 되지 않은 주문은 지운다.
+    @Value(value = "${order.pending.timeout-ms:300000}")
+    private long pendingTimeoutMs = 300000;
+
+    public OrderSagaRunner(OrderSagaRepository orderSagaRepository, OrderService orderService,
+        InventoryService inventoryService, ProductItemService productItemService,
+        CartService cartService, UserClient userClient, MailOutboxService mailOutboxService,
+        PlatformTransactionManager transactionManager) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.orderService = orderService;
+        this.inventoryService = inventoryService;
+        this.productItemService = productItemService;
+        this.cartService = cartService;
+        this.userClient = userClient;
+        this.mailOutboxService = mailOutboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${order.saga.interval-ms:500}")
+    public void run() {
+        LocalDateTime now = LocalDateTime.now();
+        for (OrderSaga saga : orderSagaRepository.findByNextRunAtLessThanEqualOrderByNextRunAt(
+            now, PageRequest.ofSize(batchSize))) {
+            if (orderSagaRepository.lease(
+                saga.getOrderId(), now, now.plusSeconds(leaseSeconds)) == 0) {
+                continue; // 다른 인스턴스가 가져감
+            }
+            try {
+                advance(saga);
+            } catch (RuntimeException e) {
+                // 실패한 트랜잭션에서 바꾼 값이 남아 있을 수 있어 저장된 상태를 다시 읽는다.
+                orderSagaRepository.findById(saga.getOrderId())
+                    .ifPresent(stored -> retryLater(stored, e));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.pending.sweep-interval-ms:60000}")
+    public void releaseStalePending() {
+        int released = orderService.releaseStalePending(
+            LocalDateTime.now().minusNanos(pendingTimeoutMs * 1_000_000));
+        if (released > 0) {
+            log.warn("released {} stale pending orders", released);
+        }
+    }
+
+    void advance(OrderSaga saga) {
+        OrderDto order = orderService.getOrder(saga.getOrderId());
+        switch (saga.getStep()) {
+            case RESERVE_STOCK:
+                reserveStock(saga, order);
+                break;
+            case DEBIT_BALANCE:
+                debitBalance(saga, order);
+                break;
+            case CONFIRM:
+                confirm(saga, order);
+                break;
+            case RELEASE_STOCK:
+                releaseStock(saga, order);
+                break;
+            case REFUND_BALANCE:
+                refundBalance(saga, order);
+                break;
+            default:
+                saga.setNextRunAt(null);
+                orderSagaRepository.save(saga);
+        }
+    }
+
+    private void reserveStock(OrderSaga saga, OrderDto order) {
+        Map<Long, Integer> counts = getOrderCounts(order);
+        try {
+            if (inventoryService.isEnabled()) {
+                // 저장하기 전에 죽으면 예약은 만료되어 InventoryReconciler 가 되돌린다.
+                saga.setReservationId(inventoryService.reserve(counts));
+                orderSagaRepository.save(saga.moveTo(SagaStep.DEBIT_BALANCE, null));
+            } else {
+                // 차감과 단계 저장을 한 트랜잭션으로 묶어 재시도해도 두 번 차감하지 않는다.
+                transactionTemplate.executeWithoutResult(status -> {
+                    productItemService.decreaseCounts(counts);
+                    orderSagaRepository.save(saga.moveTo(SagaStep.DEBIT_BALANCE, null));
+                });
+            }
+        } catch (CustomException e) {
+            if (e.getErrorCode() != ITEM_COUNT_NOT_ENOUGH) {
+                throw e;
+            }
+            // 차감한 것이 없으므로 되돌릴 것도 없다.
+            fail(saga, e.getMessage());
+        }
+    }
+
+    private void debitBalance(OrderSaga saga, OrderDto order) {
+        checkInternalApiKey();
+        try {
+            // 주문 id 를 키로 보내므로 응답을 받지 못해 다시 보내도 한 번만 차감된다.
+            userClient.debitBalance(internalApiKey, saga.getCustomerId(),
+                "order-" + order.getId(),
+                DebitBalanceForm.builder()
+                    .from("USER")
+                    .message("Order #" + order.getId())
+                    .money(order.getTotalPrice())
+                    .build());
+        } catch (FeignException e) {
+            if (e.status() < 400 || e.status() >= 500) {
+                throw e; // 연결 실패, 5xx 는 재시도
+            }
+            if (isRejectedKey(e)) {
+                throw e; // 설정 오류, 주문 실패로 처리하지 않고 고칠 때까지 재시도
+            }
+            // 잔액 부족 등 다시 보내도 실패할 요청
+            orderSagaRepository.save(saga.moveTo(SagaStep.RELEASE_STOCK, e.getMessage()));
+            return;
+        }
+        orderSagaRepository.save(saga.moveTo(SagaStep.CONFIRM, null));
+    }
+
+    private void confirm(OrderSaga saga, OrderDto order) {
+        if (saga.getReservationId() != null) {
+            if (!inventoryService.commit(saga.getReservationId())) {
+                // 결제하는 사이 예약이 만료되어 재고가 되돌려졌다. 결제를 취소한다.
+                orderSagaRepository.save(saga.moveTo(SagaStep.REFUND_BALANCE,
+                    RESERVATION_EXPIRED.getDetail()));
+                return;
+            }
+            // 확정한 예약은 commit 을 다시 불러도 true 라서, 여기서 저장하기 전에 죽어도 환불하지 않는다.
+            saga.setReservationId(null);
+            orderSagaRepository.save(saga);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.finish(order.getId(), OrderStatus.COMPLETED);
+            orderSagaRepository.save(saga.moveTo(SagaStep.DONE, null));
+            // 메일은 outbox 에 넣기만 하고 MailOutboxWorker 가 보낸다.
+            enqueueOrderResultEmail(order, saga.getEmail());
+        });
+
+        // 주문은 이미 끝났으므로 실패해도 주문에 영향을 주지 않는다.
+        try {
+            Map<Long, Long> productIds = new HashMap<>();
+            order.getLines().forEach(line -> productIds.put(line.getItemId(), line.getProductId()));
+            cartService.removeItems(saga.getCustomerId(), productIds);
+        } catch (RuntimeException e) {
+            log.warn("ordered items not removed from cart. orderId : {}", order.getId(), e);
+        }
+    }
+
+    private void releaseStock(OrderSaga saga, OrderDto order) {
+        if (saga.getReservationId() != null) {
+            inventoryService.release(saga.getReservationId()); // 이미 되돌린 예약이면 아무것도 하지 않음
+            fail(saga, saga.getLastError());
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            productItemService.increaseCounts(getOrderCounts(order));
+            fail(saga, saga.getLastError());
+        });
+    }
+
+    private void refundBalance(OrderSaga saga, OrderDto order) {
+        checkInternalApiKey();
+        // 차감과 같이 주문 id 로 만든 키를 보내므로 다시 보내도 한 번만 환불된다.
+        userClient.creditBalance(internalApiKey, saga.getCustomerId(),
+            "refund-order-" + order.getId(),
+            ChangeBalanceForm.builder()
+                .from("USER")
+                .message("Order Cancel #" + order.getId())
+                .money(order.getTotalPrice())
+                .build());
+        fail(saga, saga.getLastError());
+    }
+
+    private void fail(OrderSaga saga, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderService.finish(saga.getOrderId(), OrderStatus.FAILED);
+            orderSagaRepository.save(saga.moveTo(SagaStep.FAILED, reason));
+        });
+    }
+
+    private void checkInternalApiKey() {
+        if (!hasInternalApiKey()) {
+            throw new IllegalStateException("internal.api-key is not configured");
+        }
+    }
+
+    private boolean hasInternalApiKey() {
+        return internalApiKey != null && !internalApiKey.isEmpty();
+    }
+
+    private boolean isRejectedKey(FeignException e) {
+        return e.status() == 401 || e.status() == 403;
+    }
+
+    private void retryLater(OrderSaga saga, RuntimeException e) {
+        long delay = Math.min(backoffMs << Math.min(saga.getAttempts(), 20), maxBackoffMs);
+        if (e instanceof IllegalStateException && !hasInternalApiKey()
+            || e instanceof FeignException && isRejectedKey((FeignException) e)) {
+            log.error("order saga blocked by internal api key. check internal.api-key."
+                + " orderId : {}, step : {}", saga.getOrderId(), saga.getStep(), e);
+        } else if (saga.getAttempts() + 1 >= maxAttempts) {
+            // 결제 요청이 시간 초과된 경우처럼 결과를 알 수 없는 단계가 있어 자동으로 되돌리지 않고 계속 재시도한다.
+            log.error("order saga keeps failing. orderId : {}, step : {}, attempts : {}",
+                saga.getOrderId(), saga.getStep(), saga.getAttempts() + 1, e);
+        } else {
+            log.warn("order saga retry. orderId : {}, step : {}, attempts : {}",
+                saga.getOrderId(), saga.getStep(), saga.getAttempts() + 1, e);
+        }
+        saga.retry(e.toString(), LocalDateTime.now().plusNanos(delay * 1_000_000));
+        try {
+            orderSagaRepository.save(saga);
+        } catch (RuntimeException saveFailed) {
+            // lease 가 끝나면 다시 가져가므로 저장하지 못해도 멈추지 않는다.
+            log.error("order saga save failed. orderId : {}", saga.getOrderId(), saveFailed);
+        }
+    }
+
+    private Map<Long, Integer> getOrderCounts(OrderDto order) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (OrderLineDto line : order.getLines()) {
+            counts.merge(line.getItemId(), line.getCount(), Integer::sum);
+        }
+        return counts;
+    }
+
+    private void enqueueOrderResultEmail(OrderDto order, String customerEmail) {
+        if (customerEmail == null) {
+            return;
+        }
+        StringBuilder emailContent = new StringBuilder();
+        emailContent.append("Thank you for your order!\n\n");
+        emailContent.append("Order Details:\n");
+
+        for (OrderLineDto line : order.getLines()) {
+            emailContent.append("Product: ").append(line.getProductName()).append("\n");
+            emailContent.append(" - ProductItem: ").append(line.getItemName()).append("\n");
+            emailContent.append("   Price: ").append(line.getPrice()).append("\n");
+            emailContent.append("   Quantity: ").append(line.getCount()).append("\n");
+            emailContent.append("\n");
+        }
+
+        SendMailForm sendMailForm = SendMailForm.builder()
+            .from("test@mailgun.org")
+            .to(customerEmail)
+            .subject("Order Result")
+            .text(emailContent.toString())
+            .build();
+
+        mailOutboxService.enqueue(sendMailForm);
+    }
+}
@@ -0,0 +1,153 @@
+package com.zerobase.cms.order.service;
+
+import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ORDER;
+
+import com.zerobase.cms.order.domain.model.Order;
+import com.zerobase.cms.order.domain.model.OrderLine;
+import com.zerobase.cms.order.domain.model.OrderSaga;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.order.OrderDto;
+import com.zerobase.cms.order.domain.order.OrderLineDto;
+import com.zerobase.cms.order.domain.order.OrderPage;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.repository.OrderLineRepository;
+import com.zerobase.cms.order.domain.repository.OrderRepository;
+import com.zerobase.cms.order.domain.repository.OrderSagaRepository;
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final ProductItemRepository productItemRepository;
+    private final OrderSagaRepository orderSagaRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdempotencyKey(Long customerId, String idempotencyKey) {
+        return orderRepository.findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey);
+    }
+
+    /**
+     * 주문을 접수(PENDING)하고 바로 커밋해 같은 키의 동시 요청이 유니크 인덱스에 걸리게 한다.
+     * 이미 접수된 키면 empty.
+     */
+    public Optional<Long> claim(Long customerId, String idempotencyKey) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            // 유니크 인덱스 위반은 트랜잭션 밖에서 잡아야 rollback-only 로 남지 않는다.
+            return Optional.ofNullable(requiresNew.execute(status ->
+                orderRepository.saveAndFlush(Order.pending(customerId, idempotencyKey)).getId()));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 접수한 주문에 주문 옵션을 저장하고, 재고 차감과 결제를 OrderSagaRunner 에 넘긴다.
+     * 주문과 처리 상태(order_saga)를 한 트랜잭션으로 저장하므로 접수된 주문은 반드시 처리된다.
+     * 호출한 쪽의 트랜잭션과 따로 커밋해, 여기서 실패하면 바로 release 할 수 있게 한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public OrderDto accept(Long orderId, Cart cart, int totalPrice, String email) {
+        Order order = orderRepository.findById(orderId)
+            .orElseThrow(() -> new CustomException(NOT_FOUND_ORDER));
+
+        List<Long> itemIds = new ArrayList<>();
+        cart.getProducts().forEach(product ->
+            product.getItems().forEach(item -> itemIds.add(item.getId())));
+        Map<Long, Long> sellerIds = productItemRepository.findAllById(itemIds).stream()
+            .collect(Collectors.toMap(ProductItem::getId, ProductItem::getSellerId));
+
+        for (Cart.Product product : cart.getProducts()) {
+            for (Cart.ProductItem item : product.getItems()) {
+                order.getLines().add(OrderLine.builder()
+                    .sellerId(sellerIds.get(item.getId()))
+                    .productId(product.getId())
+                    .itemId(item.getId())
+                    .productName(product.getName())
+                    .itemName(item.getName())
+                    .price(item.getPrice())
+                    .count(item.getCount())
+                    .build());
+            }
+        }
+        order.setTotalPrice(totalPrice);
+        order.setStatus(OrderStatus.ACCEPTED);
+        orderSagaRepository.save(OrderSaga.start(orderId, order.getCustomerId(), email));
+
+        return OrderDto.from(orderRepository.saveAndFlush(order));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderDto getOrder(Long orderId) {
+        return OrderDto.from(orderRepository.findById(orderId)
+            .orElseThrow(() -> new CustomException(NOT_FOUND_ORDER)));
+    }
+
+    /**
+     * 처리가 끝난 주문의 상태를 바꾼다. (COMPLETED, FAILED)
+     */
+    @Transactional
+    public void finish(Long orderId, OrderStatus status) {
+        Order order = orderRepository.findById(orderId)
+            .orElseThrow(() -> new CustomException(NOT_FOUND_ORDER));
+        order.setStatus(status);
+    }
+
+    /**
+     * 주문에 실패하면 접수를 지워 같은 키로 다시 주문할 수 있게 한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void release(Long orderId) {
+        orderRepository.deleteById(orderId);
+    }
+
+    /**
+     * accept 전에 죽어 before 이전부터 PENDING 으로 남은 접수를 지운다.
+     * 남겨 두면 같은 키로 다시 요청해도 계속 ORDER_IN_PROGRESS 가 된다.
+     */
+    public int releaseStalePending(LocalDateTime before) {
+        return orderRepository.deleteByStatusAndCreatedAtBefore(OrderStatus.PENDING, before);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPage<OrderDto> getCustomerOrders(Long customerId, Long lastId, int size) {
+        List<OrderDto> orders = orderRepository.findByCustomerIdAndIdLessThanOrderByIdDesc(
+                customerId, cursor(lastId), PageRequest.ofSize(size)).stream()
+            .map(OrderDto::from).collect(Collectors.toList());
+        return OrderPage.of(orders, size, OrderDto::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPage<OrderLineDto> getSellerOrderLines(Long sellerId, Long lastId, int size) {
+        List<OrderLineDto> lines = orderLineRepository.findBySellerIdAndIdLessThanOrderByIdDesc(
+                sellerId, cursor(lastId), PageRequest.ofSize(size)).stream()
+            .map(OrderLineDto::from).collect(Collectors.toList());
+        return OrderPage.of(lines, size, OrderLineDto::getId);
+    }
+
+    private Long cursor(Long lastId) {
+        return lastId == null ? Long.MAX_VALUE : lastId;
+    }
+}
@@ -1,9 +1,11 @@
 package com.zerobase.cms.order.service;
 
+import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ITEM;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 import static com.zerobase.cms.order.exception.ErrorCode.SAME_ITEM_NAME;
 
+import com.zerobase.cms.order.cache.ProductCache;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
@@ -11,6 +13,7 @@ import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
 import com.zerobase.cms.order.domain.repository.ProductItemRepository;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductItemService {
     private final ProductRepository productRepository;
     private final ProductItemRepository productItemRepository;
+    private final ProductCache productCache;
+    private final InventoryService inventoryService;
 
     @Transactional
     public ProductItem getProductItem(Long id) {
@@ -38,6 +43,7 @@ public class ProductItemService {
 
         ProductItem productItem = ProductItem.of(sellerId, form);
         product.getProductItems().add(productItem);
+        productCache.evict(product.getId());
 
         return product;
     }
@@ -50,6 +56,8 @@ public class ProductItemService {
         productItem.setName(form.getName());
         productItem.setCount(form.getCount());
         productItem.setPrice(form.getPrice());
+        evict(productItem);
+        inventoryService.reset(productItem.getId());
 
         return productItem;
     }
@@ -60,5 +68,38 @@ public class ProductItemService {
             .filter(pi -> pi.getSellerId().equals(sellerId))
             .orElseThrow(() -> new CustomException(NOT_FOUND_ITEM));
         productItemRepository.delete(productItem);
+        evict(productItem);
+        inventoryService.reset(productItem.getId());
+    }
+
+    /**
+     * 옵션 id - 주문 수량. 하나라도 재고가 부족하면 예외를 던져 트랜잭션 전체(이미 차감한 옵션 포함)를 롤백한다.
+     */
+    @Transactional
+    public void decreaseCounts(Map<Long, Integer> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        for (boolean decreased : productItemRepository.decreaseCounts(counts)) {
+            if (!decreased) {
+                throw new CustomException(ITEM_COUNT_NOT_ENOUGH);
+            }
+        }
+    }
+
+    /**
+     * 주문이 실패해 decreaseCounts 로 차감했던 재고를 되돌린다.
+     */
+    @Transactional
+    public void increaseCounts(Map<Long, Integer> counts) {
+        if (!counts.isEmpty()) {
+            productItemRepository.increaseCounts(counts);
+        }
+    }
+
+    private void evict(ProductItem productItem) {
+        if (productItem.getProduct() != null) {
+            productCache.evict(productItem.getProduct().getId());
+        }
     }
 }
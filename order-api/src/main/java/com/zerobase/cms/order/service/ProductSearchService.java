@@ -2,10 +2,19 @@ package com.zerobase.cms.order.service;
 
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 
+import com.zerobase.cms.order.cache.ProductCache;
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.ProductItemDto;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +23,7 @@ import org.springframework.stereotype.Service;
 public class ProductSearchService {
 
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
 
     public List<Product> searchByName(String name) {
         return productRepository.searchByName(name);
@@ -27,4 +37,95 @@ public class ProductSearchService {
     public List<Product> getListByProductIds(List<Long> productIds) {
         return productRepository.findAllByIdIn(productIds);
     }
+
+    public ProductDto getProductDto(Long productId) {
+        List<ProductDto> products = getProductDtos(Collections.singletonList(productId));
+        if (products.isEmpty()) {
+            throw new CustomException(NOT_FOUND_PRODUCT);
+        }
+        return products.get(0);
+    }
+
+    /**
+     * 캐시를 사용하면 캐시에 없는 상품/재고만 DB 에서 조회한다. 없는 상품은 결과에서 빠지고, 순서는 보장하지 않는다.
+     */
+    public List<ProductDto> getProductDtos(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!productCache.isEnabled()) {
+            return productRepository.findAllByIdIn(productIds).stream()
+                .map(ProductDto::from).collect(Collectors.toList());
+        }
+
+        List<ProductDto> result = new ArrayList<>(productIds.size());
+        List<Long> infoMisses = new ArrayList<>();
+        List<ProductDto> stockMisses = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductDto info = productCache.getInfo(productId);
+            if (info == null) {
+                infoMisses.add(productId);
+                continue;
+            }
+            Map<Long, Integer> stock = productCache.getStock(productId);
+            if (stock == null) {
+                stockMisses.add(info);
+            } else {
+                result.add(ProductDto.withCount(info, stock));
+            }
+        }
+
+        long epoch = productCache.epoch();
+        if (!infoMisses.isEmpty()) {
+            for (Product product : productRepository.findAllByIdIn(infoMisses)) {
+                ProductDto productDto = ProductDto.from(product);
+                productCache.put(productDto, epoch);
+                result.add(productDto);
+            }
+        }
+        if (!stockMisses.isEmpty()) {
+            // 이름/가격은 캐시에 있으므로 재고 수량만 가볍게 다시 조회한다.
+            Map<Long, Map<Long, Integer>> stocks = new HashMap<>();
+            for (CartRefreshItem row : productRepository.findCartRefreshItems(
+                stockMisses.stream().map(ProductDto::getId).collect(Collectors.toList()))) {
+                Map<Long, Integer> stock =
+                    stocks.computeIfAbsent(row.getProductId(), id -> new HashMap<>());
+                if (row.getItemId() != null) {
+                    stock.put(row.getItemId(), row.getCount());
+                }
+            }
+            for (ProductDto info : stockMisses) {
+                Map<Long, Integer> stock = stocks.get(info.getId());
+                if (stock == null) {
+                    // 그 사이 삭제된 상품
+                    continue;
+                }
+                productCache.putStock(info.getId(), stock, epoch);
+                result.add(ProductDto.withCount(info, stock));
+            }
+        }
+        return result;
+    }
+
+    public List<CartRefreshItem> getCartRefreshItems(List<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!productCache.isEnabled()) {
+            return productRepository.findCartRefreshItems(productIds);
+        }
+
+        List<CartRefreshItem> rows = new ArrayList<>();
+        for (ProductDto product : getProductDtos(productIds)) {
+            if (product.getItems() == null || product.getItems().isEmpty()) {
+                rows.add(new CartRefreshItem(product.getId(), null, null, null, null));
+                continue;
+            }
+            for (ProductItemDto item : product.getItems()) {
+                rows.add(new CartRefreshItem(product.getId(), item.getId(), item.getName(),
+                    item.getPrice(), item.getCount()));
+            }
+        }
+        return rows;
+    }
 }
@@ -3,6 +3,7 @@ package com.zerobase.cms.order.service;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_ITEM;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 
+import com.zerobase.cms.order.cache.ProductCache;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductForm;
@@ -19,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ProductService {
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final InventoryService inventoryService;
 
     @Transactional
     public Product addProduct(Long sellerId, AddProductForm form) {
@@ -31,6 +34,7 @@ public class ProductService {
             .orElseThrow(() -> new CustomException(NOT_FOUND_PRODUCT));
         product.setName(form.getName());
         product.setDescription(form.getDescription());
+        productCache.evict(product.getId());
 
         return product;
     }
@@ -40,6 +44,8 @@ public class ProductService {
         Product product = productRepository.findBySellerIdAndId(sellerId, productId)
             .orElseThrow(() -> new CustomException(NOT_FOUND_PRODUCT));
         productRepository.delete(product);
+        productCache.evict(productId);
+        product.getProductItems().forEach(item -> inventoryService.reset(item.getId()));
     }
 
 }
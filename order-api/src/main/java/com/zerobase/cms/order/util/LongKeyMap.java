@@ -0,0 +1,65 @@
+package com.zerobase.cms.order.util;
+
+/**
+ * long 키를 박싱하지 않는 open addressing(linear probing) 해시맵. 추가와 조회만 지원한다.
+ * 크기를 미리 알고 한 번 채운 뒤 조회만 하는 용도라 삭제, 순회는 없다.
+ */
+public class LongKeyMap<V> {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+    private int size;
+
+    public LongKeyMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 값을 저장하고 이전 값을 돌려준다. 처음 만든 크기보다 많이 넣을 수 없다.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        int index = indexOf(key);
+        V previous = (V) values[index];
+        if (previous == null) {
+            if (size == mask) { // 빈 칸이 하나는 남아 있어야 조회가 끝난다.
+                throw new IllegalStateException("LongKeyMap is full");
+            }
+            size++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        return previous;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[indexOf(key)];
+    }
+
+    public boolean containsKey(long key) {
+        return values[indexOf(key)] != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 키가 있는 칸, 없으면 키가 들어갈 빈 칸
+    private int indexOf(long key) {
+        int index = (int) ((key * PHI) >>> 32) & mask;
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+}
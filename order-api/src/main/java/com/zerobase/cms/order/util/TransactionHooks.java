@@ -0,0 +1,30 @@
+package com.zerobase.cms.order.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    public static boolean inTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive();
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에 실행하고, 트랜잭션 밖이면 바로 실행한다.
+     */
+    public static void afterCommit(Runnable task) {
+        if (!inTransaction()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.zerobase.cms.order.application;
 
+import static com.zerobase.cms.order.exception.ErrorCode.INVALID_CART_ITEM_FORM;
 import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
 import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -7,20 +8,33 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.UpdateCartItemForm;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.metrics.CartMetrics;
 import com.zerobase.cms.order.service.CartService;
+import com.zerobase.cms.order.service.ColdCartService;
+import com.zerobase.cms.order.service.InventoryService;
 import com.zerobase.cms.order.service.ProductSearchService;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,19 +49,28 @@ class CartApplicationTest {
     @Mock
     private ProductSearchService productSearchService;
     private CartService cartService;
+    private CartMetrics cartMetrics;
 
     @Mock
     RedisClient redisClient;
 
+    @Mock
+    ColdCartService coldCartService;
+
+    @Mock
+    InventoryService inventoryService;
+
     @InjectMocks
     private CartApplication cartApplication;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        cartService = new CartService(redisClient);
+        cartService = new CartService(redisClient, coldCartService);
+        cartMetrics = new CartMetrics();
         cartApplication = new CartApplication(productSearchService,
-            cartService);
+            cartService, cartMetrics, inventoryService);
+        when(redisClient.compareAndSet(any(), any(), any())).thenReturn(true);
     }
 
     @Test
@@ -98,10 +121,9 @@ class CartApplicationTest {
         cartItem.setCount(cartCount);
         cartProduct.getItems().add(cartItem);
 
-        when(productSearchService.getByProductId(form.getId()))
-            .thenReturn(sellerProduct);
-        when(cartService.getCart(customerId))
-            .thenReturn(cart);
+        when(productSearchService.getProductDto(form.getId()))
+            .thenReturn(ProductDto.from(sellerProduct));
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
 
         // when
         Cart result = cartApplication.addCart(customerId, form);
@@ -129,7 +151,7 @@ class CartApplicationTest {
             .id(productId)
             .build();
 
-        when(productSearchService.getByProductId(productId))
+        when(productSearchService.getProductDto(productId))
             .thenReturn(null);
         // when/then
         CustomException exception = assertThrows(CustomException.class,
@@ -184,9 +206,9 @@ class CartApplicationTest {
         cartItem.setCount(cartCount);
         cartProduct.getItems().add(cartItem);
 
-        when(productSearchService.getByProductId(productId)).thenReturn(
-            sellerProduct);
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(productSearchService.getProductDto(productId)).thenReturn(
+            ProductDto.from(sellerProduct));
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
 
         // when/then
         CustomException exception = assertThrows(CustomException.class,
@@ -196,6 +218,50 @@ class CartApplicationTest {
             form.getItems().get(0).getCount() + cartCount);
     }
 
+    @Test
+    @DisplayName("addCart - Redis 재고 카운터 기준으로 수량 확인")
+    void testAddCart_ItemCountNotEnough_Inventory() {
+        // given
+        Long customerId = 1L;
+        Long productId = 100L;
+
+        AddProductCartForm form = AddProductCartForm.builder()
+            .id(productId)
+            .name("Product 1")
+            .items(Collections.singletonList(
+                AddProductCartForm.ProductItem.builder()
+                    .id(1L)
+                    .name("Item 1")
+                    .price(10000)
+                    .count(3)
+                    .build()
+            ))
+            .build();
+
+        Product sellerProduct = Product.builder()
+            .id(productId)
+            .name("Product 1")
+            .build();
+        ProductItem productItem = new ProductItem();
+        productItem.setId(1L);
+        productItem.setName("Item 1");
+        productItem.setPrice(10000);
+        productItem.setCount(10);
+        sellerProduct.setProductItems(Collections.singletonList(productItem));
+
+        when(productSearchService.getProductDto(productId)).thenReturn(
+            ProductDto.from(sellerProduct));
+        when(redisClient.get(customerId, Cart.class)).thenReturn(null);
+        // DB 수량은 10 이지만 예약 중인 수량을 빼면 2 개만 남음
+        when(inventoryService.isEnabled()).thenReturn(true);
+        when(inventoryService.getAvailable(List.of(1L))).thenReturn(Map.of(1L, 2));
+
+        // when/then
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cartApplication.addCart(customerId, form));
+        assertEquals(ITEM_COUNT_NOT_ENOUGH, exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("getCart - Product Removed")
     void testGetCart_ProductRemoved() {
@@ -209,7 +275,7 @@ class CartApplicationTest {
         cartProduct.setName("Product 1");
         cart.getProducts().add(cartProduct);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
         // when
         Cart result = cartApplication.getCart(customerId);
 
@@ -239,7 +305,7 @@ class CartApplicationTest {
         cartProduct.getItems().add(cartProductItem);
         cart.getProducts().add(cartProduct);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
 
         Product product = new Product();
         product.setId(1L);
@@ -248,7 +314,7 @@ class CartApplicationTest {
         when(productSearchService.getByProductId(cartProduct.getId())).thenReturn(product);
         List<Product> productList = new ArrayList<>();
         productList.add(product);
-        when(productSearchService.getListByProductIds(anyList())).thenReturn(productList);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(productList));
 
         // when
         Cart result = cartApplication.getCart(customerId);
@@ -296,10 +362,10 @@ class CartApplicationTest {
         item.setCount(3);
         product.getProductItems().add(item);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
         List<Product> productList = new ArrayList<>();
         productList.add(product);
-        when(productSearchService.getListByProductIds(anyList())).thenReturn(productList);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(productList));
         when(productSearchService.getByProductId(cartProduct.getId())).thenReturn(product);
 
         // when
@@ -342,10 +408,10 @@ class CartApplicationTest {
         item.setCount(3);
         product.getProductItems().add(item);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
         List<Product> productList = new ArrayList<>();
         productList.add(product);
-        when(productSearchService.getListByProductIds(anyList())).thenReturn(productList);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(productList));
         when(productSearchService.getByProductId(cartProduct.getId())).thenReturn(product);
 
         // when
@@ -358,6 +424,8 @@ class CartApplicationTest {
         assertEquals(20000,result.getProducts().get(0).getItems().get(0).getPrice());
         assertEquals(1, result.getMessages().size());
         assertTrue(result.getMessages().get(0).contains("Option 1 가격이 변동되었습니다."));
+        verify(redisClient, times(1)).compareAndSet(any(), any(), any());
+        assertEquals(1, cartMetrics.getViewWrites());
     }
 
     @Test
@@ -389,10 +457,10 @@ class CartApplicationTest {
         item.setCount(5);
         product.getProductItems().add(item);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
         List<Product> productList = new ArrayList<>();
         productList.add(product);
-        when(productSearchService.getListByProductIds(anyList())).thenReturn(productList);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(productList));
         when(productSearchService.getByProductId(cartProduct.getId())).thenReturn(product);
 
         // when
@@ -439,10 +507,10 @@ class CartApplicationTest {
         item.setCount(3);
         product.getProductItems().add(item);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
         List<Product> productList = new ArrayList<>();
         productList.add(product);
-        when(productSearchService.getListByProductIds(anyList())).thenReturn(productList);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(productList));
         when(productSearchService.getByProductId(cartProduct.getId())).thenReturn(product);
 
         // when
@@ -489,10 +557,10 @@ class CartApplicationTest {
         item.setCount(10);
         product.getProductItems().add(item);
 
-        when(cartService.getCart(customerId)).thenReturn(cart);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
         List<Product> productList = new ArrayList<>();
         productList.add(product);
-        when(productSearchService.getListByProductIds(anyList())).thenReturn(productList);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(productList));
         when(productSearchService.getByProductId(cartProduct.getId())).thenReturn(product);
 
         // when
@@ -503,5 +571,141 @@ class CartApplicationTest {
         assertNotNull(result);
         assertEquals(result, cart);
         assertEquals(0, result.getMessages().size());
+        verify(redisClient, never()).compareAndSet(any(), any(), any());
+        assertEquals(1, cartMetrics.getViewWriteSkips());
+    }
+
+    @Test
+    @DisplayName("getCart - 저장 충돌 시 최신 장바구니에서 돌려준 메시지만 지우고 저장")
+    void testGetCart_Conflict() {
+        // given
+        Long customerId = 1L;
+        Cart cart = deletedProductCart(customerId, "m1");
+        Cart latest = deletedProductCart(customerId, "m1", "m2");
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart, latest);
+        when(redisClient.compareAndSet(any(), any(), any())).thenReturn(false, true);
+
+        // when
+        Cart result = cartApplication.getCart(customerId);
+
+        // then
+        assertEquals(List.of("m1", "Product 1 상품이 삭제되었습니다."), result.getMessages());
+        verify(redisClient).compareAndSet(eq(customerId),
+            argThat(saved -> saved.getMessages().equals(List.of("m2"))), eq(1L));
+        assertEquals(1, cartMetrics.getViewWrites());
+    }
+
+    @Test
+    @DisplayName("getCart - 끝내 저장하지 못하면 메시지를 남겨 두고 다음 조회 때 돌려줌")
+    void testGetCart_ConflictNotWritten() {
+        // given
+        Long customerId = 1L;
+        when(redisClient.get(customerId, Cart.class))
+            .thenAnswer(invocation -> deletedProductCart(customerId, "m1"));
+        when(redisClient.compareAndSet(any(), any(), any())).thenReturn(false);
+
+        // when
+        Cart result = cartApplication.getCart(customerId);
+
+        // then
+        assertTrue(result.getMessages().isEmpty());
+        assertEquals(0, cartMetrics.getViewWrites());
+    }
+
+    private Cart deletedProductCart(Long customerId, String... messages) {
+        Cart cart = new Cart();
+        cart.setCustomerId(customerId);
+        cart.setVersion(1L);
+        Cart.Product cartProduct = new Cart.Product();
+        cartProduct.setId(1L);
+        cartProduct.setName("Product 1");
+        cart.getProducts().add(cartProduct);
+        cart.getMessages().addAll(List.of(messages));
+        return cart;
+    }
+
+    @Test
+    @DisplayName("updateCartItem - 수량이 없으면 INVALID_CART_ITEM_FORM")
+    void testUpdateCartItem_NoCount() {
+        // given
+        UpdateCartItemForm form = UpdateCartItemForm.builder()
+            .productId(100L).itemId(200L).build();
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cartApplication.updateCartItem(1L, form));
+
+        // then
+        assertEquals(INVALID_CART_ITEM_FORM, exception.getErrorCode());
+        verify(redisClient, never()).get(any(), any());
+    }
+
+    @Test
+    @DisplayName("refreshCart - 여러 옵션 변동은 한 메시지로")
+    void testRefreshCart_MultipleChanges() {
+        // given
+        Cart cart = createCart(1, 3);
+        Product product = createProduct(0, 3);
+        product.getProductItems().remove(0);
+        product.getProductItems().get(0).setPrice(99999);
+        when(productSearchService.getCartRefreshItems(anyList())).thenReturn(refreshItems(List.of(product)));
+
+        // when
+        Cart result = cartApplication.refreshCart(cart);
+
+        // then
+        assertEquals(2, result.getProducts().get(0).getItems().size());
+        assertEquals(List.of("Product 0 상품의 변동 사항 : "
+                + "Option 0 옵션이 삭제되었습니다., Option 1 가격이 변동되었습니다."),
+            result.getMessages());
+        assertTrue(result.isDirty());
+    }
+
+    private List<CartRefreshItem> refreshItems(List<Product> products) {
+        List<CartRefreshItem> rows = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getProductItems().isEmpty()) {
+                rows.add(new CartRefreshItem(product.getId(), null, null, null, null));
+            }
+            for (ProductItem item : product.getProductItems()) {
+                rows.add(new CartRefreshItem(product.getId(),
+                    item.getId(), item.getName(), item.getPrice(), item.getCount()));
+            }
+        }
+        return rows;
+    }
+
+    private Cart createCart(int productCount, int itemCount) {
+        Cart cart = new Cart(1L);
+        for (int i = 0; i < productCount; i++) {
+            Cart.Product cartProduct = new Cart.Product();
+            cartProduct.setId((long) i);
+            cartProduct.setName("Product " + i);
+            for (int j = 0; j < itemCount; j++) {
+                Cart.ProductItem cartProductItem = new Cart.ProductItem();
+                cartProductItem.setId(i * 1000L + j);
+                cartProductItem.setName("Option " + j);
+                cartProductItem.setPrice(10000);
+                cartProductItem.setCount(1);
+                cartProduct.getItems().add(cartProductItem);
+            }
+            cart.getProducts().add(cartProduct);
+        }
+        return cart;
+    }
+
+    private Product createProduct(int index, int itemCount) {
+        Product product = new Product();
+        product.setId((long) index);
+        product.setName("Product " + index);
+        for (int j = 0; j < itemCount; j++) {
+            ProductItem item = new ProductItem();
+            item.setId(index * 1000L + j);
+            item.setName("Option " + j);
+            item.setPrice(10000);
+            item.setCount(10);
+            product.getProductItems().add(item);
+        }
+        return product;
     }
-}
\ No newline at end of file
+}
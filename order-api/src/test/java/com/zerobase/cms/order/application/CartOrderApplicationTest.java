@@ -1,24 +1,25 @@
 package com.zerobase.cms.order.application;
 
 import static com.zerobase.cms.order.exception.ErrorCode.ORDER_FAIL_CHECK_CART;
-import static com.zerobase.cms.order.exception.ErrorCode.ORDER_FAIL_NOT_ENOUGH_MONEY;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static com.zerobase.cms.order.exception.ErrorCode.ORDER_IN_PROGRESS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.zerobase.cms.order.client.UserClient;
-import com.zerobase.cms.order.client.user.CustomerDto;
-import com.zerobase.cms.order.domain.model.Product;
-import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import com.zerobase.cms.order.domain.model.Order;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import com.zerobase.cms.order.domain.order.OrderDto;
 import com.zerobase.cms.order.domain.redis.Cart;
 import com.zerobase.cms.order.exception.CustomException;
-import com.zerobase.cms.order.service.ProductItemService;
+import com.zerobase.cms.order.service.OrderService;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,7 +27,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.http.ResponseEntity;
 
 @SpringBootTest
 class CartOrderApplicationTest {
@@ -34,83 +34,43 @@ class CartOrderApplicationTest {
     @Mock
     private CartApplication cartApplication;
     @Mock
-    private UserClient userClient;
-    @Mock
-    private ProductItemService productItemService;
+    private OrderService orderService;
 
     @InjectMocks
     private CartOrderApplication cartOrderApplication;
 
+    private final UserVo user = new UserVo(1L, "customer@test.com");
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        cartOrderApplication = new CartOrderApplication(cartApplication, userClient, productItemService);
+        cartOrderApplication = new CartOrderApplication(cartApplication, orderService);
+        when(orderService.claim(any(), any())).thenReturn(Optional.of(1L));
     }
 
     @Test
-    @DisplayName("order-success")
+    @DisplayName("order-success_접수만 하고 결제는 OrderSagaRunner 에 넘김")
     void order_SuccessfulOrder() {
-        // when
-        String token = "test-token";
-        Long sellerId = 2L;
-
-        Product product1 = new Product();
-        product1.setId(1L);
-        product1.setName("Product 1");
-        product1.setSellerId(sellerId);
-        product1.setDescription("Happy Shopping!");
-        ProductItem item1 = new ProductItem();
-        item1.setId(10L);
-        item1.setName("Option 1");
-        item1.setPrice(1000);
-        item1.setCount(10);
-        product1.getProductItems().add(item1);
-        int orderBeforeCount = item1.getCount();
-
-        Long customerId = 1L;
-        Cart cart = new Cart();
-        cart.setCustomerId(customerId);
-        Cart.Product cartProduct = new Cart.Product();
-        cartProduct.setId(1L);
-        cartProduct.setName("Product 1");
-        Cart.ProductItem cartProductItem = new Cart.ProductItem();
-        cartProductItem.setId(10L);
-        cartProductItem.setName("Option 1");
-        cartProductItem.setPrice(1000);
-        cartProductItem.setCount(6);
-        cartProduct.getItems().add(cartProductItem);
-        cart.getProducts().add(cartProduct);
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.setId(1L);
-        customerDto.setBalance(10000);
-
+        // given
+        Cart cart = orderCart();
+        OrderDto accepted = OrderDto.builder().id(1L).status(OrderStatus.ACCEPTED).build();
         when(cartApplication.refreshCart(cart)).thenReturn(cart);
-        when(userClient.getCustomerInfo(token)).thenReturn(ResponseEntity.ok(customerDto));
-        when(productItemService.getProductItem(cartProductItem.getId())).thenReturn(item1);
+        when(orderService.accept(1L, cart, 6000, "customer@test.com")).thenReturn(accepted);
 
         // when
-        cartOrderApplication.order(token, cart);
+        OrderDto result = cartOrderApplication.order(user, cart, null);
         int totalPrice = calculateTotalPrice(cart);
-        int orderAfterCount = item1.getCount();
 
         // then
-        verify(userClient).changeBalance(eq(token), argThat(form ->
-            form.getFrom().equals("USER") &&
-                form.getMessage().equals("Order") &&
-                form.getMoney() == -totalPrice // totalPrice: (6 * 1000) = 6000
-        ));
-
-        assertDoesNotThrow(() -> cartOrderApplication.order(token, cart));
-        assertEquals(orderAfterCount, orderBeforeCount - cartProductItem.getCount());
+        assertEquals(OrderStatus.ACCEPTED, result.getStatus());
         assertEquals(6000, totalPrice);
-
+        verify(orderService).accept(eq(1L), eq(cart), eq(totalPrice), any());
     }
 
     @Test
     @DisplayName("order-fail_주문 상품 정보 변경됨")
     void order_error_refreshCart() {
         //given
-        String token = "test-token";
         Long customerId = 1L;
         Cart cart = new Cart();
         cart.setCustomerId(customerId);
@@ -142,7 +102,7 @@ class CartOrderApplicationTest {
         when(cartApplication.refreshCart(cart)).thenReturn(orderCart);
         //when
         CustomException exception = assertThrows(CustomException.class,
-            () -> cartOrderApplication.order(token, cart));
+            () -> cartOrderApplication.order(user, cart, null));
 
         //then
         assertEquals(ORDER_FAIL_CHECK_CART, exception.getErrorCode());
@@ -150,13 +110,62 @@ class CartOrderApplicationTest {
     }
 
     @Test
-    @DisplayName("order-fail_결제 금액 부족")
-    void order_Not_enough_balance() {
+    @DisplayName("order-fail_접수 저장에 실패하면 접수를 지움")
+    void order_AcceptFail() {
         //given
-        String token = "test-token";
-        Long customerId = 1L;
+        Cart cart = orderCart();
+        when(cartApplication.refreshCart(cart)).thenReturn(cart);
+        when(orderService.accept(any(), any(), anyInt(), any()))
+            .thenThrow(new RuntimeException());
+
+        //when
+        assertThrows(RuntimeException.class,
+            () -> cartOrderApplication.order(user, cart, "key"));
+
+        //then
+        // 같은 키로 다시 주문할 수 있게 함
+        verify(orderService).release(1L);
+    }
+
+    @Test
+    @DisplayName("order-같은 Idempotency-Key 로 다시 요청하면 결제하지 않고 처음 주문을 돌려줌")
+    void order_Idempotent() {
+        //given
+        Order order = Order.pending(1L, "key");
+        order.setId(7L);
+        order.setStatus(OrderStatus.COMPLETED);
+        order.setTotalPrice(6000);
+        when(orderService.findByIdempotencyKey(1L, "key")).thenReturn(Optional.of(order));
+
+        //when
+        OrderDto result = cartOrderApplication.order(user, orderCart(), "key");
+
+        //then
+        assertEquals(7L, result.getId());
+        verify(cartApplication, never()).refreshCart(any());
+        verify(orderService, never()).accept(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("order-fail_같은 키의 주문이 처리 중")
+    void order_InProgress() {
+        //given
+        Cart cart = orderCart();
+        when(cartApplication.refreshCart(cart)).thenReturn(cart);
+        when(orderService.claim(1L, "key")).thenReturn(Optional.empty());
+
+        //when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cartOrderApplication.order(user, cart, "key"));
+
+        //then
+        assertEquals(ORDER_IN_PROGRESS, exception.getErrorCode());
+        verify(orderService, never()).accept(any(), any(), anyInt(), any());
+    }
+
+    private Cart orderCart() {
         Cart cart = new Cart();
-        cart.setCustomerId(customerId);
+        cart.setCustomerId(1L);
         Cart.Product cartProduct = new Cart.Product();
         cartProduct.setId(1L);
         cartProduct.setName("Product 1");
@@ -167,21 +176,7 @@ class CartOrderApplicationTest {
         cartProductItem.setCount(6);
         cartProduct.getItems().add(cartProductItem);
         cart.getProducts().add(cartProduct);
-
-        CustomerDto customerDto = new CustomerDto();
-        customerDto.setId(1L);
-        customerDto.setBalance(3000);
-
-        when(cartApplication.refreshCart(cart)).thenReturn(cart);
-        when(userClient.getCustomerInfo(token)).thenReturn(ResponseEntity.ok(customerDto));
-
-        //when
-        CustomException exception = assertThrows(CustomException.class,
-            () -> cartOrderApplication.order(token, cart));
-        int totalPrice = calculateTotalPrice(cart);
-        //then
-        assertTrue(totalPrice > customerDto.getBalance());
-        assertEquals(ORDER_FAIL_NOT_ENOUGH_MONEY, exception.getErrorCode());
+        return cart;
     }
 
     private int calculateTotalPrice(Cart cart) {
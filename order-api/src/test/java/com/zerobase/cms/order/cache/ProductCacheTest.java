@@ -0,0 +1,126 @@
+package com.zerobase.cms.order.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.ProductItemDto;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ProductCacheTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private ProductCache productCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        productCache = new ProductCache(redisTemplate);
+        ReflectionTestUtils.setField(productCache, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("product cache - 이름/가격과 재고를 나눠 보관, hit/miss 집계")
+    void putAndGet() {
+        // given
+        assertNull(productCache.getInfo(1L));
+
+        // when
+        productCache.put(product(1L, 3), productCache.epoch());
+
+        // then
+        ProductDto info = productCache.getInfo(1L);
+        assertEquals("나이키 운동화", info.getName());
+        assertNull(info.getItems().get(0).getCount());
+        assertEquals(Map.of(10L, 3), productCache.getStock(1L));
+
+        Map<String, Object> snapshot = productCache.snapshot();
+        assertEquals(1L, snapshot.get("local.info.hit"));
+        assertEquals(1L, snapshot.get("local.info.miss"));
+        assertEquals(1L, snapshot.get("local.stock.hit"));
+    }
+
+    @Test
+    @DisplayName("product cache - 재고는 이름/가격보다 먼저 만료")
+    void stockExpiresFirst() {
+        ReflectionTestUtils.setField(productCache, "stockTtlSeconds", -1L);
+        productCache.put(product(1L, 3), productCache.epoch());
+
+        assertNotNull(productCache.getInfo(1L));
+        assertNull(productCache.getStock(1L));
+    }
+
+    @Test
+    @DisplayName("product cache - 읽는 사이 무효화되면 캐시하지 않음")
+    void skipPutAfterInvalidate() {
+        long epoch = productCache.epoch();
+        productCache.evict(1L);
+
+        productCache.put(product(1L, 3), epoch);
+
+        assertNull(productCache.getInfo(1L));
+        verify(redisTemplate).convertAndSend(eq(ProductCache.CHANNEL), any());
+    }
+
+    @Test
+    @DisplayName("product cache - 다른 인스턴스의 메시지로 무효화")
+    void invalidateByMessage() {
+        productCache.put(product(1L, 3), productCache.epoch());
+
+        productCache.onMessage(new DefaultMessage(
+            ProductCache.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "other-instance:1".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNull(productCache.getInfo(1L));
+        assertNull(productCache.getStock(1L));
+        assertEquals(1L, productCache.snapshot().get("invalidation"));
+    }
+
+    @Test
+    @DisplayName("product cache - 로컬에 없으면 Redis 에서 읽어 로컬에 보관")
+    void redisTier() {
+        // given
+        ReflectionTestUtils.setField(productCache, "redisEnabled", true);
+        when(valueOperations.get("product:stock:1")).thenReturn("{\"10\":4}");
+
+        // when
+        Map<Long, Integer> first = productCache.getStock(1L);
+        Map<Long, Integer> second = productCache.getStock(1L);
+
+        // then
+        assertEquals(Map.of(10L, 4), first);
+        assertEquals(first, second);
+        Map<String, Object> snapshot = productCache.snapshot();
+        assertEquals(1L, snapshot.get("redis.stock.hit"));
+        assertEquals(1L, snapshot.get("local.stock.hit"));
+        assertEquals(1L, snapshot.get("local.stock.miss"));
+    }
+
+    private ProductDto product(Long productId, int count) {
+        return ProductDto.builder()
+            .id(productId)
+            .name("나이키 운동화")
+            .items(List.of(ProductItemDto.builder()
+                .id(10L).name("260").price(10000).count(count).build()))
+            .build();
+    }
+}
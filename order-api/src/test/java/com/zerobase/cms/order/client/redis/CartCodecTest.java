@@ -0,0 +1,123 @@
+package com.zerobase.cms.order.client.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CartCodecTest {
+
+    private final BinaryCartCodec binaryCodec = new BinaryCartCodec();
+    private final JsonCartCodec jsonCodec = new JsonCartCodec();
+
+    @Test
+    @DisplayName("binary - encode/decode")
+    void binaryRoundTrip() {
+        // given
+        Cart cart = createCart(3, 2);
+        cart.getProducts().get(0).setSellerId(null);
+        cart.getProducts().get(0).getItems().get(0).setCount(null);
+        cart.addMessage("Product 0 상품이 삭제되었습니다.");
+
+        // when
+        byte[] encoded = binaryCodec.encode(cart);
+        Cart result = binaryCodec.decode(encoded);
+
+        // then
+        assertTrue(binaryCodec.supports(encoded));
+        assertFalse(jsonCodec.supports(encoded));
+        assertEquals(cart, result);
+        assertNull(result.getProducts().get(0).getSellerId());
+        assertNull(result.getProducts().get(0).getItems().get(0).getCount());
+    }
+
+    @Test
+    @DisplayName("binary - empty cart")
+    void binaryEmptyCart() {
+        Cart cart = new Cart();
+
+        assertEquals(cart, binaryCodec.decode(binaryCodec.encode(cart)));
+    }
+
+    @Test
+    @DisplayName("binary - 장바구니 버전 저장, VERSION 1 값 읽기")
+    void binaryCartVersion() {
+        // given
+        Cart cart = createCart(1, 1);
+        cart.setVersion(7L);
+        byte[] withoutVersion = binaryCodec.encode(createCart(1, 1));
+        withoutVersion[1] = 1;
+
+        // when
+        Cart result = binaryCodec.decode(binaryCodec.encode(cart));
+        Cart legacy = binaryCodec.decode(withoutVersion);
+
+        // then
+        assertEquals(7L, result.getVersion());
+        assertNull(legacy.getVersion());
+        assertEquals(createCart(1, 1), legacy);
+    }
+
+    @Test
+    @DisplayName("versioned - 기존 JSON 값 읽기")
+    void readLegacyJson() {
+        // given
+        Cart cart = createCart(2, 2);
+        byte[] legacy = jsonCodec.encode(cart);
+        VersionedCartCodec codec = VersionedCartCodec.of("binary");
+
+        // when
+        Cart result = codec.decode(legacy);
+
+        // then
+        assertEquals(cart, result);
+        assertFalse(codec.isCurrent(legacy));
+        assertTrue(codec.isCurrent(codec.encode(result)));
+    }
+
+    @Test
+    @DisplayName("versioned - json 설정이면 JSON 으로 저장")
+    void writeJsonWhenConfigured() {
+        VersionedCartCodec codec = VersionedCartCodec.of("json");
+        byte[] encoded = codec.encode(createCart(1, 1));
+
+        assertTrue(new String(encoded, StandardCharsets.UTF_8).startsWith("{"));
+        assertTrue(codec.isCurrent(encoded));
+    }
+
+    @Test
+    @DisplayName("binary - JSON 보다 작게 저장 (속도는 CartCodecBenchmark)")
+    void smallerThanJson() {
+        for (int items : new int[]{10, 100, 1000}) {
+            Cart cart = createCart(items / 10, 10);
+
+            assertTrue(binaryCodec.encode(cart).length < jsonCodec.encode(cart).length);
+        }
+    }
+
+    private Cart createCart(int productCount, int itemCount) {
+        Cart cart = new Cart(1L);
+        for (int i = 0; i < productCount; i++) {
+            Cart.Product product = new Cart.Product();
+            product.setId((long) i);
+            product.setSellerId(2L);
+            product.setName("Product " + i);
+            product.setDescription("Happy Shopping!");
+            for (int j = 0; j < itemCount; j++) {
+                Cart.ProductItem item = new Cart.ProductItem();
+                item.setId(i * 1000L + j);
+                item.setName("Option " + j);
+                item.setPrice(10000 + j);
+                item.setCount(j + 1);
+                product.getItems().add(item);
+            }
+            cart.getProducts().add(product);
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,110 @@
+package com.zerobase.cms.order.client.redis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CartNearCacheTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private CartNearCache nearCache;
+
+    private final byte[] value = {1, 2, 3};
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        redisTemplate = mock(RedisTemplate.class);
+        nearCache = new CartNearCache(redisTemplate);
+        ReflectionTestUtils.setField(nearCache, "enabled", true);
+        ReflectionTestUtils.setField(nearCache, "maxSize", 2);
+    }
+
+    @Test
+    @DisplayName("near-cache - 읽은 값 캐시, hit/miss 집계")
+    void loadAndHit() {
+        // given
+        assertNull(nearCache.get(1L));
+
+        // when
+        nearCache.loaded(1L, value, nearCache.epoch(1L), 1_000_000);
+
+        // then
+        assertArrayEquals(value, nearCache.get(1L));
+        Map<String, Object> snapshot = nearCache.snapshot();
+        assertEquals(1L, snapshot.get("hit"));
+        assertEquals(1L, snapshot.get("miss"));
+        assertEquals(0.5, snapshot.get("hit-ratio"));
+    }
+
+    @Test
+    @DisplayName("near-cache - 읽는 사이 무효화되면 캐시하지 않음")
+    void skipLoadAfterInvalidate() {
+        long epoch = nearCache.epoch(1L);
+        nearCache.invalidate(1L);
+
+        nearCache.loaded(1L, value, epoch, 0);
+
+        assertNull(nearCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("near-cache - 최대 개수를 넘으면 오래 사용하지 않은 것부터 제거")
+    void evictLeastRecentlyUsed() {
+        nearCache.loaded(1L, value, nearCache.epoch(1L), 0);
+        nearCache.loaded(2L, value, nearCache.epoch(2L), 0);
+        nearCache.get(1L);
+
+        nearCache.loaded(3L, value, nearCache.epoch(3L), 0);
+
+        assertNull(nearCache.get(2L));
+        assertArrayEquals(value, nearCache.get(1L));
+        assertEquals(1L, nearCache.snapshot().get("eviction"));
+    }
+
+    @Test
+    @DisplayName("near-cache - 만료 시간이 지나면 제거")
+    void expire() {
+        ReflectionTestUtils.setField(nearCache, "ttlMillis", -1L);
+        nearCache.loaded(1L, value, nearCache.epoch(1L), 0);
+
+        assertNull(nearCache.get(1L));
+        assertEquals(1L, nearCache.snapshot().get("expiration"));
+    }
+
+    @Test
+    @DisplayName("near-cache - 저장하면 다른 인스턴스에 알리고, 다른 인스턴스의 메시지로 무효화")
+    void invalidateByMessage() {
+        // given
+        nearCache.written(1L, value);
+        verify(redisTemplate).convertAndSend(eq(CartNearCache.CHANNEL), any());
+
+        // when
+        String instanceId = (String) ReflectionTestUtils.getField(nearCache, "instanceId");
+        nearCache.onMessage(message(instanceId + ":1"), null);
+        byte[] own = nearCache.get(1L);
+        nearCache.onMessage(message("other-instance:1"), null);
+
+        // then
+        assertArrayEquals(value, own);
+        assertNull(nearCache.get(1L));
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(CartNearCache.CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.zerobase.cms.order.client.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.order.domain.redis.Cart;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.util.CloseableIterator;
+
+class CartScanIteratorTest {
+
+    @Test
+    @DisplayName("scan - batchSize 씩 묶어서 읽기")
+    void readInBatches() {
+        // given
+        StubKeys keys = new StubKeys("1", "2", "cart:3", "4", "5");
+        List<List<Long>> loaded = new ArrayList<>();
+        CartScanIterator<Cart> iterator = new CartScanIterator<>(keys, 2, customerIds -> {
+            loaded.add(new ArrayList<>(customerIds));
+            Map<Long, Cart> carts = new LinkedHashMap<>();
+            for (Long customerId : customerIds) {
+                if (customerId != 4L) { // 그 사이 삭제된 장바구니
+                    carts.put(customerId, new Cart(customerId));
+                }
+            }
+            return carts.values();
+        });
+
+        // when
+        List<Long> result = new ArrayList<>();
+        iterator.forEachRemaining(cart -> result.add(cart.getCustomerId()));
+        iterator.close();
+
+        // then
+        assertEquals(List.of(1L, 2L, 5L), result);
+        assertEquals(List.of(List.of(1L, 2L), List.of(4L, 5L)), loaded);
+        assertTrue(keys.closed);
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    @DisplayName("scan - 장바구니가 없는 경우")
+    void empty() {
+        CartScanIterator<Cart> iterator = new CartScanIterator<>(new StubKeys(), 10,
+            customerIds -> { throw new IllegalStateException(); });
+
+        assertFalse(iterator.hasNext());
+    }
+
+    private static class StubKeys implements CloseableIterator<byte[]> {
+        private final Iterator<String> keys;
+        private boolean closed;
+
+        StubKeys(String... keys) {
+            this.keys = List.of(keys).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return keys.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            return keys.next().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.client.redis.CartNearCache;
+import com.zerobase.cms.order.client.redis.VersionedCartCodec;
+import com.zerobase.cms.order.config.RedisConfig;
+import com.zerobase.cms.order.domain.product.AddProductCartForm;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.exception.CustomException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 실제 Redis 의 WATCH/MULTI 로 동시에 저장한다. (REDIS_HOST, REDIS_PORT, 기본 localhost:6379)
+ * Redis 에 연결할 수 없으면 건너뛴다.
+ */
+class CartServiceConcurrencyTest {
+
+    private final Long customerId = System.nanoTime();
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, byte[]> cartRedisTemplate;
+    private CartService cartService;
+
+    @BeforeEach
+    void setup() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+            System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+            Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"))));
+        connectionFactory.afterPropertiesSet();
+        assumeTrue(isReachable(), "Redis 에 연결할 수 없음");
+
+        RedisConfig redisConfig = new RedisConfig();
+        RedisTemplate<String, Object> redisTemplate = redisConfig.redisTemplate(connectionFactory);
+        redisTemplate.afterPropertiesSet();
+        cartRedisTemplate = redisConfig.cartRedisTemplate(connectionFactory);
+        cartRedisTemplate.afterPropertiesSet();
+
+        RedisClient redisClient = new RedisClient(cartRedisTemplate, redisTemplate,
+            VersionedCartCodec.of("binary"), new CartNearCache(redisTemplate));
+        ReflectionTestUtils.setField(redisClient, "messageLimit", 50);
+        ReflectionTestUtils.setField(redisClient, "ttlDays", 1L);
+        cartService = new CartService(redisClient, mock(ColdCartService.class));
+        ReflectionTestUtils.setField(cartService, "casRetry", 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cartRedisTemplate != null) {
+            cartRedisTemplate.delete(customerId.toString());
+        }
+        connectionFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("addCart - 동시에 추가해도 성공한 요청의 수량은 유실되지 않음")
+    void concurrentAddCart() throws InterruptedException {
+        // given
+        int threads = 16, requestsPerThread = 100;
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger conflict = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        try {
+                            cartService.addCart(customerId, form());
+                            success.incrementAndGet();
+                        } catch (CustomException e) {
+                            conflict.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // then
+        Cart cart = cartService.getCart(customerId);
+        assertEquals(threads * requestsPerThread, success.get() + conflict.get());
+        assertEquals(success.get(), cart.getProducts().get(0).getItems().get(0).getCount());
+        assertEquals(success.get(), cart.getVersion().intValue());
+    }
+
+    private AddProductCartForm form() {
+        return AddProductCartForm.builder()
+            .id(100L)
+            .name("Product 1")
+            .items(Collections.singletonList(
+                AddProductCartForm.ProductItem.builder()
+                    .id(200L)
+                    .name("Item 1")
+                    .price(10000)
+                    .count(1)
+                    .build()))
+            .build();
+    }
+
+    private boolean isReachable() {
+        try {
+            connectionFactory.getConnection().close();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -1,16 +1,32 @@
 package com.zerobase.cms.order.service;
 
+import static com.zerobase.cms.order.exception.ErrorCode.CART_VERSION_CONFLICT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.zerobase.cms.order.client.RedisClient;
 import com.zerobase.cms.order.domain.product.AddProductCartForm;
 import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.redis.CartHash;
+import com.zerobase.cms.order.domain.redis.CartStorageType;
+import com.zerobase.cms.order.exception.CustomException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,19 +34,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @SpringBootTest
 class CartServiceTest {
     @Mock
     private RedisClient redisClient;
 
+    @Mock
+    private ColdCartService coldCartService;
+
     @InjectMocks
     private CartService cartService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
-        cartService = new CartService(redisClient);
+        cartService = new CartService(redisClient, coldCartService);
+        when(redisClient.compareAndSet(any(), any(), any())).thenReturn(true);
     }
 
     @Test
@@ -312,4 +333,217 @@ class CartServiceTest {
         assertEquals(cart.getCustomerId(), result.getCustomerId());
         assertEquals(2, result.getProducts().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("addCart(HASH) - 새 상품은 필드 저장 + 수량 증가")
+    public void testAddCart_Hash_NewProduct() {
+        // given
+        Long customerId = 1L;
+        ReflectionTestUtils.setField(cartService, "storageType", CartStorageType.HASH);
+        AddProductCartForm form = AddProductCartForm.builder()
+            .id(100L)
+            .name("Product 1")
+            .items(Collections.singletonList(
+                AddProductCartForm.ProductItem.builder()
+                    .id(200L)
+                    .name("Item 1")
+                    .price(10000)
+                    .count(2)
+                    .build()))
+            .build();
+
+        when(redisClient.getCartHashFields(eq(customerId), anyList()))
+            .thenReturn(Arrays.asList(null, null));
+
+        // when
+        cartService.addCart(customerId, form);
+
+        // then
+        verify(redisClient).updateCartHash(eq(customerId),
+            argThat(fields -> fields.containsKey(CartHash.productField(100L))
+                && fields.containsKey(CartHash.itemField(100L, 200L))),
+            eq(Map.of(CartHash.countField(100L, 200L), 2L)),
+            eq(Collections.emptyList()));
+        verify(redisClient, never()).put(eq(customerId), any());
+    }
+
+    @Test
+    @DisplayName("addCart(HASH) - 기존 상품, 가격 변동 메시지")
+    public void testAddCart_Hash_ExistingProduct_DifferentPrice() {
+        // given
+        Long customerId = 1L;
+        ReflectionTestUtils.setField(cartService, "storageType", CartStorageType.HASH);
+        Cart.Product redisProduct = Cart.Product.builder()
+            .id(100L).name("Product 1").items(new ArrayList<>()).build();
+        Cart.ProductItem redisItem = Cart.ProductItem.builder()
+            .id(200L).name("Item 1").price(10000).build();
+        AddProductCartForm form = AddProductCartForm.builder()
+            .id(100L)
+            .name("Product 1")
+            .items(Collections.singletonList(
+                AddProductCartForm.ProductItem.builder()
+                    .id(200L)
+                    .name("Item 1")
+                    .price(20000)
+                    .count(3)
+                    .build()))
+            .build();
+
+        when(redisClient.getCartHashFields(eq(customerId), anyList()))
+            .thenReturn(Arrays.asList(
+                CartHash.writeProduct(redisProduct), CartHash.writeItem(redisItem)));
+
+        // when
+        cartService.addCart(customerId, form);
+
+        // then
+        verify(redisClient).updateCartHash(eq(customerId),
+            eq(Collections.emptyMap()),
+            eq(Map.of(CartHash.countField(100L, 200L), 3L)),
+            eq(List.of("Product 1Item 1의 가격이 변동되었습니다.")));
+    }
+
+    @Test
+    @DisplayName("getCart - Redis 에 없으면 DB 에 내려간 장바구니 복원")
+    public void testGetCart_RestoreColdCart() {
+        // given
+        Long customerId = 1L;
+        Cart cart = new Cart(customerId);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(null);
+        when(coldCartService.restore(customerId)).thenReturn(cart);
+
+        // when
+        Cart result = cartService.getCart(customerId);
+
+        // then
+        assertEquals(cart, result);
+    }
+
+    @Test
+    @DisplayName("putCart - 저장된 버전과 다르면 실패")
+    public void testPutCart_VersionConflict() {
+        // given
+        Long customerId = 1L;
+        Cart cart = new Cart(customerId);
+        cart.setVersion(3L);
+        when(redisClient.compareAndSet(customerId, cart, 3L)).thenReturn(false);
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cartService.putCart(customerId, cart));
+
+        // then
+        assertEquals(CART_VERSION_CONFLICT, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("modifyCart - 충돌하면 다시 읽어서 재시도")
+    public void testModifyCart_RetryOnConflict() {
+        // given
+        Long customerId = 1L;
+        Cart first = new Cart(customerId);
+        first.setVersion(1L);
+        Cart second = new Cart(customerId);
+        second.setVersion(2L);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(first, second);
+        when(redisClient.compareAndSet(customerId, first, 1L)).thenReturn(false);
+        when(redisClient.compareAndSet(customerId, second, 2L)).thenReturn(true);
+
+        // when
+        Cart result = cartService.modifyCart(customerId, cart -> {
+            cart.addMessage("changed");
+            return cart;
+        });
+
+        // then
+        assertEquals(second, result);
+        assertEquals(List.of("changed"), result.getMessages());
+        verify(redisClient, times(2)).get(customerId, Cart.class);
+    }
+
+    @Test
+    @DisplayName("modifyCart - 재시도 횟수를 넘기면 실패")
+    public void testModifyCart_RetryExhausted() {
+        // given
+        Long customerId = 1L;
+        when(redisClient.get(customerId, Cart.class)).thenAnswer(invocation -> new Cart(customerId));
+        when(redisClient.compareAndSet(eq(customerId), any(), any())).thenReturn(false);
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> cartService.modifyCart(customerId, cart -> cart));
+
+        // then
+        assertEquals(CART_VERSION_CONFLICT, exception.getErrorCode());
+        verify(redisClient, times(5)).get(customerId, Cart.class);
+    }
+
+    @Test
+    @DisplayName("CartHash - 필드 변환")
+    public void testCartHash_RoundTrip() {
+        // given
+        Cart cart = new Cart(1L);
+        Cart.Product product = Cart.Product.builder()
+            .id(100L).sellerId(2L).name("Product 1").description("desc")
+            .items(new ArrayList<>()).build();
+        product.getItems().add(Cart.ProductItem.builder()
+            .id(200L).name("Item 1").price(10000).count(3).build());
+        cart.getProducts().add(product);
+
+        // when
+        Map<Object, Object> fields = new HashMap<>(CartHash.toFields(cart));
+        Cart result = CartHash.fromFields(1L, fields, List.of("message"));
+
+        // then
+        assertEquals(cart.getProducts(), result.getProducts());
+        assertEquals(List.of("message"), result.getMessages());
+    }
+
+    @Test
+    @DisplayName("CartHash.diff - 읽은 뒤 바뀐 수량은 차이만 더하고, 읽은 메시지만 잘라냄")
+    public void testCartHash_Diff() {
+        // given
+        Cart cart = new Cart(1L);
+        Cart.Product product = Cart.Product.builder()
+            .id(100L).name("Product 1").items(new ArrayList<>()).build();
+        product.getItems().add(Cart.ProductItem.builder()
+            .id(200L).name("Item 1").price(10000).count(3).build());
+        product.getItems().add(Cart.ProductItem.builder()
+            .id(201L).name("Item 2").price(10000).count(1).build());
+        cart.getProducts().add(product);
+        Cart loaded = CartHash.fromFields(1L,
+            new HashMap<>(CartHash.toFields(cart)), List.of("old"));
+        loaded.getProducts().get(0).getItems().get(0).setCount(1);
+        loaded.getProducts().get(0).getItems().remove(1);
+        loaded.setMessages(new ArrayList<>(List.of("new")));
+
+        // when
+        CartHash.Changes changes = CartHash.diff(loaded,
+            loaded.getLoadedFields(), loaded.getLoadedMessages(), true);
+
+        // then
+        assertEquals(Map.of(CartHash.countField(100L, 200L), -2L), changes.getIncrements());
+        assertTrue(changes.getPuts().isEmpty());
+        assertEquals(2, changes.getDeletes().size());
+        assertTrue(changes.getDeletes().contains(CartHash.countField(100L, 201L)));
+        assertEquals(1, changes.getTrimMessages());
+        assertEquals(List.of("new"), changes.getMessages());
+    }
+
+    @Test
+    @DisplayName("modifyCart(HASH) - 바뀐 필드만 저장")
+    public void testModifyCart_Hash() {
+        // given
+        Long customerId = 1L;
+        ReflectionTestUtils.setField(cartService, "storageType", CartStorageType.HASH);
+        Cart cart = new Cart(customerId);
+        when(redisClient.getCartHash(customerId)).thenReturn(cart);
+
+        // when
+        cartService.modifyCart(customerId, c -> c);
+
+        // then
+        verify(redisClient).writeCartHash(customerId, cart);
+        verify(redisClient, never()).put(eq(customerId), any());
+    }
+}
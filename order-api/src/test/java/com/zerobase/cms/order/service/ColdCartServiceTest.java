@@ -0,0 +1,102 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.order.client.RedisClient;
+import com.zerobase.cms.order.domain.model.ColdCart;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.repository.ColdCartRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ColdCartServiceTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private ColdCartRepository coldCartRepository;
+
+    private ColdCartService coldCartService;
+
+    private final Long customerId = 1L;
+    private final byte[] value = {1, 2, 3};
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        coldCartService = new ColdCartService(redisClient, coldCartRepository);
+        ReflectionTestUtils.setField(coldCartService, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("archive - DB 저장 후 Redis 에서 삭제")
+    void archive() {
+        // given
+        when(redisClient.getRaw(customerId)).thenReturn(value);
+        when(redisClient.deleteIfUnchanged(customerId, value)).thenReturn(true);
+
+        // when
+        boolean result = coldCartService.archive(customerId);
+
+        // then
+        assertTrue(result);
+        verify(coldCartRepository).save(any(ColdCart.class));
+        verify(coldCartRepository, never()).deleteIfExists(customerId);
+    }
+
+    @Test
+    @DisplayName("archive - 그 사이 장바구니가 변경되면 DB 저장 취소")
+    void archive_Changed() {
+        // given
+        when(redisClient.getRaw(customerId)).thenReturn(value);
+        when(redisClient.deleteIfUnchanged(customerId, value)).thenReturn(false);
+
+        // when
+        boolean result = coldCartService.archive(customerId);
+
+        // then
+        assertFalse(result);
+        verify(coldCartRepository).deleteIfExists(customerId);
+    }
+
+    @Test
+    @DisplayName("restore - Redis 로 다시 올리고 DB 에서 삭제")
+    void restore() {
+        // given
+        Cart cart = new Cart(customerId);
+        when(coldCartRepository.findById(customerId))
+            .thenReturn(Optional.of(ColdCart.of(customerId, value)));
+        when(redisClient.putRawIfAbsent(customerId, value)).thenReturn(true);
+        when(redisClient.get(customerId, Cart.class)).thenReturn(cart);
+
+        // when
+        Cart result = coldCartService.restore(customerId);
+
+        // then
+        assertEquals(cart, result);
+        verify(coldCartRepository).deleteIfExists(customerId);
+    }
+
+    @Test
+    @DisplayName("restore - 사용하지 않도록 설정하면 DB 를 조회하지 않음")
+    void restore_Disabled() {
+        ReflectionTestUtils.setField(coldCartService, "enabled", false);
+
+        assertNull(coldCartService.restore(customerId));
+        verifyNoInteractions(coldCartRepository);
+    }
+}
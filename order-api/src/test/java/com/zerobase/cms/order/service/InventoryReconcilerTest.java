@@ -0,0 +1,112 @@
+package com.zerobase.cms.order.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.order.domain.repository.InventoryApplyLogRepository;
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import com.zerobase.cms.order.service.InventoryService.SoldBatch;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class InventoryReconcilerTest {
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private ProductItemRepository productItemRepository;
+
+    @Mock
+    private InventoryApplyLogRepository inventoryApplyLogRepository;
+
+    private InventoryReconciler inventoryReconciler;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        inventoryReconciler = new InventoryReconciler(inventoryService, productItemRepository,
+            inventoryApplyLogRepository);
+        ReflectionTestUtils.setField(inventoryReconciler, "batchSize", 2);
+        when(inventoryService.tryLock(any(Duration.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("reconcile - 판매 수량을 batch 단위로 DB 에 반영")
+    void reconcile() {
+        // given
+        when(inventoryService.drainSold())
+            .thenReturn(new SoldBatch("b1", Map.of(3L, 1, 1L, 2, 2L, 5)));
+        when(productItemRepository.decreaseCountsToZero(eq("b1"), any()))
+            .thenReturn(new boolean[]{true, true}, new boolean[]{false});
+
+        // when
+        inventoryReconciler.reconcile();
+
+        // then
+        // 같은 batch id 로 반영해 다시 실행되어도 DB 가 이미 반영한 옵션을 건너뛴다.
+        verify(productItemRepository)
+            .decreaseCountsToZero("b1", new TreeMap<>(Map.of(1L, 2, 2L, 5)));
+        verify(productItemRepository).decreaseCountsToZero("b1", new TreeMap<>(Map.of(3L, 1)));
+        verify(inventoryService).applied(Set.of(1L, 2L));
+        verify(inventoryService).applied(Set.of(3L));
+        // DB 수량이 부족했던 옵션은 카운터를 다시 채우게 한다.
+        verify(inventoryService).reset(3L);
+        verify(inventoryService, never()).reset(1L);
+        verify(inventoryService).unlock();
+    }
+
+    @Test
+    @DisplayName("reconcile - DB 반영에 실패하면 남겨두고 다음에 다시 반영")
+    void reconcile_Fail() {
+        // given
+        when(inventoryService.drainSold()).thenReturn(new SoldBatch("b1", Map.of(1L, 2)));
+        when(productItemRepository.decreaseCountsToZero(any(), any()))
+            .thenThrow(new RuntimeException());
+
+        // when
+        inventoryReconciler.reconcile();
+
+        // then
+        verify(inventoryService, never()).applied(any());
+        verify(inventoryService).unlock();
+    }
+
+    @Test
+    @DisplayName("cleanupApplyLog - 반영 중인 batch 의 기록은 남기고 지움")
+    void cleanupApplyLog() {
+        // given
+        when(inventoryService.getApplyingBatchId()).thenReturn("b1");
+
+        // when
+        inventoryReconciler.cleanupApplyLog();
+
+        // then
+        verify(inventoryApplyLogRepository).deleteAppliedBefore(any(), eq("b1"));
+    }
+
+    @Test
+    @DisplayName("releaseExpired - 만료된 예약을 되돌림")
+    void releaseExpired() {
+        // given
+        when(inventoryService.findExpired(anyInt())).thenReturn(Set.<Object>of("r1"));
+
+        // when
+        inventoryReconciler.releaseExpired();
+
+        // then
+        verify(inventoryService).release("r1");
+    }
+}
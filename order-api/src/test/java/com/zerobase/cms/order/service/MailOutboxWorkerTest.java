@@ -0,0 +1,145 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.order.client.mail.MailSender;
+import com.zerobase.cms.order.client.mailgun.SendMailForm;
+import com.zerobase.cms.order.domain.model.MailOutbox;
+import com.zerobase.cms.order.domain.model.MailStatus;
+import com.zerobase.cms.order.domain.repository.MailOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class MailOutboxWorkerTest {
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Mock
+    private MailSender mailSender;
+
+    private MailOutboxWorker mailOutboxWorker;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        mailOutboxWorker = new MailOutboxWorker(mailOutboxRepository, mailSender);
+        ReflectionTestUtils.setField(mailOutboxWorker, "threads", 2);
+        ReflectionTestUtils.setField(mailOutboxWorker, "maxAttempts", 2);
+        mailOutboxWorker.start();
+        when(mailOutboxRepository.findDueIds(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(1L, 2L));
+        when(mailOutboxRepository.lease(any(), any(), any(), anyString())).thenReturn(2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        mailOutboxWorker.stop();
+    }
+
+    @Test
+    @DisplayName("drain - 보낸 메일은 한 번에 SENT 처리, 실패한 메일은 나중에 다시 발송")
+    void drain() {
+        // given
+        MailOutbox ok = mail(1L, "ok@test.com");
+        MailOutbox fail = mail(2L, "fail@test.com");
+        when(mailOutboxRepository.findByLeaseId(anyString())).thenReturn(List.of(ok, fail));
+        doThrow(new RuntimeException("mailgun down"))
+            .when(mailSender).send(argThat(form -> form.getTo().equals("fail@test.com")));
+
+        // when
+        mailOutboxWorker.drain();
+
+        // then
+        verify(mailSender).send(argThat(form -> form.getTo().equals("ok@test.com")));
+        verify(mailOutboxRepository).markSent(List.of(1L));
+        verify(mailOutboxRepository).saveAll(List.of(fail));
+        assertEquals(MailStatus.PENDING, fail.getStatus());
+        assertEquals(1, fail.getAttempts());
+        assertTrue(fail.getNextRunAt().isAfter(LocalDateTime.now()));
+        assertEquals(1L, mailOutboxWorker.snapshot().get("sent"));
+    }
+
+    @Test
+    @DisplayName("drain - 재시도를 모두 쓰면 DEAD 로 남김")
+    void drain_Dead() {
+        // given
+        MailOutbox fail = mail(2L, "fail@test.com");
+        fail.setAttempts(1);
+        when(mailOutboxRepository.findByLeaseId(anyString())).thenReturn(List.of(fail));
+        doThrow(new RuntimeException("mailgun down")).when(mailSender).send(any());
+
+        // when
+        mailOutboxWorker.drain();
+
+        // then
+        assertEquals(MailStatus.DEAD, fail.getStatus());
+        assertNull(fail.getNextRunAt());
+        assertTrue(fail.getLastError().contains("mailgun down"));
+        verify(mailOutboxRepository, never()).markSent(any());
+    }
+
+    @Test
+    @DisplayName("drain - send-timeout-ms 안에 끝나지 않은 메일은 취소하고 나중에 다시 발송")
+    void drain_Timeout() {
+        // given
+        ReflectionTestUtils.setField(mailOutboxWorker, "sendTimeoutMs", 200L);
+        MailOutbox ok = mail(1L, "ok@test.com");
+        MailOutbox slow = mail(2L, "slow@test.com");
+        when(mailOutboxRepository.findByLeaseId(anyString())).thenReturn(List.of(ok, slow));
+        doAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return null;
+        }).when(mailSender).send(argThat(form -> form.getTo().equals("slow@test.com")));
+
+        // when
+        long start = System.nanoTime();
+        mailOutboxWorker.drain();
+
+        // then
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        verify(mailOutboxRepository).markSent(List.of(1L));
+        verify(mailOutboxRepository).saveAll(List.of(slow));
+        assertEquals(1, slow.getAttempts());
+        assertTrue(slow.getLastError().contains("TimeoutException"));
+    }
+
+    @Test
+    @DisplayName("drain - 다른 인스턴스가 모두 가져갔으면 보내지 않음")
+    void drain_Leased() {
+        // given
+        when(mailOutboxRepository.lease(any(), any(), any(), anyString())).thenReturn(0);
+
+        // when
+        mailOutboxWorker.drain();
+
+        // then
+        verify(mailOutboxRepository, never()).findByLeaseId(anyString());
+        verify(mailSender, never()).send(any());
+    }
+
+    private MailOutbox mail(Long id, String to) {
+        MailOutbox mail = MailOutbox.from(SendMailForm.builder()
+            .from("test@mailgun.org").to(to).subject("Order Result").text("text").build());
+        mail.setId(id);
+        return mail;
+    }
+}
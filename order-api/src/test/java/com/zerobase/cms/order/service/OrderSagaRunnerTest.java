@@ -0,0 +1,273 @@
+package com.zerobase.cms.order.service;
+
+import static com.zerobase.cms.order.exception.ErrorCode.ITEM_COUNT_NOT_ENOUGH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.order.client.UserClient;
+import com.zerobase.cms.order.domain.model.OrderSaga;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import com.zerobase.cms.order.domain.model.SagaStep;
+import com.zerobase.cms.order.domain.order.OrderDto;
+import com.zerobase.cms.order.domain.order.OrderLineDto;
+import com.zerobase.cms.order.domain.repository.OrderSagaRepository;
+import com.zerobase.cms.order.exception.CustomException;
+import feign.FeignException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OrderSagaRunnerTest {
+
+    @Mock
+    private OrderSagaRepository orderSagaRepository;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private ProductItemService productItemService;
+    @Mock
+    private CartService cartService;
+    @Mock
+    private UserClient userClient;
+    @Mock
+    private MailOutboxService mailOutboxService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderSagaRunner orderSagaRunner;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        orderSagaRunner = new OrderSagaRunner(orderSagaRepository, orderService, inventoryService,
+            productItemService, cartService, userClient, mailOutboxService, transactionManager);
+        ReflectionTestUtils.setField(orderSagaRunner, "internalApiKey", "internal-key");
+        when(orderService.getOrder(1L)).thenReturn(OrderDto.builder()
+            .id(1L)
+            .status(OrderStatus.ACCEPTED)
+            .totalPrice(6000)
+            .lines(List.of(OrderLineDto.builder()
+                .productId(1L).itemId(10L).productName("Product 1").itemName("Option 1")
+                .price(1000).count(6).build()))
+            .build());
+    }
+
+    @Test
+    @DisplayName("재고 차감 - 차감하면 잔액 차감 단계로")
+    void reserveStock() {
+        // given
+        OrderSaga saga = saga(SagaStep.RESERVE_STOCK);
+
+        // when
+        orderSagaRunner.advance(saga);
+
+        // then
+        verify(productItemService).decreaseCounts(Map.of(10L, 6));
+        assertEquals(SagaStep.DEBIT_BALANCE, saga.getStep());
+        verify(orderSagaRepository).save(saga);
+    }
+
+    @Test
+    @DisplayName("재고 차감 - 재고가 부족하면 결제하지 않고 주문 실패")
+    void reserveStock_NotEnough() {
+        // given
+        OrderSaga saga = saga(SagaStep.RESERVE_STOCK);
+        doThrow(new CustomException(ITEM_COUNT_NOT_ENOUGH))
+            .when(productItemService).decreaseCounts(any());
+
+        // when
+        orderSagaRunner.advance(saga);
+
+        // then
+        assertEquals(SagaStep.FAILED, saga.getStep());
+        assertNull(saga.getNextRunAt());
+        verify(orderService).finish(1L, OrderStatus.FAILED);
+        verify(userClient, never()).debitBalance(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("잔액 차감 - 잔액이 부족하면(4xx) 차감한 재고를 되돌리고 주문 실패")
+    void debitBalance_NotEnoughMoney() {
+        // given
+        OrderSaga saga = saga(SagaStep.DEBIT_BALANCE);
+        FeignException badRequest = mock(FeignException.BadRequest.class);
+        when(badRequest.status()).thenReturn(400);
+        when(userClient.debitBalance(eq("internal-key"), eq(1L), any(), any())).thenThrow(badRequest);
+
+        // when
+        orderSagaRunner.advance(saga);
+        assertEquals(SagaStep.RELEASE_STOCK, saga.getStep());
+        orderSagaRunner.advance(saga);
+
+        // then
+        // 주문 id 를 키로 한 번에 확인, 차감
+        verify(userClient).debitBalance(eq("internal-key"), eq(1L), eq("order-1"), argThat(form ->
+            form.getMoney() == 6000 && form.getMessage().equals("Order #1")));
+        verify(productItemService).increaseCounts(Map.of(10L, 6));
+        assertEquals(SagaStep.FAILED, saga.getStep());
+        verify(orderService).finish(1L, OrderStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("잔액 차감 - 내부 API 키가 거절되면(401) 주문 실패로 처리하지 않고 재시도")
+    void debitBalance_RejectedKey() {
+        // given
+        OrderSaga saga = saga(SagaStep.DEBIT_BALANCE);
+        FeignException unauthorized = mock(FeignException.Unauthorized.class);
+        when(unauthorized.status()).thenReturn(401);
+        when(userClient.debitBalance(eq("internal-key"), eq(1L), any(), any()))
+            .thenThrow(unauthorized);
+
+        // when
+        assertThrows(FeignException.class, () -> orderSagaRunner.advance(saga));
+
+        // then
+        assertEquals(SagaStep.DEBIT_BALANCE, saga.getStep());
+        verify(productItemService, never()).increaseCounts(any());
+        verify(orderService, never()).finish(any(), any());
+    }
+
+    @Test
+    @DisplayName("잔액 차감 - 내부 API 키가 설정되지 않았으면 요청하지 않고 재시도")
+    void debitBalance_NoKey() {
+        // given
+        ReflectionTestUtils.setField(orderSagaRunner, "internalApiKey", "");
+        OrderSaga saga = saga(SagaStep.DEBIT_BALANCE);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> orderSagaRunner.advance(saga));
+
+        // then
+        assertEquals(SagaStep.DEBIT_BALANCE, saga.getStep());
+        verify(userClient, never()).debitBalance(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("확정 - Redis 예약을 판매로 확정하고 장바구니 정리, 메일은 outbox 에 저장")
+    void confirm() {
+        // given
+        OrderSaga saga = saga(SagaStep.CONFIRM);
+        saga.setReservationId("reservation");
+        when(inventoryService.commit("reservation")).thenReturn(true);
+
+        // when
+        orderSagaRunner.advance(saga);
+
+        // then
+        assertEquals(SagaStep.DONE, saga.getStep());
+        verify(orderService).finish(1L, OrderStatus.COMPLETED);
+        verify(cartService).removeItems(1L, Map.of(10L, 1L));
+        verify(mailOutboxService).enqueue(argThat(form ->
+            form.getTo().equals("customer@test.com") && form.getText().contains("Option 1")));
+    }
+
+    @Test
+    @DisplayName("확정 - 결제 중 예약이 만료되면 결제 취소 후 주문 실패")
+    void confirm_ReservationExpired() {
+        // given
+        OrderSaga saga = saga(SagaStep.CONFIRM);
+        saga.setReservationId("reservation");
+        when(inventoryService.commit("reservation")).thenReturn(false);
+
+        // when
+        orderSagaRunner.advance(saga);
+        assertEquals(SagaStep.REFUND_BALANCE, saga.getStep());
+        orderSagaRunner.advance(saga);
+
+        // then
+        // 환불도 주문 id 로 만든 키로 한 번만
+        verify(userClient).creditBalance(eq("internal-key"), eq(1L), eq("refund-order-1"),
+            argThat(form -> form.getMoney() == 6000));
+        assertEquals(SagaStep.FAILED, saga.getStep());
+        verify(orderService, never()).finish(1L, OrderStatus.COMPLETED);
+        verify(mailOutboxService, never()).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("run - 일시적인 실패는 같은 단계를 나중에 다시 실행")
+    void run_Retry() {
+        // given
+        OrderSaga saga = saga(SagaStep.DEBIT_BALANCE);
+        OrderSaga stored = saga(SagaStep.DEBIT_BALANCE);
+        when(orderSagaRepository.findByNextRunAtLessThanEqualOrderByNextRunAt(
+            any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(saga));
+        when(orderSagaRepository.lease(eq(1L), any(), any())).thenReturn(1);
+        when(orderSagaRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(userClient.debitBalance(eq("internal-key"), eq(1L), any(), any())).thenThrow(new RuntimeException());
+
+        // when
+        orderSagaRunner.run();
+
+        // then
+        assertEquals(SagaStep.DEBIT_BALANCE, stored.getStep());
+        assertEquals(1, stored.getAttempts());
+        assertTrue(stored.getNextRunAt().isAfter(LocalDateTime.now()));
+        verify(orderSagaRepository).save(stored);
+    }
+
+    @Test
+    @DisplayName("run - max-attempts 를 넘겨도 멈추지 않고 max-backoff-ms 간격으로 재시도")
+    void run_RetryAfterMaxAttempts() {
+        // given
+        OrderSaga saga = saga(SagaStep.DEBIT_BALANCE);
+        OrderSaga stored = saga(SagaStep.DEBIT_BALANCE);
+        stored.setAttempts(30);
+        when(orderSagaRepository.findByNextRunAtLessThanEqualOrderByNextRunAt(
+            any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(saga));
+        when(orderSagaRepository.lease(eq(1L), any(), any())).thenReturn(1);
+        when(orderSagaRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(userClient.debitBalance(eq("internal-key"), eq(1L), any(), any())).thenThrow(new RuntimeException());
+
+        // when
+        orderSagaRunner.run();
+
+        // then
+        assertEquals(SagaStep.DEBIT_BALANCE, stored.getStep());
+        assertTrue(stored.getNextRunAt().isAfter(LocalDateTime.now().plusSeconds(290)));
+        assertTrue(stored.getNextRunAt().isBefore(LocalDateTime.now().plusSeconds(301)));
+        verify(orderSagaRepository).save(stored);
+    }
+
+    @Test
+    @DisplayName("run - 다른 인스턴스가 가져간 주문은 건너뜀")
+    void run_Leased() {
+        // given
+        when(orderSagaRepository.findByNextRunAtLessThanEqualOrderByNextRunAt(
+            any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(saga(SagaStep.DEBIT_BALANCE)));
+        when(orderSagaRepository.lease(eq(1L), any(), any())).thenReturn(0);
+
+        // when
+        orderSagaRunner.run();
+
+        // then
+        verify(userClient, never()).debitBalance(any(), any(), any(), any());
+    }
+
+    private OrderSaga saga(SagaStep step) {
+        OrderSaga saga = OrderSaga.start(1L, 1L, "customer@test.com");
+        saga.setStep(step);
+        return saga;
+    }
+}
@@ -0,0 +1,150 @@
+package com.zerobase.cms.order.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.order.domain.model.Order;
+import com.zerobase.cms.order.domain.model.OrderLine;
+import com.zerobase.cms.order.domain.model.OrderSaga;
+import com.zerobase.cms.order.domain.model.OrderStatus;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.model.SagaStep;
+import com.zerobase.cms.order.domain.order.OrderDto;
+import com.zerobase.cms.order.domain.order.OrderLineDto;
+import com.zerobase.cms.order.domain.order.OrderPage;
+import com.zerobase.cms.order.domain.redis.Cart;
+import com.zerobase.cms.order.domain.repository.OrderLineRepository;
+import com.zerobase.cms.order.domain.repository.OrderRepository;
+import com.zerobase.cms.order.domain.repository.OrderSagaRepository;
+import com.zerobase.cms.order.domain.repository.ProductItemRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @Mock
+    private ProductItemRepository productItemRepository;
+
+    @Mock
+    private OrderSagaRepository orderSagaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        orderService = new OrderService(orderRepository, orderLineRepository,
+            productItemRepository, orderSagaRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("claim - 이미 접수된 Idempotency-Key 면 empty")
+    void claim_Duplicate() {
+        // given
+        when(orderRepository.saveAndFlush(any(Order.class)))
+            .thenThrow(new DataIntegrityViolationException("uk_orders_idempotency_key"));
+
+        // when
+        Optional<Long> result = orderService.claim(1L, "key");
+
+        // then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("accept - 주문 옵션과 판매자를 저장하고 처리 상태를 함께 저장")
+    void accept() {
+        // given
+        Order order = Order.pending(1L, "key");
+        order.setId(7L);
+        when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+        when(productItemRepository.findAllById(List.of(10L))).thenReturn(List.of(
+            ProductItem.builder().id(10L).sellerId(3L).build()));
+        when(orderRepository.saveAndFlush(order)).thenReturn(order);
+
+        Cart cart = new Cart(1L);
+        Cart.Product product = new Cart.Product();
+        product.setId(1L);
+        product.setName("Product 1");
+        Cart.ProductItem item = new Cart.ProductItem();
+        item.setId(10L);
+        item.setName("Option 1");
+        item.setPrice(1000);
+        item.setCount(2);
+        product.getItems().add(item);
+        cart.getProducts().add(product);
+
+        // when
+        OrderDto result = orderService.accept(7L, cart, 2000, "customer@test.com");
+
+        // then
+        assertEquals(OrderStatus.ACCEPTED, result.getStatus());
+        assertEquals(2000, result.getTotalPrice());
+        assertEquals(1, order.getLines().size());
+        assertEquals(3L, order.getLines().get(0).getSellerId());
+        assertEquals("Option 1", result.getLines().get(0).getItemName());
+        verify(orderSagaRepository).save(argThat((OrderSaga saga) ->
+            saga.getOrderId().equals(7L) && saga.getStep() == SagaStep.RESERVE_STOCK
+                && saga.getNextRunAt() != null));
+    }
+
+    @Test
+    @DisplayName("releaseStalePending - accept 되지 않고 남은 PENDING 접수만 지움")
+    void releaseStalePending() {
+        // given
+        LocalDateTime before = LocalDateTime.now().minusMinutes(5);
+        when(orderRepository.deleteByStatusAndCreatedAtBefore(OrderStatus.PENDING, before))
+            .thenReturn(2);
+
+        // when
+        int released = orderService.releaseStalePending(before);
+
+        // then
+        assertEquals(2, released);
+    }
+
+    @Test
+    @DisplayName("getSellerOrderLines - 첫 페이지는 가장 최근부터, 가득 찬 페이지면 다음 lastId")
+    void getSellerOrderLines() {
+        // given
+        when(orderLineRepository.findBySellerIdAndIdLessThanOrderByIdDesc(
+            eq(3L), eq(Long.MAX_VALUE), eq(PageRequest.ofSize(2)))).thenReturn(List.of(
+            OrderLine.builder().id(9L).build(), OrderLine.builder().id(5L).build()));
+        when(orderLineRepository.findBySellerIdAndIdLessThanOrderByIdDesc(
+            eq(3L), eq(5L), eq(PageRequest.ofSize(2)))).thenReturn(List.of(
+            OrderLine.builder().id(2L).build()));
+
+        // when
+        OrderPage<OrderLineDto> first = orderService.getSellerOrderLines(3L, null, 2);
+        OrderPage<OrderLineDto> last = orderService.getSellerOrderLines(3L, first.getLastId(), 2);
+
+        // then
+        assertEquals(5L, first.getLastId());
+        assertEquals(1, last.getContent().size());
+        assertNull(last.getLastId());
+    }
+}
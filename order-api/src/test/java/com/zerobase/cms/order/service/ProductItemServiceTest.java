@@ -5,6 +5,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.zerobase.cms.order.cache.ProductCache;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductItemForm;
@@ -12,8 +13,10 @@ import com.zerobase.cms.order.domain.product.UpdateProductItemForm;
 import com.zerobase.cms.order.domain.repository.ProductItemRepository;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
+import com.zerobase.cms.order.exception.ErrorCode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.h2.command.dml.MergeUsing.When;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,11 +37,17 @@ class ProductItemServiceTest {
     @Mock
     private ProductItemRepository productItemRepository;
 
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private InventoryService inventoryService;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
         productItemService = new ProductItemService(productRepository,
-            productItemRepository);
+            productItemRepository, productCache, inventoryService);
     }
 
     @Test
@@ -190,6 +199,7 @@ class ProductItemServiceTest {
             .name("Existing Item")
             .price(100)
             .count(2)
+            .product(Product.builder().id(10L).build())
             .build();
 
         when(productItemRepository.findById(itemId)).thenReturn(
@@ -201,8 +211,39 @@ class ProductItemServiceTest {
         // Then
         verify(productItemRepository, times(1)).findById(itemId);
         verify(productItemRepository, times(1)).delete(existingProductItem);
+        verify(productCache, times(1)).evict(10L);
+        verify(inventoryService, times(1)).reset(itemId);
         when(productItemRepository.findById(itemId)).thenReturn(Optional.empty());
         Optional<ProductItem> deletedItem = productItemRepository.findById(itemId);
         assertFalse(deletedItem.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("재고 차감-성공")
+    void success_decreaseCounts() {
+        // Given
+        Map<Long, Integer> counts = Map.of(1L, 2, 2L, 3);
+        when(productItemRepository.decreaseCounts(counts)).thenReturn(new boolean[]{true, true});
+
+        // When
+        productItemService.decreaseCounts(counts);
+
+        // Then
+        verify(productItemRepository, times(1)).decreaseCounts(counts);
+    }
+
+    @Test
+    @DisplayName("재고 차감-재고가 부족한 옵션이 있으면 실패")
+    void fail_decreaseCounts_NotEnough() {
+        // Given
+        Map<Long, Integer> counts = Map.of(1L, 2, 2L, 3);
+        when(productItemRepository.decreaseCounts(counts)).thenReturn(new boolean[]{true, false});
+
+        // When
+        CustomException exception = assertThrows(CustomException.class,
+            () -> productItemService.decreaseCounts(counts));
+
+        // Then
+        assertEquals(ErrorCode.ITEM_COUNT_NOT_ENOUGH, exception.getErrorCode());
+    }
+}
@@ -4,15 +4,26 @@ import static com.zerobase.cms.order.exception.ErrorCode.NOT_FOUND_PRODUCT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.zerobase.cms.order.cache.ProductCache;
 import com.zerobase.cms.order.domain.model.Product;
+import com.zerobase.cms.order.domain.model.ProductItem;
+import com.zerobase.cms.order.domain.product.CartRefreshItem;
+import com.zerobase.cms.order.domain.product.ProductDto;
+import com.zerobase.cms.order.domain.product.ProductItemDto;
 import com.zerobase.cms.order.domain.repository.ProductRepository;
 import com.zerobase.cms.order.exception.CustomException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,12 +38,15 @@ class ProductSearchServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCache productCache;
+
     private ProductSearchService productSearchService;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
-        productSearchService = new ProductSearchService(productRepository);
+        productSearchService = new ProductSearchService(productRepository, productCache);
     }
 
     @Test
@@ -100,4 +114,103 @@ class ProductSearchServiceTest {
         assertEquals(NOT_FOUND_PRODUCT, exception.getErrorCode());
         verify(productRepository, times(1)).findWithProductItemsById(searchProductId);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("장바구니 갱신용 옵션 조회")
+    public void success_getCartRefreshItems() {
+        // Given
+        List<Long> productIds = List.of(1L, 2L);
+        List<CartRefreshItem> rows = List.of(
+            new CartRefreshItem(1L, 10L, "옵션", 10000, 5),
+            new CartRefreshItem(2L, null, null, null, null));
+        when(productRepository.findCartRefreshItems(productIds)).thenReturn(rows);
+
+        // When
+        List<CartRefreshItem> result = productSearchService.getCartRefreshItems(productIds);
+
+        // Then
+        assertEquals(rows, result);
+    }
+
+    @Test
+    @DisplayName("장바구니 갱신용 옵션 조회-빈 장바구니는 조회하지 않음")
+    public void success_getCartRefreshItems_Empty() {
+        // When
+        List<CartRefreshItem> result = productSearchService.getCartRefreshItems(List.of());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(productRepository, never()).findCartRefreshItems(anyList());
+    }
+
+    @Test
+    @DisplayName("상품 캐시-이름/가격과 재고 모두 캐시에 있으면 DB 를 조회하지 않음")
+    public void success_getProductDto_CacheHit() {
+        // Given
+        Long productId = 1L;
+        when(productCache.isEnabled()).thenReturn(true);
+        when(productCache.getInfo(productId)).thenReturn(info(productId));
+        when(productCache.getStock(productId)).thenReturn(Map.of(10L, 7));
+
+        // When
+        ProductDto result = productSearchService.getProductDto(productId);
+
+        // Then
+        assertEquals("나이키 운동화", result.getName());
+        assertEquals(7, result.getItems().get(0).getCount());
+        verify(productRepository, never()).findAllByIdIn(anyList());
+        verify(productRepository, never()).findCartRefreshItems(anyList());
+    }
+
+    @Test
+    @DisplayName("상품 캐시-캐시에 없는 상품은 DB 에서 읽어 캐시")
+    public void success_getProductDto_InfoMiss() {
+        // Given
+        Long productId = 1L;
+        Product product = Product.builder()
+            .id(productId)
+            .name("나이키 운동화")
+            .productItems(List.of(
+                ProductItem.builder().id(10L).name("260").price(10000).count(3).build()))
+            .build();
+        when(productCache.isEnabled()).thenReturn(true);
+        when(productCache.epoch()).thenReturn(5L);
+        when(productRepository.findAllByIdIn(List.of(productId))).thenReturn(List.of(product));
+
+        // When
+        ProductDto result = productSearchService.getProductDto(productId);
+
+        // Then
+        assertEquals(3, result.getItems().get(0).getCount());
+        verify(productCache, times(1)).put(any(ProductDto.class), eq(5L));
+    }
+
+    @Test
+    @DisplayName("상품 캐시-재고만 만료되었으면 재고만 다시 조회")
+    public void success_getCartRefreshItems_StockMiss() {
+        // Given
+        Long productId = 1L;
+        when(productCache.isEnabled()).thenReturn(true);
+        when(productCache.getInfo(productId)).thenReturn(info(productId));
+        when(productRepository.findCartRefreshItems(List.of(productId))).thenReturn(
+            List.of(new CartRefreshItem(productId, 10L, "260", 10000, 2)));
+
+        // When
+        List<CartRefreshItem> result = productSearchService.getCartRefreshItems(
+            List.of(productId));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(0).getCount());
+        verify(productCache, times(1)).putStock(eq(productId), eq(Map.of(10L, 2)), anyLong());
+        verify(productRepository, never()).findAllByIdIn(anyList());
+    }
+
+    private ProductDto info(Long productId) {
+        return ProductDto.builder()
+            .id(productId)
+            .name("나이키 운동화")
+            .items(List.of(ProductItemDto.builder().id(10L).name("260").price(10000).build()))
+            .build();
+    }
+}
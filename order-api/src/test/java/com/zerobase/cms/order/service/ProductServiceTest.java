@@ -10,6 +10,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.zerobase.cms.order.cache.ProductCache;
 import com.zerobase.cms.order.domain.model.Product;
 import com.zerobase.cms.order.domain.model.ProductItem;
 import com.zerobase.cms.order.domain.product.AddProductForm;
@@ -43,6 +44,12 @@ class ProductServiceTest {
     @Mock
     private ProductItemRepository productItemRepository;
 
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private InventoryService inventoryService;
+
     private ProductService productService;
 
     @Captor
@@ -51,7 +58,8 @@ class ProductServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        productService = new ProductService(productRepository);
+        productService = new ProductService(productRepository, productCache,
+            inventoryService);
     }
 
     @Test
@@ -185,6 +193,7 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findBySellerIdAndId(sellerId,
             productId);
         verify(productRepository, times(1)).delete(existingProduct);
+        verify(productCache, times(1)).evict(productId);
 
         when(productRepository.findById(productId)).thenReturn(
             Optional.empty());
@@ -0,0 +1,48 @@
+package com.zerobase.cms.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongKeyMapTest {
+
+    @Test
+    void putAndGet() {
+        LongKeyMap<String> map = new LongKeyMap<>(1000);
+        for (long key = -500; key < 500; key++) {
+            map.put(key * 1024, "v" + key);
+        }
+
+        assertEquals(1000, map.size());
+        for (long key = -500; key < 500; key++) {
+            assertEquals("v" + key, map.get(key * 1024));
+        }
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(1));
+        assertTrue(map.containsKey(0));
+    }
+
+    @Test
+    void overwrite() {
+        LongKeyMap<String> map = new LongKeyMap<>(1);
+
+        assertNull(map.put(7, "a"));
+        assertEquals("a", map.put(7, "b"));
+        assertEquals("b", map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void full() {
+        LongKeyMap<String> map = new LongKeyMap<>(0);
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(3, "c");
+
+        assertThrows(IllegalStateException.class, () -> map.put(4, "d"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.zerobase.cms.user.service.auth;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 로그인 비밀번호 확인의 초당 처리량. 32 개 스레드를 동시에 들어온 로그인 요청으로 본다.
+ * login 은 PasswordService 의 전용 스레드(verifyThreads 개)에서 확인하고 결과를 기다린다.
+ * loginOnRequestThread 는 요청 스레드에서 바로 계산하는 경우이고 (비교용)
+ * legacyPlaintext 는 해시 전 평문 비교다.
+ * iterations 를 바꿔 가며 처리량과 한 번에 걸리는 시간을 보고 password.hash.iterations 를 정한다.
+ *
+ * 모듈 빌드 파일에 jmh 소스셋, 플러그인이 없어 빌드에 포함되지 않는다. JMH 러너(org.openjdk.jmh.Main)로 따로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "aaaa123!";
+
+    @Param({"100000", "310000"})
+    private int iterations;
+
+    @Param({"4"})
+    private int verifyThreads;
+
+    private PasswordService passwordService;
+    private String stored;
+    private final String legacyStored = new String(PASSWORD.toCharArray());
+
+    @Setup(Level.Trial)
+    public void setup() {
+        passwordService = new PasswordService(iterations, verifyThreads, 1000);
+        passwordService.start();
+        stored = passwordService.hash(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        passwordService.stop();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return passwordService.verify(PASSWORD, stored).join().isMatched();
+    }
+
+    @Benchmark
+    public boolean loginOnRequestThread() {
+        return passwordService.check(PASSWORD, stored).isMatched();
+    }
+
+    @Benchmark
+    public boolean legacyPlaintext() {
+        return PASSWORD.equals(legacyStored);
+    }
+}
@@ -9,12 +9,14 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @ServletComponentScan
 @EntityScan("com.zerobase.cms")
 @EnableFeignClients
 @EnableJpaAuditing
 @EnableJpaRepositories
+@EnableScheduling
 @RequiredArgsConstructor
 @SpringBootApplication
 public class UserApplication {
@@ -10,6 +10,7 @@ import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.service.customer.CustomerService;
 import com.zerobase.cms.user.service.seller.SellerService;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -21,23 +22,28 @@ public class SignInApplication {
     private final SellerService sellerService;
     private final JwtAuthenticationProvider provider;
 
-    public String customerLoginToken(SignInForm form) {
+    /**
+     * 비밀번호 확인이 끝나면 토큰으로 완료된다. 실패하면 CustomException 으로 완료
+     */
+    public CompletableFuture<String> customerLoginToken(SignInForm form) {
         //  로그인 가능 여부
-        Customer customer =
-            customerService.findValidCustomer(form.getEmail(), form.getPassword())
-            .orElseThrow(() -> new CustomException(LOGIN_CHECK_FAIL));
-
-        return provider.createToken(
-            customer.getEmail(), customer.getId(), UserType.CUSTOMER);
+        return customerService.findValidCustomer(form.getEmail(), form.getPassword())
+            .thenApply(valid -> {
+                Customer customer = valid.orElseThrow(
+                    () -> new CustomException(LOGIN_CHECK_FAIL));
+                return provider.createToken(
+                    customer.getEmail(), customer.getId(), UserType.CUSTOMER);
+            });
     }
 
-    public String sellerLoginToken(SignInForm form) {
+    public CompletableFuture<String> sellerLoginToken(SignInForm form) {
         // 로그인 가능 여부
-        Seller seller =
-            sellerService.findValidSeller(form.getEmail(), form.getPassword())
-                .orElseThrow(() -> new CustomException(LOGIN_CHECK_FAIL));
-
-        return provider.createToken(
-            seller.getEmail(), seller.getId(), UserType.SELLER);
+        return sellerService.findValidSeller(form.getEmail(), form.getPassword())
+            .thenApply(valid -> {
+                Seller seller = valid.orElseThrow(
+                    () -> new CustomException(LOGIN_CHECK_FAIL));
+                return provider.createToken(
+                    seller.getEmail(), seller.getId(), UserType.SELLER);
+            });
     }
 }
@@ -2,12 +2,14 @@ package com.zerobase.cms.user.application;
 
 import static com.zerobase.cms.user.exception.ErrorCode.ALREADY_REGISTER_USER;
 
+import com.zerobase.cms.domain.domain.common.UserType;
 import com.zerobase.cms.user.client.MailgunClient;
 import com.zerobase.cms.user.client.mailgun.SendMailForm;
 import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.auth.UserDirectory;
 import com.zerobase.cms.user.service.customer.CustomerService;
 import com.zerobase.cms.user.service.seller.SellerService;
 import lombok.RequiredArgsConstructor;
@@ -20,12 +22,14 @@ public class SignUpApplication {
     private final MailgunClient mailgunClient;
     private final CustomerService customerService;
     private final SellerService sellerService;
+    private final UserDirectory userDirectory;
 
     public String customerSignUp(SignUpForm form) {
         if (customerService.isEmailExist(form.getEmail())) {
             throw new CustomException(ALREADY_REGISTER_USER);
         } else {
             Customer customer = customerService.signUpRequest(form);
+            userDirectory.add(UserType.CUSTOMER, customer.getId());
             String code = getRandomCode();
             SendMailForm sendMailForm = SendMailForm.builder()
                 .from("email@.mailgun.org")
@@ -51,6 +55,7 @@ public class SignUpApplication {
             throw new CustomException(ALREADY_REGISTER_USER);
         } else {
             Seller seller = sellerService.signUpRequest(form);
+            userDirectory.add(UserType.SELLER, seller.getId());
             String code = getRandomCode();
             SendMailForm sendMailForm = SendMailForm.builder()
                 .from("email@.mailgun.org")
@@ -0,0 +1,54 @@
+package com.zerobase.cms.user.config;
+
+import com.zerobase.cms.domain.config.AuthMetrics;
+import com.zerobase.cms.domain.config.AuthUserArgumentResolver;
+import com.zerobase.cms.domain.config.JwtAuthenticationFilter;
+import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.user.service.auth.UserDirectory;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final JwtAuthenticationProvider provider;
+
+    @Bean
+    public AuthMetrics authMetrics() {
+        return new AuthMetrics();
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> customerFilter(
+        AuthMetrics authMetrics, UserDirectory userDirectory) {
+        return filter("/customer/*", new JwtAuthenticationFilter(
+            provider, authMetrics, UserType.CUSTOMER, userDirectory::exists));
+    }
+
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> sellerFilter(
+        AuthMetrics authMetrics, UserDirectory userDirectory) {
+        return filter("/seller/*", new JwtAuthenticationFilter(
+            provider, authMetrics, UserType.SELLER, userDirectory::exists));
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new AuthUserArgumentResolver(provider));
+    }
+
+    private FilterRegistrationBean<JwtAuthenticationFilter> filter(
+        String urlPattern, JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+            new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(urlPattern);
+        return registration;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zerobase.cms.user.config.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * 내부 시스템 사이의 요청만 받는다. internal.api-key 가 비어 있으면 모두 막는다. (403)
+ * 키가 없거나 다르면 401. 호출하는 쪽이 설정 오류로 알 수 있도록 서버 오류(500)로 던지지 않는다.
+ */
+@WebFilter(urlPatterns = "/internal/*")
+public class InternalFilter implements Filter {
+
+    @Value(value = "${internal.api-key:}")
+    private String apiKey;
+
+    @Override
+    public void doFilter(
+        ServletRequest request, ServletResponse response, FilterChain chain
+    ) throws ServletException, IOException {
+        int status = check(((HttpServletRequest) request).getHeader("X-INTERNAL-KEY"));
+        if (status != HttpServletResponse.SC_OK) {
+            ((HttpServletResponse) response).sendError(status, "Invalid Access");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private int check(String key) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return HttpServletResponse.SC_FORBIDDEN;
+        }
+        if (key == null || !MessageDigest.isEqual(apiKey.getBytes(StandardCharsets.UTF_8),
+            key.getBytes(StandardCharsets.UTF_8))) {
+            return HttpServletResponse.SC_UNAUTHORIZED;
+        }
+        return HttpServletResponse.SC_OK;
+    }
+}
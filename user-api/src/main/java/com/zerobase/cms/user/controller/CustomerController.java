@@ -2,9 +2,11 @@ package com.zerobase.cms.user.controller;
 
 import static com.zerobase.cms.user.exception.ErrorCode.NOT_FOUND_USER;
 
-import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.config.AuthUser;
 import com.zerobase.cms.domain.domain.common.UserVo;
 import com.zerobase.cms.user.domain.ChangeBalanceForm;
+import com.zerobase.cms.user.domain.DebitBalanceForm;
+import com.zerobase.cms.user.domain.dto.BalanceHistoryPage;
 import com.zerobase.cms.user.domain.dto.CustomerDto;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.exception.CustomException;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,17 +27,15 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class CustomerController {
 
-    private final JwtAuthenticationProvider provider;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CustomerService customerService;
     private final CustomerBalanceService customerBalanceService;
 
     @GetMapping("/getInfo")
     public ResponseEntity<CustomerDto> getInfo(
-        @RequestHeader(name = "X-AUTH-TOKEN")
-        String token
+        @AuthUser UserVo user
     ) {
-
-        UserVo user = provider.getUserVo(token);
         Customer customer = customerService.findByIdAndEmail(user.getId(),
                 user.getEmail())
             .orElseThrow(() -> new CustomException(NOT_FOUND_USER));
@@ -44,15 +45,36 @@ public class CustomerController {
 
     @PostMapping("/balance")
     public ResponseEntity<Integer> changeBalance(
-                    @RequestHeader(name = "X-AUTH-TOKEN") String token,
+                    @AuthUser UserVo user,
                     @RequestBody ChangeBalanceForm form) {
 
-        UserVo user = provider.getUserVo(token);
-
         return ResponseEntity.ok(
             customerBalanceService.changeBalance(user.getId(), form)
                                                 .getCurrentMoney());
     }
 
+    @GetMapping("/balance/history")
+    public ResponseEntity<BalanceHistoryPage> getBalanceHistories(
+                    @AuthUser UserVo user,
+                    @RequestParam(required = false) Long lastId,
+                    @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(customerBalanceService.getHistories(
+            user.getId(), lastId, Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * 잔액 확인과 차감을 한 번의 요청으로 처리한다. 차감 후 잔액을 돌려준다.
+     * 같은 Idempotency-Key 로 다시 요청하면 차감하지 않고 처음 결과를 돌려준다.
+     */
+    @PostMapping("/balance/debit")
+    public ResponseEntity<Integer> debitBalance(
+                    @AuthUser UserVo user,
+                    @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
+                    @RequestBody DebitBalanceForm form) {
+
+        return ResponseEntity.ok(
+            customerBalanceService.debit(user.getId(), idempotencyKey, form));
+    }
 
 }
@@ -0,0 +1,75 @@
+package com.zerobase.cms.user.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.zerobase.cms.user.domain.BalanceBatchRecord;
+import com.zerobase.cms.user.domain.dto.BalanceBatchJobDto;
+import com.zerobase.cms.user.service.customer.BalanceBatchService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 내부 시스템용 API. (InternalFilter 에서 X-INTERNAL-KEY 확인)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/internal/balance/batch")
+@RequiredArgsConstructor
+public class InternalBalanceController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BalanceBatchService balanceBatchService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 본문은 한 줄에 하나씩 {"customerId":1,"amount":1000,"reason":"..."} 이다. (NDJSON)
+     * 줄마다 결과를 반영하는 대로 내보내고 마지막 줄에 작업 요약을 쓴다.
+     * 중간에 멈췄으면 같은 jobId 로 같은 본문을 다시 보낸다. 반영한 줄은 건너뛴다.
+     */
+    @PostMapping(value = "/{jobId}", consumes = NDJSON)
+    public void run(@PathVariable String jobId,
+                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // 응답을 쓰기 전에 검증해 잘못된 요청은 400 으로 돌려준다.
+        balanceBatchService.start(jobId);
+
+        response.setContentType(NDJSON);
+        try (MappingIterator<BalanceBatchRecord> records = objectMapper
+            .readerFor(BalanceBatchRecord.class).readValues(request.getInputStream());
+            SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            BalanceBatchJobDto summary;
+            try {
+                summary = balanceBatchService.run(jobId, records, result -> {
+                    try {
+                        writer.write(result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 이미 결과를 내보내고 있어 상태 코드를 바꿀 수 없으므로 요약에 남긴다.
+                log.error("balance batch stopped. jobId : {}", jobId, e);
+                summary = balanceBatchService.getJob(jobId);
+                summary.setError(e.getMessage());
+            }
+            writer.write(summary);
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BalanceBatchJobDto> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(balanceBatchService.getJob(jobId));
+    }
+}
@@ -0,0 +1,51 @@
+package com.zerobase.cms.user.controller;
+
+import com.zerobase.cms.user.domain.ChangeBalanceForm;
+import com.zerobase.cms.user.domain.DebitBalanceForm;
+import com.zerobase.cms.user.service.customer.CustomerBalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 내부 시스템용 API. (InternalFilter 에서 X-INTERNAL-KEY 확인)
+ * 주문 처리처럼 고객 토큰 없이 고객 잔액을 바꿔야 하는 서비스가 customerId 로 호출한다.
+ */
+@RestController
+@RequestMapping("/internal/customer/{customerId}")
+@RequiredArgsConstructor
+public class InternalCustomerController {
+
+    private final CustomerBalanceService customerBalanceService;
+
+    /**
+     * 같은 Idempotency-Key 로 다시 요청하면 차감하지 않고 처음 결과를 돌려준다.
+     */
+    @PostMapping("/balance/debit")
+    public ResponseEntity<Integer> debitBalance(
+                    @PathVariable Long customerId,
+                    @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
+                    @RequestBody DebitBalanceForm form) {
+
+        return ResponseEntity.ok(
+            customerBalanceService.debit(customerId, idempotencyKey, form));
+    }
+
+    /**
+     * 같은 Idempotency-Key 로 다시 요청하면 더하지 않고 처음 결과를 돌려준다.
+     */
+    @PostMapping("/balance/credit")
+    public ResponseEntity<Integer> creditBalance(
+                    @PathVariable Long customerId,
+                    @RequestHeader(name = "Idempotency-Key") String idempotencyKey,
+                    @RequestBody ChangeBalanceForm form) {
+
+        return ResponseEntity.ok(
+            customerBalanceService.credit(customerId, idempotencyKey, form));
+    }
+}
@@ -0,0 +1,31 @@
+package com.zerobase.cms.user.controller;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.user.service.auth.UserDirectory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 내부 시스템용 API. (InternalFilter 에서 X-INTERNAL-KEY 확인)
+ */
+@RestController
+@RequestMapping("/internal/user")
+@RequiredArgsConstructor
+public class InternalUserController {
+
+    private final UserDirectory userDirectory;
+
+    /**
+     * 탈퇴, 정지한 회원의 남은 토큰을 더 이상 받지 않는다.
+     */
+    @PostMapping("/{userType}/{userId}/revoke")
+    public ResponseEntity<Void> revoke(@PathVariable UserType userType,
+                                       @PathVariable Long userId) {
+        userDirectory.revoke(userType, userId);
+        return ResponseEntity.ok().build();
+    }
+}
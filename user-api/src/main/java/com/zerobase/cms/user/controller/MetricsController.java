@@ -0,0 +1,28 @@
+package com.zerobase.cms.user.controller;
+
+import com.zerobase.cms.domain.config.AuthMetrics;
+import com.zerobase.cms.user.service.auth.PasswordService;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+    private final AuthMetrics authMetrics;
+    private final PasswordService passwordService;
+
+    @GetMapping("/auth")
+    public ResponseEntity<Map<String, Long>> getAuthMetrics() {
+        return ResponseEntity.ok(authMetrics.snapshot());
+    }
+
+    @GetMapping("/password")
+    public ResponseEntity<Map<String, Long>> getPasswordMetrics() {
+        return ResponseEntity.ok(passwordService.snapshot());
+    }
+}
@@ -2,6 +2,7 @@ package com.zerobase.cms.user.controller;
 
 import com.zerobase.cms.user.application.SignInApplication;
 import com.zerobase.cms.user.domain.SignInForm;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,14 +16,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class SignInController {
     private final SignInApplication signInApplication;
 
+    // 비밀번호를 확인하는 동안 요청 스레드를 돌려준다.
     @PostMapping("/customer")
-    public ResponseEntity<String> signInCustomer(@RequestBody SignInForm form) {
-        return ResponseEntity.ok(signInApplication.customerLoginToken(form));
+    public CompletableFuture<ResponseEntity<String>> signInCustomer(
+        @RequestBody SignInForm form) {
+        return signInApplication.customerLoginToken(form).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/seller")
-    public ResponseEntity<String> signInSeller(@RequestBody SignInForm form) {
-        return ResponseEntity.ok(signInApplication.sellerLoginToken(form));
+    public CompletableFuture<ResponseEntity<String>> signInSeller(
+        @RequestBody SignInForm form) {
+        return signInApplication.sellerLoginToken(form).thenApply(ResponseEntity::ok);
     }
 
 }
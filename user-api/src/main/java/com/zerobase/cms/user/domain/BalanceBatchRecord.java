@@ -0,0 +1,17 @@
+package com.zerobase.cms.user.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceBatchRecord {
+    private Long customerId;
+    // 지급은 양수, 차감은 음수
+    private Integer amount;
+    private String reason;
+}
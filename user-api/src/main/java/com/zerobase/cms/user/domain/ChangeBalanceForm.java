@@ -1,8 +1,14 @@
 package com.zerobase.cms.user.domain;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ChangeBalanceForm {
     private String from;
     private String message;
@@ -0,0 +1,17 @@
+package com.zerobase.cms.user.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DebitBalanceForm {
+    private String from;
+    private String message;
+    // 차감할 금액 (양수)
+    private Integer money;
+}
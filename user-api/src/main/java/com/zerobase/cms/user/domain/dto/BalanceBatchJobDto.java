@@ -0,0 +1,32 @@
+package com.zerobase.cms.user.domain.dto;
+
+import com.zerobase.cms.user.domain.model.BalanceBatchJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceBatchJobDto {
+    private String jobId;
+    // 반영을 마친 줄 수. 다시 보내면 여기까지 건너뛴다.
+    private long processed;
+    private long applied;
+    private long failed;
+    // 중간에 멈춘 이유 (멈추지 않았으면 null)
+    private String error;
+
+    public static BalanceBatchJobDto from(BalanceBatchJob job) {
+        return BalanceBatchJobDto.builder()
+            .jobId(job.getJobId())
+            .processed(job.getProcessed())
+            .applied(job.getApplied())
+            .failed(job.getFailed())
+            .build();
+    }
+}
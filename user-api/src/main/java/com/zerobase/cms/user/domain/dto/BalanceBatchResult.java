@@ -0,0 +1,20 @@
+package com.zerobase.cms.user.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceBatchResult {
+    // 본문의 몇 번째 줄인지 (1 부터)
+    private long seq;
+    private Long customerId;
+    private Integer amount;
+    private BalanceBatchStatus status;
+    // 반영 후 잔액 (APPLIED 만)
+    private Integer balance;
+}
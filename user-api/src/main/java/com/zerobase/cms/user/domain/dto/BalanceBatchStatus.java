@@ -0,0 +1,8 @@
+package com.zerobase.cms.user.domain.dto;
+
+public enum BalanceBatchStatus {
+    APPLIED,
+    NOT_ENOUGH_BALANCE,
+    NOT_FOUND_USER,
+    INVALID
+}
@@ -0,0 +1,32 @@
+package com.zerobase.cms.user.domain.dto;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceHistoryDto {
+    private Long id;
+    private Integer changeMoney;
+    private Integer currentMoney;
+    private String fromMessage;
+    private String description;
+    private LocalDateTime createdAt;
+
+    public static BalanceHistoryDto from(CustomerBalanceHistory history) {
+        return BalanceHistoryDto.builder()
+            .id(history.getId())
+            .changeMoney(history.getChangeMoney())
+            .currentMoney(history.getCurrentMoney())
+            .fromMessage(history.getFromMessage())
+            .description(history.getDescription())
+            .createdAt(history.getCreatedAt())
+            .build();
+    }
+}
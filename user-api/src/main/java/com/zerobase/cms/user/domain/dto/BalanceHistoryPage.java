@@ -0,0 +1,22 @@
+package com.zerobase.cms.user.domain.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * keyset 페이지. 다음 페이지는 lastId 로 요청한다. (마지막 페이지면 null)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceHistoryPage {
+    private List<BalanceHistoryDto> content;
+    private Long lastId;
+
+    public static BalanceHistoryPage of(List<BalanceHistoryDto> content, int size) {
+        Long lastId = content.size() < size ? null : content.get(content.size() - 1).getId();
+        return new BalanceHistoryPage(content, lastId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.zerobase.cms.user.domain.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 잔액 변경 작업의 체크포인트. processed 는 반영을 마친 줄 수이고
+ * 묶음마다 잔액 변경과 같은 트랜잭션에서 올리므로 실패한 작업은 이 다음 줄부터 이어 간다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceBatchJob extends BaseEntity {
+
+    @Id
+    @Column(name = "job_id", length = 50)
+    private String jobId;
+
+    private long processed;
+
+    private long applied;
+
+    private long failed;
+
+    public static BalanceBatchJob start(String jobId) {
+        return BalanceBatchJob.builder().jobId(jobId).build();
+    }
+}
@@ -39,8 +39,8 @@ public class Customer extends BaseEntity{
     @NotBlank(message = "필수 입력")
     private String name;
 
+    // PasswordService 가 만든 해시. 비밀번호 규칙은 해시하기 전에 확인한다.
     @NotBlank(message = "필수 입력")
-    @Pattern(regexp = "(?=.*[0-9])(?=.*[a-zA-Z])(?=.*\\W)(?=\\S+$).{8,16}", message = "비밀번호는 8~16자 영문 대 소문자, 숫자, 특수문자를 사용하세요. 특수문자는 반드시 포함 해주세요.")
     private String password;
 
     @NotBlank(message = "필수 입력")
@@ -57,14 +57,15 @@ public class Customer extends BaseEntity{
     private Integer balance;
 
 
-    public static Customer from(SignUpForm form) {
+    public static Customer from(SignUpForm form, String passwordHash) {
         return Customer.builder()
             .email(form.getEmail().toLowerCase(Locale.ROOT))
             .name(form.getName())
-            .password(form.getPassword())
+            .password(passwordHash)
             .phone(form.getPhone())
             .birth(form.getBirth())
             .verify(false)
+            .balance(0)
             .build();
 
     }
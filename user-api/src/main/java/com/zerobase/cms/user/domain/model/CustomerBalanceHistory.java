@@ -6,7 +6,10 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,6 +17,11 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.envers.AuditOverride;
 
+/**
+ * 잔액 변경 이력. 잔액은 Customer.balance 가 기준이고, 이력은 바뀔 때마다 추가만 한다. (수정하지 않음)
+ * 고객별 이력은 (customer_id, id) 인덱스로 읽는다.
+ * retention-months 보다 오래된 이력은 BalanceCompactor 가 CustomerBalanceMonthly 로 합치고 지운다.
+ */
 @Entity
 @Getter
 @Setter
@@ -21,6 +29,11 @@ import org.hibernate.envers.AuditOverride;
 @NoArgsConstructor
 @AllArgsConstructor
 @AuditOverride(forClass = BaseEntity.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_balance_history_idempotency_key",
+    columnNames = {"customer_id", "idempotency_key"}),
+    indexes = {
+        @Index(name = "idx_balance_history_customer_id", columnList = "customer_id, id"),
+        @Index(name = "idx_balance_history_created_at", columnList = "created_at")})
 public class CustomerBalanceHistory extends BaseEntity{
 
     @Id
@@ -40,4 +53,8 @@ public class CustomerBalanceHistory extends BaseEntity{
     private String fromMessage;
 
     private String description;
+
+    // 이 변경을 만든 요청의 키 (debit, credit). 중복 확인은 CustomerBalanceIdempotency 로 한다.
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
 }
@@ -0,0 +1,41 @@
+package com.zerobase.cms.user.domain.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * idempotencyKey 로 받은 잔액 변경(debit, credit)의 결과.
+ * 잔액 변경 이력은 BalanceCompactor 가 합치고 지우므로 키는 지우지 않는 이 테이블에 따로 남겨,
+ * 오래전 요청이 다시 와도 두 번 바꾸지 않는다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_balance_idempotency_key",
+    columnNames = {"customer_id", "idempotency_key"}))
+public class CustomerBalanceIdempotency extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // 변경 후 잔액, 같은 키로 다시 요청하면 이 값을 돌려준다.
+    private Integer currentMoney;
+}
@@ -0,0 +1,71 @@
+package com.zerobase.cms.user.domain.model;
+
+import java.time.LocalDate;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 오래된 잔액 변경 이력을 고객별, 월별로 합친 행. (BalanceCompactor)
+ * 합친 이력은 customer_balance_history 에서 지우므로 고객의 잔액은
+ * 월별 changeSum 의 합 + 남은 이력 changeMoney 의 합이다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_balance_monthly_customer_month",
+    columnNames = {"customer_id", "month"}))
+public class CustomerBalanceMonthly extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    // 해당 월 1일
+    @Column(name = "month", nullable = false)
+    private LocalDate month;
+
+    // 해당 월 변경 금액 합
+    private Long changeSum;
+
+    // 합친 이력 수
+    private Long historyCount;
+
+    // 해당 월 마지막 이력의 잔액
+    private Integer closingBalance;
+
+    // 해당 월 마지막 이력의 id
+    private Long lastHistoryId;
+
+    public static CustomerBalanceMonthly empty(Long customerId, LocalDate month) {
+        return CustomerBalanceMonthly.builder()
+            .customerId(customerId)
+            .month(month)
+            .changeSum(0L)
+            .historyCount(0L)
+            .lastHistoryId(0L)
+            .build();
+    }
+
+    public void add(long changeSum, long historyCount, Long lastHistoryId, Integer closingBalance) {
+        this.changeSum += changeSum;
+        this.historyCount += historyCount;
+        if (lastHistoryId > this.lastHistoryId) {
+            this.lastHistoryId = lastHistoryId;
+            this.closingBalance = closingBalance;
+        }
+    }
+}
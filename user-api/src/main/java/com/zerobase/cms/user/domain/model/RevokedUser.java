@@ -0,0 +1,37 @@
+package com.zerobase.cms.user.domain.model;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 토큰이 남아 있어도 더 이상 인증하지 않을 회원. (탈퇴, 정지)
+ * 인스턴스마다 id 순으로 읽어 UserDirectory 의 탈퇴 목록에 더한다.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedUser extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private UserType userType;
+
+    @Column(nullable = false)
+    private Long userId;
+}
@@ -0,0 +1,29 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.model.BalanceBatchJob;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceBatchJobRepository extends JpaRepository<BalanceBatchJob, String> {
+
+    /**
+     * 체크포인트가 processed 일 때만 작업 행을 잠근다. 같은 작업을 동시에 돌리면 한쪽만 진행한다.
+     */
+    @Modifying
+    @Query("update BalanceBatchJob j set j.modifiedAt = :now"
+        + " where j.jobId = :jobId and j.processed = :processed")
+    int claim(@Param("jobId") String jobId, @Param("processed") long processed,
+        @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update BalanceBatchJob j set j.processed = j.processed + :processed,"
+        + " j.applied = j.applied + :applied, j.failed = j.failed + :failed"
+        + " where j.jobId = :jobId")
+    int advance(@Param("jobId") String jobId, @Param("processed") long processed,
+        @Param("applied") long applied, @Param("failed") long failed);
+}
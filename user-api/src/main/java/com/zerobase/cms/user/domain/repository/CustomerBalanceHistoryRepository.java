@@ -1,16 +1,51 @@
 package com.zerobase.cms.user.domain.repository;
 
 import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.web.bind.annotation.RequestParam;
 
 @Repository
 public interface CustomerBalanceHistoryRepository
-    extends JpaRepository<CustomerBalanceHistory, Long> {
+    extends JpaRepository<CustomerBalanceHistory, Long>,
+    CustomerBalanceHistoryRepositoryCustom {
 
-    Optional<CustomerBalanceHistory> findFirstByCustomer_IdOrderByDescription(
-        @RequestParam("customer_id") Long customerId
-    );
+    Optional<CustomerBalanceHistory> findByCustomer_IdAndIdempotencyKey(
+        Long customerId, String idempotencyKey);
+
+    List<CustomerBalanceHistory> findByCustomer_IdAndIdLessThanOrderByIdDesc(
+        Long customerId, Long id, Pageable pageable);
+
+    @Query("select coalesce(sum(h.changeMoney), 0) from CustomerBalanceHistory h"
+        + " where h.customer.id = :customerId")
+    long sumChangeMoney(@Param("customerId") Long customerId);
+
+    // id 는 생성 순서대로 증가하므로 cutoff 이전 이력은 이 id 이하다.
+    @Query("select max(h.id) from CustomerBalanceHistory h where h.createdAt < :cutoff")
+    Long findMaxIdCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("select distinct h.customer.id from CustomerBalanceHistory h"
+        + " where h.id <= :cutoffId and h.customer.id > :lastCustomerId"
+        + " order by h.customer.id")
+    List<Long> findCustomerIdsToCompact(@Param("cutoffId") Long cutoffId,
+        @Param("lastCustomerId") Long lastCustomerId, Pageable pageable);
+
+    @Query("select year(h.createdAt) as historyYear, month(h.createdAt) as historyMonth,"
+        + " sum(h.changeMoney) as changeSum, count(h) as historyCount, max(h.id) as lastId"
+        + " from CustomerBalanceHistory h"
+        + " where h.customer.id = :customerId and h.id <= :cutoffId"
+        + " group by year(h.createdAt), month(h.createdAt)")
+    List<MonthlyBalanceSum> sumMonthly(@Param("customerId") Long customerId,
+        @Param("cutoffId") Long cutoffId);
+
+    @Modifying
+    @Query("delete from CustomerBalanceHistory h"
+        + " where h.customer.id = :customerId and h.id <= :cutoffId")
+    int deleteCompacted(@Param("customerId") Long customerId, @Param("cutoffId") Long cutoffId);
 }
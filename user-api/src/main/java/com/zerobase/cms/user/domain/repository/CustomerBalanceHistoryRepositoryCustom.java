@@ -0,0 +1,12 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import java.util.List;
+
+public interface CustomerBalanceHistoryRepositoryCustom {
+
+    /**
+     * 이력을 한 번의 batch 로 추가한다. (id 는 돌려받지 않음)
+     */
+    void insertAll(List<CustomerBalanceHistory> histories);
+}
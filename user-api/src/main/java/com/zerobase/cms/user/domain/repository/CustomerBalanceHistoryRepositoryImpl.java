@@ -0,0 +1,37 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerBalanceHistoryRepositoryImpl implements CustomerBalanceHistoryRepositoryCustom {
+
+    private static final String INSERT_SQL =
+        "insert into customer_balance_history (customer_id, change_money, current_money,"
+            + " from_message, description, idempotency_key, created_at, modified_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<CustomerBalanceHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(histories.size());
+        for (CustomerBalanceHistory history : histories) {
+            args.add(new Object[]{history.getCustomer().getId(), history.getChangeMoney(),
+                history.getCurrentMoney(), history.getFromMessage(), history.getDescription(),
+                history.getIdempotencyKey(), now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+}
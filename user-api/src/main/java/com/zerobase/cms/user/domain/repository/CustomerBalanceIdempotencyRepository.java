@@ -0,0 +1,14 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceIdempotency;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerBalanceIdempotencyRepository
+    extends JpaRepository<CustomerBalanceIdempotency, Long> {
+
+    Optional<CustomerBalanceIdempotency> findByCustomerIdAndIdempotencyKey(
+        Long customerId, String idempotencyKey);
+}
@@ -0,0 +1,20 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceMonthly;
+import java.time.LocalDate;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerBalanceMonthlyRepository
+    extends JpaRepository<CustomerBalanceMonthly, Long> {
+
+    Optional<CustomerBalanceMonthly> findByCustomerIdAndMonth(Long customerId, LocalDate month);
+
+    @Query("select coalesce(sum(m.changeSum), 0) from CustomerBalanceMonthly m"
+        + " where m.customerId = :customerId")
+    long sumChangeSum(@Param("customerId") Long customerId);
+}
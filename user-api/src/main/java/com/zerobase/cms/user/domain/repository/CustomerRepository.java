@@ -1,13 +1,44 @@
 package com.zerobase.cms.user.domain.repository;
 
 import com.zerobase.cms.user.domain.model.Customer;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository
+    extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
 
     boolean existsByEmail(String email);
     Optional<Customer> findByEmail(String email);
+
+    @Query("select c.id from Customer c where c.id > :lastId order by c.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 잔액에 money 를 더한다. (차감은 음수) 결과가 음수가 되면 바꾸지 않는다.
+     * 잔액 확인과 변경이 한 문장이고 행 잠금은 커밋까지 유지되므로 동시에 바꿔도 유실되거나 음수가 되지 않는다.
+     * 바꾸지 못했으면 0.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Customer c set c.balance = coalesce(c.balance, 0) + :money"
+        + " where c.id = :id and coalesce(c.balance, 0) + :money >= 0")
+    int changeBalance(@Param("id") Long id, @Param("money") int money);
+
+    /**
+     * 로그인할 때 예전 형식의 비밀번호를 새 해시로 바꾼다.
+     * 그 사이 비밀번호가 바뀌었으면 덮어쓰지 않고 0
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Customer c set c.password = :password"
+        + " where c.id = :id and c.password = :oldPassword")
+    int changePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+        @Param("password") String password);
 }
@@ -0,0 +1,20 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.BalanceBatchRecord;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CustomerRepositoryCustom {
+
+    /**
+     * 잔액 변경을 입력 순서대로 한 번의 batch 로 보낸다. 결과가 음수가 되는 행은 바꾸지 않는다.
+     * 행마다 바꿨으면 true
+     */
+    boolean[] changeBalances(List<BalanceBatchRecord> records);
+
+    /**
+     * 고객 id - 잔액. 없는 고객은 빠진다.
+     */
+    Map<Long, Integer> findBalances(Collection<Long> customerIds);
+}
@@ -0,0 +1,60 @@
+package com.zerobase.cms.user.domain.repository;
+
+import com.zerobase.cms.user.domain.BalanceBatchRecord;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+
+    private static final String CHANGE_BALANCE_SQL =
+        "update customer set balance = coalesce(balance, 0) + ?, modified_at = ?"
+            + " where id = ? and coalesce(balance, 0) + ? >= 0";
+    private static final String FIND_BALANCES_SQL =
+        "select id, coalesce(balance, 0) as balance from customer where id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 조회 없이 CustomerRepository.changeBalance 와 같은 조건부 UPDATE 를 묶어 보낸다.
+     * (rewriteBatchedStatements 사용 시 한 번의 왕복)
+     */
+    @Override
+    public boolean[] changeBalances(List<BalanceBatchRecord> records) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(records.size());
+        for (BalanceBatchRecord record : records) {
+            args.add(new Object[]{
+                record.getAmount(), now, record.getCustomerId(), record.getAmount()});
+        }
+
+        int[] updated = jdbcTemplate.getJdbcTemplate().batchUpdate(CHANGE_BALANCE_SQL, args);
+        boolean[] result = new boolean[updated.length];
+        for (int i = 0; i < updated.length; i++) {
+            result[i] = updated[i] > 0;
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, Integer> findBalances(Collection<Long> customerIds) {
+        Map<Long, Integer> balances = new HashMap<>();
+        if (customerIds.isEmpty()) {
+            return balances;
+        }
+        jdbcTemplate.query(FIND_BALANCES_SQL, new MapSqlParameterSource("ids", customerIds),
+            (RowCallbackHandler) rs -> balances.put(rs.getLong("id"), rs.getInt("balance")));
+        return balances;
+    }
+}
@@ -0,0 +1,17 @@
+package com.zerobase.cms.user.domain.repository;
+
+/**
+ * 고객의 잔액 변경 이력을 월별로 합친 결과.
+ */
+public interface MonthlyBalanceSum {
+
+    Integer getHistoryYear();
+
+    Integer getHistoryMonth();
+
+    Long getChangeSum();
+
+    Long getHistoryCount();
+
+    Long getLastId();
+}
@@ -1,13 +1,32 @@
 package com.zerobase.cms.user.domain.repository;
 
 import com.zerobase.cms.user.domain.model.Seller;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface SellerRepository extends JpaRepository<Seller, Long> {
     Optional<Seller> findByIdAndEmail(Long id, String email);
-    Optional<Seller> findByEmailAndPasswordAndVerifyIsTrue(String email, String password);
     Optional<Seller> findByEmail(String email);
+
+    @Query("select s.id from Seller s where s.id > :lastId order by s.id")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 로그인할 때 예전 형식의 비밀번호를 새 해시로 바꾼다.
+     * 그 사이 비밀번호가 바뀌었으면 덮어쓰지 않고 0
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Seller s set s.password = :password"
+        + " where s.id = :id and s.password = :oldPassword")
+    int changePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+        @Param("password") String password);
 }
@@ -10,6 +10,7 @@ public enum ErrorCode {
 
     // login
     LOGIN_CHECK_FAIL(HttpStatus.BAD_REQUEST, "아이디와 패스워드를 확인해주세요."),
+    LOGIN_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
     // signUp
     ALREADY_REGISTER_USER(HttpStatus.BAD_REQUEST, "이미 가입된 회원 입니다."),
@@ -17,9 +18,14 @@ public enum ErrorCode {
     WRONG_VERIFICATION(HttpStatus.BAD_REQUEST, "잘못된 인증 시도 입니다."),
     EXPIRE_CODE(HttpStatus.BAD_REQUEST, "인증 시간이 만료 되었습니다."),
     NOT_FOUND_USER(HttpStatus.BAD_REQUEST, "일치하는 회원이 없습니다."),
+    INVALID_PASSWORD(HttpStatus.BAD_REQUEST, "비밀번호는 8~16자 영문 대 소문자, 숫자, 특수문자를 사용하세요. 특수문자는 반드시 포함 해주세요."),
 
     // balance
-    NOT_ENOUGH_BALANCE(HttpStatus.BAD_REQUEST, "잔액이 부족합니다.");
+    NOT_ENOUGH_BALANCE(HttpStatus.BAD_REQUEST, "잔액이 부족합니다."),
+    INVALID_BALANCE_MONEY(HttpStatus.BAD_REQUEST, "차감, 환불할 금액은 0보다 커야 합니다."),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency-Key 는 1~100자여야 합니다."),
+    INVALID_BATCH_JOB_ID(HttpStatus.BAD_REQUEST, "작업 id 는 영문, 숫자, '-', '_' 1~50자여야 합니다."),
+    BATCH_JOB_CONFLICT(HttpStatus.CONFLICT, "같은 작업이 이미 진행 중입니다.");
 
 
     private final HttpStatus httpStatus;
@@ -15,7 +15,8 @@ public class ExceptionController {
     @ExceptionHandler({CustomException.class})
     public ResponseEntity<ExceptionResponse> customRequestException(final CustomException c) {
         log.warn("api Exception : {}", c.getErrorCode());
-        return ResponseEntity.badRequest()
+        // LOGIN_BUSY(503), 권한 오류 등은 ErrorCode 의 상태 코드로 돌려준다.
+        return ResponseEntity.status(c.getErrorCode().getHttpStatus())
             .body(new ExceptionResponse(c.getMessage(), c.getErrorCode()));
     }
 
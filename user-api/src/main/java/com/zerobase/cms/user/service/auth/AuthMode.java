@@ -0,0 +1,8 @@
+package com.zerobase.cms.user.service.auth;
+
+public enum AuthMode {
+    // 요청마다 DB 에서 회원을 확인한다.
+    STRICT,
+    // 검증한 토큰을 믿고 메모리의 회원 목록(bloom filter) 과 탈퇴 목록만 확인한다.
+    INDEX
+}
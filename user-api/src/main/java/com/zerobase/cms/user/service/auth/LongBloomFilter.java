@@ -0,0 +1,57 @@
+package com.zerobase.cms.user.service.auth;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 값 전용 bloom filter. 여러 스레드가 동시에 추가, 조회해도 된다.
+ * 없다고 하면 확실히 없고, 있다고 하면 fpp 확률로 틀릴 수 있다.
+ */
+class LongBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    LongBloomFilter(long expectedInsertions, double fpp) {
+        long n = Math.max(expectedInsertions, 1);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max((m + 63) >>> 6, 1));
+        this.bitSize = (long) bits.length() << 6;
+        this.hashCount = Math.max((int) Math.round((double) bitSize / n * Math.log(2)), 1);
+    }
+
+    void put(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                && !bits.compareAndSet(word, current, current | mask)) {
+                // 다른 스레드가 같은 word 를 바꿨으면 다시 시도
+            }
+        }
+    }
+
+    boolean mightContain(long value) {
+        long hash1 = mix(value);
+        long hash2 = mix(hash1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // splitmix64
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,216 @@
+package com.zerobase.cms.user.service.auth;
+
+import static com.zerobase.cms.user.exception.ErrorCode.INVALID_PASSWORD;
+import static com.zerobase.cms.user.exception.ErrorCode.LOGIN_BUSY;
+
+import com.zerobase.cms.user.exception.CustomException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 비밀번호를 PBKDF2-HMAC-SHA256 으로 저장하고 확인한다. 저장 형식은 pbkdf2$반복 횟수$salt$hash (Base64)
+ * 확인은 threads 개의 전용 스레드에서 하고, queue-size 만큼 밀려 있으면 바로 LOGIN_BUSY 로 끝낸다.
+ * 로그인이 몰려도 해시 계산이 요청 스레드를 잡고 있거나 CPU 를 모두 쓰지 않는다.
+ * 평문으로 저장된 예전 비밀번호나 iterations 가 바뀐 해시는 확인에 성공하면 새 해시를 같이 돌려준다.
+ */
+@Service
+public class PasswordService {
+
+    private static final String PREFIX = "pbkdf2$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final Pattern POLICY =
+        Pattern.compile("(?=.*[0-9])(?=.*[a-zA-Z])(?=.*\\W)(?=\\S+$).{8,16}");
+
+    private final SecureRandom random = new SecureRandom();
+
+    // 한 번 확인하는 데 걸리는 시간이 이 값에 비례한다. 바꾸면 다음 로그인부터 새 값으로 다시 해시한다.
+    @Value(value = "${password.hash.iterations:310000}")
+    private int iterations = 310000;
+
+    @Value(value = "${password.verify.threads:4}")
+    private int threads = 4;
+
+    @Value(value = "${password.verify.queue-size:200}")
+    private int queueSize = 200;
+
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+
+    private ThreadPoolExecutor executor;
+
+    // 없는 회원도 같은 시간이 걸리도록 대신 확인하는 해시
+    private String dummyHash;
+
+    public PasswordService() {
+    }
+
+    PasswordService(int iterations, int threads, int queueSize) {
+        this.iterations = iterations;
+        this.threads = threads;
+        this.queueSize = queueSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "password-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        byte[] dummy = new byte[SALT_BYTES];
+        random.nextBytes(dummy);
+        dummyHash = encode(Base64.getEncoder().encodeToString(dummy));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 새 비밀번호를 해시한다. (요청 스레드에서 계산)
+     * 8~16자 영문, 숫자, 특수문자를 모두 쓰지 않았으면 INVALID_PASSWORD
+     */
+    public String hash(String raw) {
+        if (raw == null || !POLICY.matcher(raw).matches()) {
+            throw new CustomException(INVALID_PASSWORD);
+        }
+        return encode(raw);
+    }
+
+    /**
+     * 전용 스레드에서 raw 가 stored 와 맞는지 확인한다. stored 가 null 이면(없는 회원) 항상 실패
+     * 이어서 thenApply 로 붙인 작업도 같은 스레드에서 실행된다.
+     * 밀린 확인이 queue-size 를 넘으면 LOGIN_BUSY 로 실패한 future
+     */
+    public CompletableFuture<PasswordCheck> verify(String raw, String stored) {
+        try {
+            return CompletableFuture.supplyAsync(() -> check(raw, stored), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new CustomException(LOGIN_BUSY));
+        }
+    }
+
+    PasswordCheck check(String raw, String stored) {
+        long start = System.nanoTime();
+        try {
+            PasswordCheck check = compare(raw == null ? "" : raw, stored);
+            (check.isMatched() ? matched : mismatched).increment();
+            if (check.getRehash() != null) {
+                rehashed.increment();
+            }
+            return check;
+        } finally {
+            verifyNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Map<String, Long> snapshot() {
+        long count = matched.sum() + mismatched.sum();
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("matched", matched.sum());
+        snapshot.put("mismatched", mismatched.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("rehashed", rehashed.sum());
+        snapshot.put("avg-us", count == 0 ? 0 : verifyNanos.sum() / count / 1000);
+        snapshot.put("queued", (long) executor.getQueue().size());
+        return snapshot;
+    }
+
+    private PasswordCheck compare(String raw, String stored) {
+        if (stored == null) {
+            matches(raw, dummyHash);
+            return new PasswordCheck(false, null);
+        }
+        if (!stored.startsWith(PREFIX)) {
+            // 해시하기 전에 저장된 평문. 맞으면 새 해시를, 틀려도 같은 시간이 걸리도록 한 번 계산한다.
+            boolean equal = MessageDigest.isEqual(
+                raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+            if (!equal) {
+                matches(raw, dummyHash);
+                return new PasswordCheck(false, null);
+            }
+            return new PasswordCheck(true, encode(raw));
+        }
+        if (!matches(raw, stored)) {
+            return new PasswordCheck(false, null);
+        }
+        return new PasswordCheck(true, iterationsOf(stored) == iterations ? null : encode(raw));
+    }
+
+    private String encode(String raw) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt)
+            + "$" + encoder.encodeToString(pbkdf2(raw, salt, iterations));
+    }
+
+    private boolean matches(String raw, String stored) {
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expected = decoder.decode(parts[3]);
+            byte[] actual = pbkdf2(raw, decoder.decode(parts[2]), Integer.parseInt(parts[1]));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static int iterationsOf(String stored) {
+        return Integer.parseInt(stored.split("\\$")[1]);
+    }
+
+    private static byte[] pbkdf2(String raw, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(raw.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PasswordCheck {
+        private final boolean matched;
+        // 다시 저장할 해시. 바꿀 필요가 없으면 null
+        private final String rehash;
+    }
+}
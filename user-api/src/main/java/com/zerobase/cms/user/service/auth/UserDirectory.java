@@ -0,0 +1,147 @@
+package com.zerobase.cms.user.service.auth;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import com.zerobase.cms.user.domain.model.RevokedUser;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.domain.repository.RevokedUserRepository;
+import com.zerobase.cms.user.domain.repository.SellerRepository;
+import com.zerobase.cms.user.service.customer.CustomerService;
+import com.zerobase.cms.user.service.seller.SellerService;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 필터에서 토큰의 회원이 아직 유효한지 확인한다.
+ * STRICT 는 요청마다 DB 를 읽고, INDEX 는 회원 id 의 bloom filter 와 탈퇴 목록만 본다.
+ * bloom filter 는 가입할 때 바로 더하고, 다른 인스턴스에서 가입한 회원은 refresh-ms 마다 id 순으로 읽어 더한다.
+ * bloom filter 에 없는 회원만 DB 에서 확인하므로 가입 직후에도 인증된다.
+ * 탈퇴 목록(revoked_user) 은 두 모드 모두 확인하고, 한 번 넣으면 빼지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDirectory {
+
+    private final CustomerService customerService;
+    private final SellerService sellerService;
+    private final CustomerRepository customerRepository;
+    private final SellerRepository sellerRepository;
+    private final RevokedUserRepository revokedUserRepository;
+
+    @Value(value = "${auth.filter.mode:STRICT}")
+    private AuthMode mode = AuthMode.STRICT;
+
+    // 유형별 예상 회원 수. 넘으면 오탐률이 올라간다.
+    @Value(value = "${auth.index.expected-users:1000000}")
+    private long expectedUsers = 1000000;
+
+    @Value(value = "${auth.index.fpp:0.01}")
+    private double fpp = 0.01;
+
+    @Value(value = "${auth.index.batch-size:10000}")
+    private int batchSize = 10000;
+
+    private final Map<UserType, Index> indexes = new EnumMap<>(UserType.class);
+    private long lastRevocationId = 0;
+
+    @PostConstruct
+    public void init() {
+        for (UserType type : UserType.values()) {
+            indexes.put(type, new Index(
+                mode == AuthMode.INDEX ? new LongBloomFilter(expectedUsers, fpp) : null));
+        }
+    }
+
+    public boolean exists(UserType type, UserVo user) {
+        Index index = indexes.get(type);
+        if (index.revoked.contains(user.getId())) {
+            return false;
+        }
+        if (index.bloom != null && index.bloom.mightContain(user.getId())) {
+            return true;
+        }
+        boolean exists = type == UserType.CUSTOMER
+            ? customerService.findByIdAndEmail(user.getId(), user.getEmail()).isPresent()
+            : sellerService.findByIdAndEmail(user.getId(), user.getEmail()).isPresent();
+        if (exists) {
+            add(type, user.getId()); // 다른 인스턴스에서 가입해 아직 읽어 오지 않은 회원
+        }
+        return exists;
+    }
+
+    public void add(UserType type, Long userId) {
+        Index index = indexes.get(type);
+        if (index.bloom == null) {
+            return;
+        }
+        index.bloom.put(userId);
+        if (index.count.incrementAndGet() == expectedUsers + 1) {
+            log.warn("user index is over expected users. type : {}, expected : {}",
+                type, expectedUsers);
+        }
+    }
+
+    /**
+     * 남아 있는 토큰으로도 인증하지 못하게 한다. 다른 인스턴스에는 refresh-ms 안에 반영된다.
+     */
+    public void revoke(UserType type, Long userId) {
+        revokedUserRepository.save(RevokedUser.builder().userType(type).userId(userId).build());
+        indexes.get(type).revoked.add(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.index.refresh-ms:60000}")
+    public void refresh() {
+        List<RevokedUser> revoked;
+        do {
+            revoked = revokedUserRepository.findByIdGreaterThanOrderById(
+                lastRevocationId, PageRequest.ofSize(batchSize));
+            for (RevokedUser user : revoked) {
+                indexes.get(user.getUserType()).revoked.add(user.getUserId());
+                lastRevocationId = user.getId();
+            }
+        } while (revoked.size() == batchSize);
+
+        if (mode == AuthMode.INDEX) {
+            load(UserType.CUSTOMER, customerRepository::findIdsAfter);
+            load(UserType.SELLER, sellerRepository::findIdsAfter);
+        }
+    }
+
+    private void load(UserType type, BiFunction<Long, Pageable, List<Long>> findIdsAfter) {
+        Index index = indexes.get(type);
+        List<Long> ids;
+        do {
+            ids = findIdsAfter.apply(index.lastId, PageRequest.ofSize(batchSize));
+            for (Long id : ids) {
+                add(type, id);
+                index.lastId = id;
+            }
+        } while (ids.size() == batchSize);
+    }
+
+    private static class Index {
+        private final LongBloomFilter bloom;
+        private final Set<Long> revoked = ConcurrentHashMap.newKeySet();
+        private final AtomicLong count = new AtomicLong();
+        // refresh 에서 마지막으로 읽은 회원 id (refresh 스레드만 사용)
+        private long lastId = 0;
+
+        private Index(LongBloomFilter bloom) {
+            this.bloom = bloom;
+        }
+    }
+}
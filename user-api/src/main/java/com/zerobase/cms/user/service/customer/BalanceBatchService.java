@@ -0,0 +1,196 @@
+package com.zerobase.cms.user.service.customer;
+
+import static com.zerobase.cms.user.exception.ErrorCode.BATCH_JOB_CONFLICT;
+import static com.zerobase.cms.user.exception.ErrorCode.INVALID_BATCH_JOB_ID;
+
+import com.zerobase.cms.user.domain.BalanceBatchRecord;
+import com.zerobase.cms.user.domain.dto.BalanceBatchJobDto;
+import com.zerobase.cms.user.domain.dto.BalanceBatchResult;
+import com.zerobase.cms.user.domain.dto.BalanceBatchStatus;
+import com.zerobase.cms.user.domain.model.BalanceBatchJob;
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.repository.BalanceBatchJobRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.exception.CustomException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 프로모션 지급, 일괄 환불처럼 많은 고객의 잔액을 한 번에 바꾼다.
+ * chunk-size 줄씩 잔액 UPDATE, 이력 INSERT 를 각각 한 번의 JDBC batch 로 보내고
+ * 같은 트랜잭션에서 작업 체크포인트를 올린다. 실패한 작업은 같은 jobId 로 다시 보내면
+ * 반영한 줄은 건너뛰고 이어 간다.
+ */
+@Slf4j
+@Service
+public class BalanceBatchService {
+
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9_-]{1,50}");
+    private static final String FROM = "BATCH";
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final BalanceBatchJobRepository balanceBatchJobRepository;
+    private final CustomerRepository customerRepository;
+    private final CustomerBalanceHistoryRepository balanceHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value(value = "${balance.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public BalanceBatchService(BalanceBatchJobRepository balanceBatchJobRepository,
+        CustomerRepository customerRepository,
+        CustomerBalanceHistoryRepository balanceHistoryRepository,
+        PlatformTransactionManager transactionManager) {
+        this.balanceBatchJobRepository = balanceBatchJobRepository;
+        this.customerRepository = customerRepository;
+        this.balanceHistoryRepository = balanceHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 작업을 만들거나 이어 갈 작업을 찾는다.
+     */
+    public BalanceBatchJobDto start(String jobId) {
+        if (jobId == null || !JOB_ID.matcher(jobId).matches()) {
+            throw new CustomException(INVALID_BATCH_JOB_ID);
+        }
+        return BalanceBatchJobDto.from(balanceBatchJobRepository.findById(jobId)
+            .orElseGet(() -> create(jobId)));
+    }
+
+    public BalanceBatchJobDto getJob(String jobId) {
+        return BalanceBatchJobDto.from(balanceBatchJobRepository.findById(jobId)
+            .orElseThrow(() -> new CustomException(INVALID_BATCH_JOB_ID)));
+    }
+
+    /**
+     * records 를 처음부터 다시 읽어 체크포인트까지 건너뛰고 나머지를 반영한다.
+     * 줄마다 결과를 listener 로 넘긴다. (chunk 가 커밋된 뒤)
+     */
+    public BalanceBatchJobDto run(String jobId, Iterator<BalanceBatchRecord> records,
+        Consumer<BalanceBatchResult> listener) {
+        long processed = start(jobId).getProcessed();
+        long seq = 0;
+        while (seq < processed && records.hasNext()) {
+            records.next();
+            seq++;
+        }
+
+        List<BalanceBatchRecord> chunk = new ArrayList<>(chunkSize);
+        while (records.hasNext()) {
+            chunk.add(records.next());
+            if (chunk.size() == chunkSize || !records.hasNext()) {
+                long from = seq;
+                List<BalanceBatchResult> results = transactionTemplate.execute(status ->
+                    applyChunk(jobId, from, chunk));
+                results.forEach(listener);
+                seq += chunk.size();
+                chunk.clear();
+            }
+        }
+        return getJob(jobId);
+    }
+
+    private BalanceBatchJob create(String jobId) {
+        try {
+            return balanceBatchJobRepository.saveAndFlush(BalanceBatchJob.start(jobId));
+        } catch (DataIntegrityViolationException e) {
+            // 같은 작업을 동시에 시작했다. 먼저 만든 작업을 이어 간다.
+            return balanceBatchJobRepository.findById(jobId).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * from 다음 줄부터 chunk 를 반영한다. 체크포인트가 from 이 아니면 다른 요청이 진행한 것이므로 멈춘다.
+     */
+    private List<BalanceBatchResult> applyChunk(
+        String jobId, long from, List<BalanceBatchRecord> chunk) {
+        if (balanceBatchJobRepository.claim(jobId, from, LocalDateTime.now()) == 0) {
+            throw new CustomException(BATCH_JOB_CONFLICT);
+        }
+
+        BalanceBatchResult[] results = new BalanceBatchResult[chunk.size()];
+        List<Integer> order = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (isValid(chunk.get(i))) {
+                order.add(i);
+            } else {
+                results[i] = result(from + i + 1, chunk.get(i), BalanceBatchStatus.INVALID, null);
+            }
+        }
+        // 같은 고객의 줄은 입력 순서를 지키면서 고객 id 순으로 잠가 동시에 도는 작업과 교착되지 않게 한다.
+        order.sort(Comparator.comparing(i -> chunk.get(i).getCustomerId()));
+
+        boolean[] changed = customerRepository.changeBalances(
+            order.stream().map(chunk::get).collect(Collectors.toList()));
+
+        Set<Long> customerIds = new HashSet<>();
+        order.forEach(i -> customerIds.add(chunk.get(i).getCustomerId()));
+        Map<Long, Integer> balances = customerRepository.findBalances(customerIds);
+
+        // 커밋 전까지 행이 잠겨 있으므로 마지막 잔액에서 뒤쪽 변경을 빼면 줄마다의 잔액이 된다.
+        Map<Long, Integer> running = new HashMap<>(balances);
+        List<CustomerBalanceHistory> histories = new ArrayList<>();
+        long applied = 0;
+        for (int k = order.size() - 1; k >= 0; k--) {
+            int i = order.get(k);
+            BalanceBatchRecord record = chunk.get(i);
+            long seq = from + i + 1;
+            if (!changed[k]) {
+                results[i] = result(seq, record, balances.containsKey(record.getCustomerId())
+                    ? BalanceBatchStatus.NOT_ENOUGH_BALANCE : BalanceBatchStatus.NOT_FOUND_USER, null);
+                continue;
+            }
+            Integer balance = running.get(record.getCustomerId());
+            running.put(record.getCustomerId(), balance - record.getAmount());
+            results[i] = result(seq, record, BalanceBatchStatus.APPLIED, balance);
+            histories.add(CustomerBalanceHistory.builder()
+                .customer(Customer.builder().id(record.getCustomerId()).build())
+                .changeMoney(record.getAmount())
+                .currentMoney(balance)
+                .fromMessage(FROM)
+                .description(record.getReason())
+                .idempotencyKey("batch-" + jobId + "-" + seq)
+                .build());
+            applied++;
+        }
+        balanceHistoryRepository.insertAll(histories);
+        balanceBatchJobRepository.advance(jobId, chunk.size(), applied, chunk.size() - applied);
+        return List.of(results);
+    }
+
+    private boolean isValid(BalanceBatchRecord record) {
+        return record != null && record.getCustomerId() != null
+            && record.getAmount() != null && record.getAmount() != 0
+            && (record.getReason() == null || record.getReason().length() <= MAX_REASON_LENGTH);
+    }
+
+    private BalanceBatchResult result(
+        long seq, BalanceBatchRecord record, BalanceBatchStatus status, Integer balance) {
+        return BalanceBatchResult.builder()
+            .seq(seq)
+            .customerId(record == null ? null : record.getCustomerId())
+            .amount(record == null ? null : record.getAmount())
+            .status(status)
+            .balance(balance)
+            .build();
+    }
+}
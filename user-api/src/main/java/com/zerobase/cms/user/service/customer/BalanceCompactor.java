@@ -0,0 +1,60 @@
+package com.zerobase.cms.user.service.customer;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주기적으로 retention-months 보다 오래된 잔액 변경 이력을 월별 행으로 합친다.
+ * 보관 기간은 월 단위로 자르므로 한 달의 이력이 나뉘어 합쳐지지 않는다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "balance.compaction.enabled", havingValue = "true")
+public class BalanceCompactor {
+
+    private final BalanceSnapshotService balanceSnapshotService;
+
+    @Value(value = "${balance.compaction.retention-months:3}")
+    private long retentionMonths = 3;
+
+    @Value(value = "${balance.compaction.batch-size:500}")
+    private int batchSize = 500;
+
+    @Scheduled(cron = "${balance.compaction.cron:0 0 4 * * *}")
+    public void compact() {
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        Long cutoffId = balanceSnapshotService.findCutoffId(cutoff.atStartOfDay());
+        if (cutoffId == null) {
+            return;
+        }
+
+        long customers = 0, compacted = 0;
+        Long lastCustomerId = 0L;
+        List<Long> customerIds;
+        do {
+            customerIds = balanceSnapshotService.findCustomerIds(cutoffId, lastCustomerId, batchSize);
+            for (Long customerId : customerIds) {
+                try {
+                    compacted += balanceSnapshotService.compact(customerId, cutoffId);
+                    customers++;
+                } catch (RuntimeException e) {
+                    // 다음 실행에서 다시 합친다.
+                    log.error("balance compaction failed. customerId : {}", customerId, e);
+                }
+            }
+            if (!customerIds.isEmpty()) {
+                lastCustomerId = customerIds.get(customerIds.size() - 1);
+            }
+        } while (customerIds.size() == batchSize);
+
+        log.info("balance compaction done. cutoff : {}, customers : {}, histories : {}",
+            cutoff, customers, compacted);
+    }
+}
@@ -0,0 +1,71 @@
+package com.zerobase.cms.user.service.customer;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceMonthly;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceMonthlyRepository;
+import com.zerobase.cms.user.domain.repository.MonthlyBalanceSum;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 오래된 잔액 변경 이력을 고객별, 월별 한 행으로 합친다.
+ * 합친 이력은 지우므로 이력 테이블과 잔액 대조 비용이 보관 기간만큼으로 유지된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceSnapshotService {
+
+    private final CustomerBalanceHistoryRepository balanceHistoryRepository;
+    private final CustomerBalanceMonthlyRepository balanceMonthlyRepository;
+
+    /**
+     * cutoff 이전에 만들어진 마지막 이력 id. 합칠 이력이 없으면 null
+     */
+    @Transactional(readOnly = true)
+    public Long findCutoffId(LocalDateTime cutoff) {
+        return balanceHistoryRepository.findMaxIdCreatedBefore(cutoff);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findCustomerIds(Long cutoffId, Long lastCustomerId, int size) {
+        return balanceHistoryRepository.findCustomerIdsToCompact(
+            cutoffId, lastCustomerId, PageRequest.ofSize(size));
+    }
+
+    /**
+     * cutoffId 이하 이력을 월별 행에 더하고 지운다. 합계와 삭제가 한 트랜잭션이라
+     * 중간에 실패해도 두 번 더해지지 않는다. 합친 이력 수를 돌려준다.
+     */
+    @Transactional
+    public long compact(Long customerId, Long cutoffId) {
+        long compacted = 0;
+        for (MonthlyBalanceSum sum : balanceHistoryRepository.sumMonthly(customerId, cutoffId)) {
+            LocalDate month = LocalDate.of(sum.getHistoryYear(), sum.getHistoryMonth(), 1);
+            CustomerBalanceMonthly monthly = balanceMonthlyRepository
+                .findByCustomerIdAndMonth(customerId, month)
+                .orElseGet(() -> CustomerBalanceMonthly.empty(customerId, month));
+            Integer closingBalance = balanceHistoryRepository.findById(sum.getLastId())
+                .orElseThrow().getCurrentMoney();
+
+            monthly.add(sum.getChangeSum(), sum.getHistoryCount(), sum.getLastId(), closingBalance);
+            balanceMonthlyRepository.save(monthly);
+            compacted += sum.getHistoryCount();
+        }
+        balanceHistoryRepository.deleteCompacted(customerId, cutoffId);
+        return compacted;
+    }
+
+    /**
+     * 월별 합계와 남은 이력으로 계산한 잔액. Customer.balance 와 대조할 때 쓴다.
+     */
+    @Transactional(readOnly = true)
+    public long ledgerBalance(Long customerId) {
+        return balanceMonthlyRepository.sumChangeSum(customerId)
+            + balanceHistoryRepository.sumChangeMoney(customerId);
+    }
+}
@@ -1,50 +1,161 @@
 package com.zerobase.cms.user.service.customer;
 
+import static com.zerobase.cms.user.exception.ErrorCode.INVALID_BALANCE_MONEY;
+import static com.zerobase.cms.user.exception.ErrorCode.INVALID_IDEMPOTENCY_KEY;
 import static com.zerobase.cms.user.exception.ErrorCode.NOT_ENOUGH_BALANCE;
 import static com.zerobase.cms.user.exception.ErrorCode.NOT_FOUND_USER;
 
 import com.zerobase.cms.user.domain.ChangeBalanceForm;
+import com.zerobase.cms.user.domain.DebitBalanceForm;
+import com.zerobase.cms.user.domain.dto.BalanceHistoryDto;
+import com.zerobase.cms.user.domain.dto.BalanceHistoryPage;
+import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.model.CustomerBalanceIdempotency;
 import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceIdempotencyRepository;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class CustomerBalanceService {
 
     private final CustomerBalanceHistoryRepository balanceHistoryRepository;
+    private final CustomerBalanceIdempotencyRepository balanceIdempotencyRepository;
     private final CustomerRepository customerRepository;
+    private final PlatformTransactionManager transactionManager;
 
+    /**
+     * 잔액을 조건부 UPDATE 한 번으로 바꾸고 이력을 추가한다.
+     * 이력을 읽어 계산하지 않으므로 동시에 바꿔도 유실되지 않는다.
+     */
     @Transactional
     public CustomerBalanceHistory changeBalance(
                                         Long customerId, ChangeBalanceForm form
     ) throws CustomException {
-        CustomerBalanceHistory customerBalanceHistory =
-            balanceHistoryRepository.findFirstByCustomer_IdOrderByDescription(customerId)
-                .orElse(CustomerBalanceHistory.builder()
-                    .changeMoney(0)
-                    .currentMoney(0)
-                    .customer(customerRepository.findById(customerId)
-                        .orElseThrow(() -> new CustomException(NOT_FOUND_USER)))
-                    .build());
-        if (customerBalanceHistory.getCurrentMoney() + form.getMoney() < 0) {
-            throw new CustomException(NOT_ENOUGH_BALANCE);
-        }
+        Customer customer = applyChange(customerId, form.getMoney());
 
-        customerBalanceHistory = CustomerBalanceHistory.builder()
+        return balanceHistoryRepository.save(CustomerBalanceHistory.builder()
             .changeMoney(form.getMoney())
-            .currentMoney(customerBalanceHistory.getCurrentMoney() + form.getMoney())
+            .currentMoney(customer.getBalance())
             .description(form.getMessage())
             .fromMessage(form.getFrom())
-            .customer(customerBalanceHistory.getCustomer())
-            .build();
+            .customer(customer)
+            .build());
+    }
+
+    /**
+     * 잔액 확인과 차감을 한 번에 처리하고 차감 후 잔액을 돌려준다.
+     * 같은 고객이 같은 idempotencyKey 로 다시 요청하면 차감하지 않고 처음 결과를 돌려준다.
+     */
+    public Integer debit(Long customerId, String idempotencyKey, DebitBalanceForm form)
+        throws CustomException {
+        if (form.getMoney() == null || form.getMoney() <= 0) {
+            throw new CustomException(INVALID_BALANCE_MONEY);
+        }
+        return changeOnce(customerId, idempotencyKey,
+            -form.getMoney(), form.getMessage(), form.getFrom());
+    }
+
+    /**
+     * 환불처럼 잔액을 더하고 더한 후 잔액을 돌려준다. form 의 money 는 더할 금액 (양수)
+     * debit 과 같이 같은 idempotencyKey 로 다시 요청하면 한 번만 더한다.
+     */
+    public Integer credit(Long customerId, String idempotencyKey, ChangeBalanceForm form)
+        throws CustomException {
+        if (form.getMoney() == null || form.getMoney() <= 0) {
+            throw new CustomException(INVALID_BALANCE_MONEY);
+        }
+        return changeOnce(customerId, idempotencyKey,
+            form.getMoney(), form.getMessage(), form.getFrom());
+    }
 
-        customerBalanceHistory.getCustomer().setBalance(customerBalanceHistory.getCurrentMoney());
+    private Integer changeOnce(Long customerId, String idempotencyKey, int money,
+        String message, String from) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > 100) {
+            throw new CustomException(INVALID_IDEMPOTENCY_KEY);
+        }
+        Optional<Integer> done = findDone(customerId, idempotencyKey);
+        if (done.isPresent()) {
+            return done.get();
+        }
 
-        return balanceHistoryRepository.save(customerBalanceHistory);
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                Customer customer = applyChange(customerId, money);
+                balanceHistoryRepository.save(CustomerBalanceHistory.builder()
+                    .changeMoney(money)
+                    .currentMoney(customer.getBalance())
+                    .description(message)
+                    .fromMessage(from)
+                    .customer(customer)
+                    .idempotencyKey(idempotencyKey)
+                    .build());
+                // 이력은 compaction 으로 지워지므로 키와 결과는 따로 남긴다.
+                return balanceIdempotencyRepository.saveAndFlush(
+                        CustomerBalanceIdempotency.builder()
+                            .customerId(customerId)
+                            .idempotencyKey(idempotencyKey)
+                            .currentMoney(customer.getBalance())
+                            .build())
+                    .getCurrentMoney();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 같은 키로 동시에 들어온 요청. 이 요청의 변경은 롤백되었고 먼저 커밋된 결과를 돌려준다.
+            return findDone(customerId, idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 이미 처리한 키면 변경 후 잔액. 키 테이블 이전에 처리한 요청은 남아 있는 이력에서 찾는다.
+     */
+    private Optional<Integer> findDone(Long customerId, String idempotencyKey) {
+        Optional<Integer> done = balanceIdempotencyRepository
+            .findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+            .map(CustomerBalanceIdempotency::getCurrentMoney);
+        if (done.isPresent()) {
+            return done;
+        }
+        return balanceHistoryRepository.findByCustomer_IdAndIdempotencyKey(
+                customerId, idempotencyKey)
+            .map(CustomerBalanceHistory::getCurrentMoney);
+    }
+
+    /**
+     * 최신 이력부터 size 개씩 읽는다. 다음 페이지는 이전 페이지의 lastId 로 요청한다.
+     */
+    @Transactional(readOnly = true)
+    public BalanceHistoryPage getHistories(Long customerId, Long lastId, int size) {
+        List<BalanceHistoryDto> histories =
+            balanceHistoryRepository.findByCustomer_IdAndIdLessThanOrderByIdDesc(
+                    customerId, lastId == null ? Long.MAX_VALUE : lastId,
+                    PageRequest.ofSize(size)).stream()
+                .map(BalanceHistoryDto::from).collect(Collectors.toList());
+        return BalanceHistoryPage.of(histories, size);
+    }
+
+    /**
+     * 바꾼 행은 커밋까지 잠겨 있으므로 이어서 읽은 잔액이 이 변경의 결과다.
+     */
+    private Customer applyChange(Long customerId, int money) {
+        if (customerRepository.changeBalance(customerId, money) == 0) {
+            if (!customerRepository.existsById(customerId)) {
+                throw new CustomException(NOT_FOUND_USER);
+            }
+            throw new CustomException(NOT_ENOUGH_BALANCE);
+        }
+        return customerRepository.findById(customerId)
+            .orElseThrow(() -> new CustomException(NOT_FOUND_USER));
     }
 }
@@ -9,17 +9,22 @@ import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Customer;
 import com.zerobase.cms.user.domain.repository.CustomerRepository;
 import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.auth.PasswordService;
 import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
     private final CustomerRepository customerRepository;
+    private final PasswordService passwordService;
 
     public Optional<Customer> findByIdAndEmail(Long id, String email) {
         return customerRepository.findById(id)
@@ -28,16 +33,38 @@ public class CustomerService {
                         .findFirst();
     }
 
-    public Optional<Customer> findValidCustomer(String email, String password) {
-        return customerRepository.findByEmail(email).stream()
-            .filter(customer ->
-                customer.isVerify() && customer.getPassword().equals(password))
-            .findFirst();
+    /**
+     * 비밀번호 확인은 PasswordService 의 스레드에서 한다.
+     * 예전 형식으로 저장된 비밀번호는 확인에 성공하면 새 해시로 바꿔 둔다.
+     */
+    public CompletableFuture<Optional<Customer>> findValidCustomer(String email, String password) {
+        Optional<Customer> customer = customerRepository.findByEmail(email)
+            .filter(Customer::isVerify);
+        String stored = customer.map(Customer::getPassword).orElse(null);
+        return passwordService.verify(password, stored).thenApply(check -> {
+            if (!check.isMatched()) {
+                return Optional.empty();
+            }
+            if (check.getRehash() != null) {
+                changePassword(customer.get().getId(), stored, check.getRehash());
+            }
+            return customer;
+        });
+    }
+
+    private void changePassword(Long customerId, String oldPassword, String password) {
+        // 바꾸지 못해도 다음 로그인에서 다시 시도하므로 로그인은 계속한다.
+        try {
+            customerRepository.changePassword(customerId, oldPassword, password);
+        } catch (RuntimeException e) {
+            log.warn("password rehash failed. customerId : {}", customerId, e);
+        }
     }
 
 // -------signUpService------
     public Customer signUpRequest(SignUpForm form) {
-        return customerRepository.save(Customer.from(form));
+        return customerRepository.save(
+            Customer.from(form, passwordService.hash(form.getPassword())));
     }
 
     public boolean isEmailExist(String email) {
@@ -9,29 +9,59 @@ import com.zerobase.cms.user.domain.SignUpForm;
 import com.zerobase.cms.user.domain.model.Seller;
 import com.zerobase.cms.user.domain.repository.SellerRepository;
 import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.auth.PasswordService;
 import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SellerService {
     private final SellerRepository sellerRepository;
+    private final PasswordService passwordService;
 
     public Optional<Seller> findByIdAndEmail(Long id, String email) {
         return sellerRepository.findByIdAndEmail(id, email);
     }
 
-    public Optional<Seller> findValidSeller(String email, String password) {
-        return sellerRepository.findByEmailAndPasswordAndVerifyIsTrue(email, password);
+    /**
+     * 비밀번호 확인은 PasswordService 의 스레드에서 한다.
+     * 예전 형식으로 저장된 비밀번호는 확인에 성공하면 새 해시로 바꿔 둔다.
+     */
+    public CompletableFuture<Optional<Seller>> findValidSeller(String email, String password) {
+        Optional<Seller> seller = sellerRepository.findByEmail(email)
+            .filter(Seller::isVerify);
+        String stored = seller.map(Seller::getPassword).orElse(null);
+        return passwordService.verify(password, stored).thenApply(check -> {
+            if (!check.isMatched()) {
+                return Optional.empty();
+            }
+            if (check.getRehash() != null) {
+                changePassword(seller.get().getId(), stored, check.getRehash());
+            }
+            return seller;
+        });
+    }
+
+    private void changePassword(Long sellerId, String oldPassword, String password) {
+        // 바꾸지 못해도 다음 로그인에서 다시 시도하므로 로그인은 계속한다.
+        try {
+            sellerRepository.changePassword(sellerId, oldPassword, password);
+        } catch (RuntimeException e) {
+            log.warn("password rehash failed. sellerId : {}", sellerId, e);
+        }
     }
 
 // -----------signUp-----------
     public Seller signUpRequest(SignUpForm form) {
-        return sellerRepository.save(Seller.from(form));
+        return sellerRepository.save(
+            Seller.from(form, passwordService.hash(form.getPassword())));
     }
 
     public boolean isEmailExist(String email) {
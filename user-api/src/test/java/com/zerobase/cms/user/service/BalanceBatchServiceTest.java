@@ -0,0 +1,141 @@
+package com.zerobase.cms.user.service;
+
+import static com.zerobase.cms.user.exception.ErrorCode.BATCH_JOB_CONFLICT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.user.domain.BalanceBatchRecord;
+import com.zerobase.cms.user.domain.dto.BalanceBatchResult;
+import com.zerobase.cms.user.domain.dto.BalanceBatchStatus;
+import com.zerobase.cms.user.domain.model.BalanceBatchJob;
+import com.zerobase.cms.user.domain.repository.BalanceBatchJobRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.customer.BalanceBatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BalanceBatchServiceTest {
+
+    @Mock
+    private BalanceBatchJobRepository balanceBatchJobRepository;
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private CustomerBalanceHistoryRepository balanceHistoryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceBatchService balanceBatchService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        balanceBatchService = new BalanceBatchService(balanceBatchJobRepository,
+            customerRepository, balanceHistoryRepository, transactionManager);
+        ReflectionTestUtils.setField(balanceBatchService, "chunkSize", 10);
+        when(balanceBatchJobRepository.claim(eq("promo"), anyLong(), any())).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("run - 줄마다 결과를 돌려주고 같은 고객의 잔액은 입력 순서대로 계산")
+    void run() {
+        // given
+        job(0);
+        // 고객 id 순으로 보낸다. (2: +1000, 1: +500, 1: -2000, 3: +100)
+        when(customerRepository.changeBalances(any()))
+            .thenReturn(new boolean[]{true, false, true, false});
+        when(customerRepository.findBalances(Set.of(1L, 2L, 3L)))
+            .thenReturn(Map.of(1L, 800, 2L, 1000));
+        List<BalanceBatchResult> results = new ArrayList<>();
+
+        // when
+        balanceBatchService.run("promo", List.of(
+            record(2L, 1000), record(1L, 500), record(null, 100), record(1L, -2000),
+            record(3L, 100)).iterator(), results::add);
+
+        // then
+        verify(customerRepository).changeBalances(argThat(records ->
+            records.get(0).getCustomerId() == 1L && records.get(0).getAmount() == 500
+                && records.get(1).getAmount() == -2000 && records.get(2).getCustomerId() == 2L));
+        assertEquals(5, results.size());
+        assertEquals(BalanceBatchStatus.APPLIED, results.get(0).getStatus());
+        assertEquals(1000, results.get(0).getBalance());
+        assertEquals(BalanceBatchStatus.APPLIED, results.get(1).getStatus());
+        assertEquals(800, results.get(1).getBalance());
+        assertEquals(BalanceBatchStatus.INVALID, results.get(2).getStatus());
+        assertEquals(BalanceBatchStatus.NOT_ENOUGH_BALANCE, results.get(3).getStatus());
+        assertNull(results.get(3).getBalance());
+        assertEquals(BalanceBatchStatus.NOT_FOUND_USER, results.get(4).getStatus());
+        verify(balanceHistoryRepository).insertAll(argThat(histories -> histories.size() == 2
+            && histories.stream().anyMatch(h -> "batch-promo-2".equals(h.getIdempotencyKey()))));
+        verify(balanceBatchJobRepository).advance("promo", 5, 2, 3);
+    }
+
+    @Test
+    @DisplayName("run - 다시 실행하면 체크포인트까지 건너뛰고 이어 감")
+    void run_Resume() {
+        // given
+        job(2);
+        when(customerRepository.changeBalances(any())).thenReturn(new boolean[]{true});
+        when(customerRepository.findBalances(Set.of(3L))).thenReturn(Map.of(3L, 100));
+        List<BalanceBatchResult> results = new ArrayList<>();
+
+        // when
+        balanceBatchService.run("promo", List.of(
+            record(1L, 100), record(2L, 100), record(3L, 100)).iterator(), results::add);
+
+        // then
+        verify(balanceBatchJobRepository).claim(eq("promo"), eq(2L), any());
+        assertEquals(1, results.size());
+        assertEquals(3, results.get(0).getSeq());
+        assertEquals(3L, results.get(0).getCustomerId());
+    }
+
+    @Test
+    @DisplayName("run - 다른 요청이 같은 작업을 진행했으면 반영하지 않음")
+    void run_Conflict() {
+        // given
+        job(0);
+        when(balanceBatchJobRepository.claim(eq("promo"), anyLong(), any())).thenReturn(0);
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> balanceBatchService.run("promo", List.of(record(1L, 100)).iterator(),
+                result -> {
+                }));
+
+        // then
+        assertEquals(BATCH_JOB_CONFLICT, exception.getErrorCode());
+        verify(customerRepository, never()).changeBalances(any());
+    }
+
+    private void job(long processed) {
+        when(balanceBatchJobRepository.findById("promo")).thenReturn(Optional.of(
+            BalanceBatchJob.builder().jobId("promo").processed(processed).build()));
+    }
+
+    private BalanceBatchRecord record(Long customerId, int amount) {
+        return BalanceBatchRecord.builder()
+            .customerId(customerId).amount(amount).reason("promotion").build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.zerobase.cms.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.model.CustomerBalanceMonthly;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceMonthlyRepository;
+import com.zerobase.cms.user.domain.repository.MonthlyBalanceSum;
+import com.zerobase.cms.user.service.customer.BalanceSnapshotService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BalanceSnapshotServiceTest {
+
+    @Mock
+    private CustomerBalanceHistoryRepository balanceHistoryRepository;
+
+    @Mock
+    private CustomerBalanceMonthlyRepository balanceMonthlyRepository;
+
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        balanceSnapshotService =
+            new BalanceSnapshotService(balanceHistoryRepository, balanceMonthlyRepository);
+    }
+
+    @Test
+    @DisplayName("compact - 월별 합계를 기존 월별 행에 더하고 합친 이력을 지움")
+    void compact() {
+        // given
+        LocalDate january = LocalDate.of(2024, 1, 1);
+        CustomerBalanceMonthly stored = CustomerBalanceMonthly.empty(1L, january);
+        stored.add(1000, 2, 5L, 1000);
+        when(balanceHistoryRepository.sumMonthly(1L, 100L)).thenReturn(List.of(
+            sum(2024, 1, -300, 3, 20L), sum(2024, 2, 500, 1, 30L)));
+        when(balanceMonthlyRepository.findByCustomerIdAndMonth(1L, january))
+            .thenReturn(Optional.of(stored));
+        when(balanceHistoryRepository.findById(20L))
+            .thenReturn(Optional.of(CustomerBalanceHistory.builder().currentMoney(700).build()));
+        when(balanceHistoryRepository.findById(30L))
+            .thenReturn(Optional.of(CustomerBalanceHistory.builder().currentMoney(1200).build()));
+
+        // when
+        long compacted = balanceSnapshotService.compact(1L, 100L);
+
+        // then
+        assertEquals(4, compacted);
+        assertEquals(700, stored.getChangeSum());
+        assertEquals(5, stored.getHistoryCount());
+        assertEquals(700, stored.getClosingBalance());
+        assertEquals(20L, stored.getLastHistoryId());
+        verify(balanceMonthlyRepository).save(argThat(monthly ->
+            monthly.getMonth().equals(LocalDate.of(2024, 2, 1))
+                && monthly.getChangeSum() == 500 && monthly.getClosingBalance() == 1200));
+        verify(balanceHistoryRepository).deleteCompacted(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("ledgerBalance - 월별 합계와 남은 이력을 더한 잔액")
+    void ledgerBalance() {
+        // given
+        when(balanceMonthlyRepository.sumChangeSum(any())).thenReturn(700L);
+        when(balanceHistoryRepository.sumChangeMoney(any())).thenReturn(-200L);
+
+        // when
+        long balance = balanceSnapshotService.ledgerBalance(1L);
+
+        // then
+        assertEquals(500, balance);
+    }
+
+    private MonthlyBalanceSum sum(int year, int month, long changeSum, long count, Long lastId) {
+        MonthlyBalanceSum sum = mock(MonthlyBalanceSum.class);
+        when(sum.getHistoryYear()).thenReturn(year);
+        when(sum.getHistoryMonth()).thenReturn(month);
+        when(sum.getChangeSum()).thenReturn(changeSum);
+        when(sum.getHistoryCount()).thenReturn(count);
+        when(sum.getLastId()).thenReturn(lastId);
+        return sum;
+    }
+}
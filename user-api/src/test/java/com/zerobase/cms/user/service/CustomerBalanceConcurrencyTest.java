@@ -0,0 +1,119 @@
+package com.zerobase.cms.user.service;
+
+import static com.zerobase.cms.user.exception.ErrorCode.NOT_ENOUGH_BALANCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.user.domain.ChangeBalanceForm;
+import com.zerobase.cms.user.domain.SignUpForm;
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.customer.CustomerBalanceService;
+import com.zerobase.cms.user.service.customer.CustomerService;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class CustomerBalanceConcurrencyTest {
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerBalanceService customerBalanceService;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private CustomerBalanceHistoryRepository balanceHistoryRepository;
+
+    @Test
+    @DisplayName("changeBalance - 64 개 스레드가 동시에 바꿔도 잔액이 유실되거나 음수가 되지 않음")
+    void concurrentChangeBalance() throws InterruptedException {
+        // given
+        int threads = 64, requestsPerThread = 50, initial = 10000;
+        Customer customer = customerService.signUpRequest(SignUpForm.builder()
+            .name("홍길동")
+            .birth(LocalDate.now())
+            .email("ledger" + System.nanoTime() + "@gmail.com")
+            .password("aaaa123!")
+            .phone("01012345678")
+            .build());
+        customerBalanceService.changeBalance(customer.getId(), form(initial));
+
+        AtomicLong applied = new AtomicLong(initial);
+        AtomicInteger notEnough = new AtomicInteger();
+        // 작업 스레드에서 실패한 assert 는 테스트를 실패시키지 않으므로 모아서 마지막에 확인한다.
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        // 차감이 더 많아 중간에 잔액이 바닥나도록 섞는다.
+                        int money = (thread + i) % 3 == 0 ? 100 : -300;
+                        try {
+                            customerBalanceService.changeBalance(customer.getId(), form(money));
+                            applied.addAndGet(money);
+                        } catch (CustomException e) {
+                            if (e.getErrorCode() != NOT_ENOUGH_BALANCE) {
+                                throw e;
+                            }
+                            notEnough.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add(e);
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        assertEquals(List.of(), errors);
+
+        // then
+        int balance = customerRepository.findById(customer.getId()).orElseThrow().getBalance();
+        List<CustomerBalanceHistory> histories = balanceHistoryRepository.findAll().stream()
+            .filter(history -> history.getCustomer().getId().equals(customer.getId()))
+            .collect(Collectors.toList());
+
+        // 성공한 변경은 모두 반영되고
+        assertEquals(applied.get(), balance);
+        assertEquals(balance,
+            histories.stream().mapToInt(CustomerBalanceHistory::getChangeMoney).sum());
+        assertEquals(threads * requestsPerThread + 1, histories.size() + notEnough.get());
+        // 어느 시점에도 음수가 된 적이 없다.
+        assertTrue(histories.stream().allMatch(history -> history.getCurrentMoney() >= 0));
+    }
+
+    private ChangeBalanceForm form(int money) {
+        return ChangeBalanceForm.builder()
+            .from("TEST")
+            .message("concurrency")
+            .money(money)
+            .build();
+    }
+}
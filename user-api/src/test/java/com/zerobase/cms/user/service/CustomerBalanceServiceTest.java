@@ -0,0 +1,151 @@
+package com.zerobase.cms.user.service;
+
+import static com.zerobase.cms.user.exception.ErrorCode.NOT_ENOUGH_BALANCE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.user.domain.ChangeBalanceForm;
+import com.zerobase.cms.user.domain.DebitBalanceForm;
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.domain.model.CustomerBalanceHistory;
+import com.zerobase.cms.user.domain.model.CustomerBalanceIdempotency;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceHistoryRepository;
+import com.zerobase.cms.user.domain.repository.CustomerBalanceIdempotencyRepository;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.customer.CustomerBalanceService;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class CustomerBalanceServiceTest {
+
+    @Mock
+    private CustomerBalanceHistoryRepository balanceHistoryRepository;
+
+    @Mock
+    private CustomerBalanceIdempotencyRepository balanceIdempotencyRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerBalanceService customerBalanceService;
+
+    private final DebitBalanceForm form = DebitBalanceForm.builder()
+        .from("USER").message("Order #1").money(6000).build();
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        customerBalanceService = new CustomerBalanceService(
+            balanceHistoryRepository, balanceIdempotencyRepository, customerRepository,
+            transactionManager);
+        when(balanceIdempotencyRepository.saveAndFlush(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    @DisplayName("debit - 잔액이 충분하면 차감하고 차감 후 잔액을 돌려줌")
+    void debit() {
+        // given
+        Customer customer = Customer.builder().id(1L).balance(4000).build();
+        when(customerRepository.changeBalance(1L, -6000)).thenReturn(1);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        // when
+        Integer balance = customerBalanceService.debit(1L, "order-1", form);
+
+        // then
+        assertEquals(4000, balance);
+        verify(balanceHistoryRepository).save(argThat(history ->
+            history.getChangeMoney() == -6000 && "order-1".equals(history.getIdempotencyKey())));
+        verify(balanceIdempotencyRepository).saveAndFlush(argThat(done ->
+            "order-1".equals(done.getIdempotencyKey()) && done.getCurrentMoney() == 4000));
+    }
+
+    @Test
+    @DisplayName("debit - 같은 키로 다시 요청하면 차감하지 않고 처음 결과를 돌려줌")
+    void debit_Replay() {
+        // given
+        when(balanceHistoryRepository.findByCustomer_IdAndIdempotencyKey(1L, "order-1"))
+            .thenReturn(Optional.of(CustomerBalanceHistory.builder().currentMoney(4000).build()));
+
+        // when
+        Integer balance = customerBalanceService.debit(1L, "order-1", form);
+
+        // then
+        assertEquals(4000, balance);
+        verify(customerRepository, never()).changeBalance(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("debit - 이력이 compaction 으로 지워진 뒤 같은 키로 다시 요청해도 차감하지 않음")
+    void debit_ReplayAfterCompaction() {
+        // given
+        when(balanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "order-1"))
+            .thenReturn(Optional.of(CustomerBalanceIdempotency.builder()
+                .customerId(1L).idempotencyKey("order-1").currentMoney(4000).build()));
+
+        // when
+        Integer balance = customerBalanceService.debit(1L, "order-1", form);
+
+        // then
+        assertEquals(4000, balance);
+        verify(customerRepository, never()).changeBalance(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("debit - 잔액이 부족하면 차감하지 않음")
+    void debit_NotEnoughBalance() {
+        // given
+        when(customerRepository.changeBalance(1L, -6000)).thenReturn(0);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> customerBalanceService.debit(1L, "order-1", form));
+
+        // then
+        assertEquals(NOT_ENOUGH_BALANCE, exception.getErrorCode());
+        verify(balanceHistoryRepository, never()).save(any());
+        verify(balanceIdempotencyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("credit - 환불 키로 한 번만 더하고, 다시 요청하면 처음 결과를 돌려줌")
+    void credit() {
+        // given
+        ChangeBalanceForm refund = ChangeBalanceForm.builder()
+            .from("USER").message("Order Cancel #1").money(6000).build();
+        Customer customer = Customer.builder().id(1L).balance(10000).build();
+        when(customerRepository.changeBalance(1L, 6000)).thenReturn(1);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        // when
+        Integer balance = customerBalanceService.credit(1L, "refund-order-1", refund);
+        when(balanceIdempotencyRepository.findByCustomerIdAndIdempotencyKey(1L, "refund-order-1"))
+            .thenReturn(Optional.of(CustomerBalanceIdempotency.builder().currentMoney(10000).build()));
+        Integer replayed = customerBalanceService.credit(1L, "refund-order-1", refund);
+
+        // then
+        assertEquals(10000, balance);
+        assertEquals(10000, replayed);
+        verify(customerRepository).changeBalance(1L, 6000);
+        verify(balanceHistoryRepository).save(argThat(history ->
+            history.getChangeMoney() == 6000
+                && "refund-order-1".equals(history.getIdempotencyKey())));
+    }
+}
@@ -0,0 +1,169 @@
+package com.zerobase.cms.user.service;
+
+import static com.zerobase.cms.user.exception.ErrorCode.INVALID_PASSWORD;
+import static com.zerobase.cms.user.exception.ErrorCode.LOGIN_BUSY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.exception.CustomException;
+import com.zerobase.cms.user.service.auth.PasswordService;
+import com.zerobase.cms.user.service.auth.PasswordService.PasswordCheck;
+import com.zerobase.cms.user.service.customer.CustomerService;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PasswordServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private PasswordService passwordService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        passwordService = passwordService(1000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        passwordService.stop();
+    }
+
+    @Test
+    @DisplayName("hash - 같은 비밀번호도 salt 가 달라 매번 다른 해시, 확인은 성공")
+    void hashAndVerify() {
+        // given
+        String hash = passwordService.hash("aaaa123!");
+
+        // when
+        PasswordCheck check = passwordService.verify("aaaa123!", hash).join();
+
+        // then
+        assertTrue(hash.startsWith("pbkdf2$1000$"));
+        assertNotEquals(hash, passwordService.hash("aaaa123!"));
+        assertTrue(check.isMatched());
+        assertNull(check.getRehash());
+        assertFalse(passwordService.verify("aaaa123?", hash).join().isMatched());
+        // 없는 회원
+        assertFalse(passwordService.verify("aaaa123!", null).join().isMatched());
+    }
+
+    @Test
+    @DisplayName("hash - 규칙에 맞지 않는 비밀번호는 해시하지 않음")
+    void hash_InvalidPassword() {
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+            () -> passwordService.hash("password"));
+
+        // then
+        assertEquals(INVALID_PASSWORD, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("verify - 평문으로 저장된 비밀번호, iterations 가 바뀐 해시는 새 해시를 돌려줌")
+    void verify_Rehash() throws InterruptedException {
+        // given
+        PasswordService oldService = passwordService(500);
+        String oldHash = oldService.hash("aaaa123!");
+        oldService.stop();
+
+        // when
+        PasswordCheck legacy = passwordService.verify("aaaa123!", "aaaa123!").join();
+        PasswordCheck changed = passwordService.verify("aaaa123!", oldHash).join();
+
+        // then
+        assertTrue(legacy.isMatched());
+        assertTrue(legacy.getRehash().startsWith("pbkdf2$1000$"));
+        assertTrue(passwordService.verify("aaaa123!", legacy.getRehash()).join().isMatched());
+        assertTrue(changed.isMatched());
+        assertTrue(changed.getRehash().startsWith("pbkdf2$1000$"));
+        assertFalse(passwordService.verify("aaaa123?", "aaaa123!").join().isMatched());
+        assertEquals(2L, passwordService.snapshot().get("rehashed"));
+    }
+
+    @Test
+    @DisplayName("verify - 확인 스레드가 받지 못하면 LOGIN_BUSY")
+    void verify_Busy() throws InterruptedException {
+        // given
+        passwordService.stop();
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> passwordService.verify("aaaa123!", "aaaa123!").join());
+
+        // then
+        assertEquals(LOGIN_BUSY, ((CustomException) exception.getCause()).getErrorCode());
+        assertEquals(1L, passwordService.snapshot().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("findValidCustomer - 평문 비밀번호로 로그인하면 해시로 바꿔 저장")
+    void findValidCustomer_Rehash() {
+        // given
+        CustomerService customerService =
+            new CustomerService(customerRepository, passwordService);
+        Customer customer = Customer.builder()
+            .id(1L).email("test@test.com").password("aaaa123!").verify(true).build();
+        when(customerRepository.findByEmail("test@test.com")).thenReturn(Optional.of(customer));
+
+        // when
+        Optional<Customer> valid =
+            customerService.findValidCustomer("test@test.com", "aaaa123!").join();
+        Optional<Customer> invalid =
+            customerService.findValidCustomer("test@test.com", "aaaa123?").join();
+
+        // then
+        assertTrue(valid.isPresent());
+        assertFalse(invalid.isPresent());
+        verify(customerRepository).changePassword(eq(1L), eq("aaaa123!"),
+            argThat(hash -> hash.startsWith("pbkdf2$")));
+    }
+
+    @Test
+    @DisplayName("findValidCustomer - 인증하지 않은 회원은 비밀번호가 맞아도 실패")
+    void findValidCustomer_NotVerified() {
+        // given
+        CustomerService customerService =
+            new CustomerService(customerRepository, passwordService);
+        when(customerRepository.findByEmail("test@test.com")).thenReturn(Optional.of(
+            Customer.builder().id(1L).password(passwordService.hash("aaaa123!")).build()));
+
+        // when
+        Optional<Customer> valid =
+            customerService.findValidCustomer("test@test.com", "aaaa123!").join();
+
+        // then
+        assertFalse(valid.isPresent());
+        verify(customerRepository, never()).changePassword(any(), anyString(), anyString());
+    }
+
+    private PasswordService passwordService(int iterations) {
+        PasswordService service = new PasswordService();
+        ReflectionTestUtils.setField(service, "iterations", iterations);
+        ReflectionTestUtils.setField(service, "threads", 2);
+        ReflectionTestUtils.setField(service, "queueSize", 10);
+        service.start();
+        return service;
+    }
+}
@@ -0,0 +1,137 @@
+package com.zerobase.cms.user.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import com.zerobase.cms.user.domain.model.Customer;
+import com.zerobase.cms.user.domain.model.RevokedUser;
+import com.zerobase.cms.user.domain.repository.CustomerRepository;
+import com.zerobase.cms.user.domain.repository.RevokedUserRepository;
+import com.zerobase.cms.user.domain.repository.SellerRepository;
+import com.zerobase.cms.user.service.auth.AuthMode;
+import com.zerobase.cms.user.service.auth.UserDirectory;
+import com.zerobase.cms.user.service.customer.CustomerService;
+import com.zerobase.cms.user.service.seller.SellerService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class UserDirectoryTest {
+
+    @Mock
+    private CustomerService customerService;
+    @Mock
+    private SellerService sellerService;
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private SellerRepository sellerRepository;
+    @Mock
+    private RevokedUserRepository revokedUserRepository;
+
+    private UserDirectory userDirectory;
+
+    private final UserVo user = new UserVo(1L, "customer@test.com");
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        userDirectory = new UserDirectory(customerService, sellerService,
+            customerRepository, sellerRepository, revokedUserRepository);
+        ReflectionTestUtils.setField(userDirectory, "expectedUsers", 1000L);
+        ReflectionTestUtils.setField(userDirectory, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("INDEX - 읽어 온 회원은 DB 를 보지 않고 인증")
+    void index() {
+        // given
+        mode(AuthMode.INDEX);
+        when(customerRepository.findIdsAfter(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(customerRepository.findIdsAfter(eq(2L), any())).thenReturn(List.of(3L));
+        when(revokedUserRepository.findByIdGreaterThanOrderById(anyLong(), any()))
+            .thenReturn(List.of());
+
+        // when
+        userDirectory.refresh();
+
+        // then
+        assertTrue(userDirectory.exists(UserType.CUSTOMER, user));
+        assertTrue(userDirectory.exists(UserType.CUSTOMER, new UserVo(3L, "other@test.com")));
+        verify(customerService, never()).findByIdAndEmail(any(), any());
+    }
+
+    @Test
+    @DisplayName("INDEX - 아직 읽어 오지 않은 회원은 DB 에서 한 번 확인")
+    void index_NotLoaded() {
+        // given
+        mode(AuthMode.INDEX);
+        when(customerService.findByIdAndEmail(1L, "customer@test.com"))
+            .thenReturn(Optional.of(Customer.builder().id(1L).build()));
+
+        // when
+        boolean first = userDirectory.exists(UserType.CUSTOMER, user);
+        boolean second = userDirectory.exists(UserType.CUSTOMER, user);
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        verify(customerService).findByIdAndEmail(1L, "customer@test.com");
+        assertFalse(userDirectory.exists(UserType.SELLER, user));
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원은 토큰이 있어도 인증하지 않음")
+    void revoked() {
+        // given
+        mode(AuthMode.INDEX);
+        userDirectory.add(UserType.CUSTOMER, 1L);
+        when(revokedUserRepository.findByIdGreaterThanOrderById(eq(0L), any()))
+            .thenReturn(List.of(RevokedUser.builder()
+                .id(1L).userType(UserType.CUSTOMER).userId(1L).build()));
+        when(revokedUserRepository.findByIdGreaterThanOrderById(eq(1L), any()))
+            .thenReturn(List.of());
+
+        // when
+        userDirectory.refresh();
+
+        // then
+        assertFalse(userDirectory.exists(UserType.CUSTOMER, user));
+    }
+
+    @Test
+    @DisplayName("STRICT - 요청마다 DB 에서 확인")
+    void strict() {
+        // given
+        mode(AuthMode.STRICT);
+        when(customerService.findByIdAndEmail(1L, "customer@test.com"))
+            .thenReturn(Optional.of(Customer.builder().id(1L).build()));
+
+        // when
+        userDirectory.exists(UserType.CUSTOMER, user);
+        userDirectory.exists(UserType.CUSTOMER, user);
+
+        // then
+        verify(customerService, times(2))
+            .findByIdAndEmail(1L, "customer@test.com");
+    }
+
+    private void mode(AuthMode mode) {
+        ReflectionTestUtils.setField(userDirectory, "mode", mode);
+        userDirectory.init();
+    }
+}
@@ -15,6 +15,8 @@ import com.zerobase.cms.user.exception.CustomException;
 import com.zerobase.cms.user.service.customer.CustomerService;
 import com.zerobase.cms.user.service.seller.SellerService;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -55,14 +57,14 @@ public class UserSignInServiceTest {
             .build();
 
         when(customerService.findValidCustomer(form.getEmail(), form.getPassword()))
-            .thenReturn(Optional.of(customer));
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(customer)));
 
         String expectedToken = "generated_token";
         when(provider.createToken(customer.getEmail(), customer.getId(), UserType.CUSTOMER))
             .thenReturn(expectedToken);
 
         // When
-        String resultToken = signInApplication.customerLoginToken(form);
+        String resultToken = signInApplication.customerLoginToken(form).join();
 
         // Then
         assertEquals(expectedToken, resultToken);
@@ -85,11 +87,12 @@ public class UserSignInServiceTest {
             .build();
 
         when(customerService.findValidCustomer(form.getEmail(), form.getPassword()))
-            .thenReturn(Optional.empty());
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When/Then
-        CustomException exception = assertThrows(CustomException.class,
-            () -> signInApplication.customerLoginToken(form));
+        CompletionException completion = assertThrows(CompletionException.class,
+            () -> signInApplication.customerLoginToken(form).join());
+        CustomException exception = (CustomException) completion.getCause();
 
         // 예외 처리 결과를 확인
         assertEquals(LOGIN_CHECK_FAIL, exception.getErrorCode());
@@ -113,14 +116,14 @@ public class UserSignInServiceTest {
             .build();
 
         when(sellerService.findValidSeller(form.getEmail(), form.getPassword()))
-            .thenReturn(Optional.of(seller));
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(seller)));
 
         String expectedToken = "generated_token";
         when(provider.createToken(seller.getEmail(), seller.getId(), UserType.SELLER))
             .thenReturn(expectedToken);
 
         // When
-        String resultToken = signInApplication.sellerLoginToken(form);
+        String resultToken = signInApplication.sellerLoginToken(form).join();
 
         // Then
         assertEquals(expectedToken, resultToken);
@@ -143,11 +146,12 @@ public class UserSignInServiceTest {
             .build();
 
         when(sellerService.findValidSeller(form.getEmail(), form.getPassword()))
-            .thenReturn(Optional.empty());
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
         // When/Then
-        CustomException exception = assertThrows(CustomException.class,
-            () -> signInApplication.sellerLoginToken(form));
+        CompletionException completion = assertThrows(CompletionException.class,
+            () -> signInApplication.sellerLoginToken(form).join());
+        CustomException exception = (CustomException) completion.getCause();
 
         // 예외 처리 결과를 확인
         assertEquals(LOGIN_CHECK_FAIL, exception.getErrorCode());
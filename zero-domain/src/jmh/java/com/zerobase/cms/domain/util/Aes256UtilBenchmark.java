@@ -0,0 +1,103 @@
+package com.zerobase.cms.domain.util;
+
+import com.zerobase.cms.domain.config.JwtAuthenticationProvider;
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.apache.tomcat.util.codec.binary.Base64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aes256Util 와 JwtAuthenticationProvider.getUserVo 의 초당 처리량.
+ * legacy* 는 호출마다 Cipher, 키, IV 를 새로 만들던 이전 구현이다. (비교용)
+ * getUserVo 는 토큰 캐시를 끈 provider 로 재서 매번 검증, 복호화하는 비용을 본다.
+ *
+ * 모듈 빌드 파일에 jmh 소스셋, 플러그인이 없어 빌드에 포함되지 않는다. JMH 러너(org.openjdk.jmh.Main)로 따로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class Aes256UtilBenchmark {
+
+    private static final String KEY = "ZEROBASEKEYISZEROBASEKEY";
+    private static final String IV = KEY.substring(0, 16);
+
+    private final String text = "customer@test.com";
+    private String cipherText;
+
+    private JwtAuthenticationProvider provider;
+    private JwtAuthenticationProvider cachedProvider;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cipherText = Aes256Util.encrypt(text);
+        provider = new JwtAuthenticationProvider(0, 0);
+        cachedProvider = new JwtAuthenticationProvider();
+        token = provider.createToken(text, 1L, UserType.CUSTOMER);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return Aes256Util.encrypt(text);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return Aes256Util.decrypt(cipherText);
+    }
+
+    @Benchmark
+    public String legacyEncrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance(Aes256Util.alg);
+        SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
+        IvParameterSpec ivParameterSpec = new IvParameterSpec(IV.getBytes());
+        cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivParameterSpec);
+
+        byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
+
+        return Base64.encodeBase64String(encrypted);
+    }
+
+    @Benchmark
+    public String legacyDecrypt() throws Exception {
+        Cipher cipher = Cipher.getInstance(Aes256Util.alg);
+        SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
+        IvParameterSpec ivParameterSpec =
+            new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+        cipher.init(Cipher.DECRYPT_MODE, keySpec, ivParameterSpec);
+
+        byte[] decodeBytes = Base64.decodeBase64(cipherText);
+        byte[] decrypted = cipher.doFinal(decodeBytes);
+
+        return new String(decrypted, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public UserVo getUserVo() {
+        return provider.getUserVo(token);
+    }
+
+    @Benchmark
+    public UserVo getUserVoCached() {
+        return cachedProvider.getUserVo(token);
+    }
+}
@@ -0,0 +1,37 @@
+package com.zerobase.cms.domain.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JwtAuthenticationFilter 의 인증 횟수와 걸린 시간. 애플리케이션이 떠 있는 동안 누적된다.
+ */
+public class AuthMetrics {
+
+    private final LongAdder authenticated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(boolean success, long nanos) {
+        if (success) {
+            authenticated.increment();
+        } else {
+            rejected.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public Map<String, Long> snapshot() {
+        long count = authenticated.sum() + rejected.sum();
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("auth.authenticated", authenticated.sum());
+        snapshot.put("auth.rejected", rejected.sum());
+        snapshot.put("auth.latency.avg-us", count == 0 ? 0 : totalNanos.sum() / count / 1000);
+        snapshot.put("auth.latency.max-us", maxNanos.get() / 1000);
+        return snapshot;
+    }
+}
@@ -0,0 +1,14 @@
+package com.zerobase.cms.domain.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러의 UserVo 파라미터에 인증한 회원을 넣는다. (AuthUserArgumentResolver)
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuthUser {
+}
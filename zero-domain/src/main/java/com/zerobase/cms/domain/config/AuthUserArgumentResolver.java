@@ -0,0 +1,38 @@
+package com.zerobase.cms.domain.config;
+
+import com.zerobase.cms.domain.domain.common.UserVo;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * JwtAuthenticationFilter 가 인증해 request attribute 에 넣어 둔 UserVo 를 그대로 넘긴다.
+ * 필터를 거치지 않은 경로면 여기서 인증한다.
+ */
+public class AuthUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final JwtAuthenticationProvider provider;
+
+    public AuthUserArgumentResolver(JwtAuthenticationProvider provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(AuthUser.class)
+            && UserVo.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return provider.authenticate(request)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+    }
+}
@@ -0,0 +1,69 @@
+package com.zerobase.cms.domain.config;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청당 한 번 토큰을 인증하고 결과를 request attribute 에 넣는다. (컨트롤러에서는 @AuthUser)
+ * 토큰이 올바르지 않거나 회원 유형이 다르면 컨트롤러에 닿기 전에 401, 403 으로 끝낸다.
+ * userCheck 가 있으면 인증한 뒤 회원이 아직 유효한지 한 번 더 확인한다.
+ */
+public class JwtAuthenticationFilter implements Filter {
+
+    private final JwtAuthenticationProvider provider;
+    private final AuthMetrics metrics;
+    private final UserType userType;
+    private final BiPredicate<UserType, UserVo> userCheck;
+
+    public JwtAuthenticationFilter(JwtAuthenticationProvider provider, AuthMetrics metrics,
+        UserType userType) {
+        this(provider, metrics, userType, null);
+    }
+
+    public JwtAuthenticationFilter(JwtAuthenticationProvider provider, AuthMetrics metrics,
+        UserType userType, BiPredicate<UserType, UserVo> userCheck) {
+        this.provider = provider;
+        this.metrics = metrics;
+        this.userType = userType;
+        this.userCheck = userCheck;
+    }
+
+    @Override
+    public void doFilter(
+        ServletRequest request, ServletResponse response, FilterChain chain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        int status = check(provider.authenticate((HttpServletRequest) request));
+        metrics.record(status == HttpServletResponse.SC_OK, System.nanoTime() - start);
+
+        if (status != HttpServletResponse.SC_OK) {
+            ((HttpServletResponse) response).sendError(status, "Invalid Access");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private int check(Optional<UserVo> authenticated) {
+        if (authenticated.isEmpty()) {
+            return HttpServletResponse.SC_UNAUTHORIZED;
+        }
+        UserVo user = authenticated.get();
+        if (user.getUserType() != userType) {
+            return HttpServletResponse.SC_FORBIDDEN;
+        }
+        if (userCheck != null && !userCheck.test(userType, user)) {
+            return HttpServletResponse.SC_UNAUTHORIZED;
+        }
+        return HttpServletResponse.SC_OK;
+    }
+}
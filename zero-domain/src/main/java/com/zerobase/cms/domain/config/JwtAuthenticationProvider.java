@@ -5,17 +5,90 @@ import com.zerobase.cms.domain.domain.common.UserVo;
 import com.zerobase.cms.domain.util.Aes256Util;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.impl.TextCodec;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Objects;
+import java.util.Optional;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.HttpServletRequest;
 
+/**
+ * keySet 이 있으면 active 키로 서명하고 토큰 헤더의 kid 로 검증 키를 찾는다. (RS256, ES256 등)
+ * keySet 이 없으면 예전처럼 secretKey 로 HS256 서명, 검증한다.
+ */
 public class JwtAuthenticationProvider {
 
+    /**
+     * authenticate(request) 가 인증한 UserVo 를 담아 두는 request attribute
+     */
+    public static final String USER_ATTRIBUTE = JwtAuthenticationProvider.class.getName() + ".USER";
+
+    public static final String TOKEN_HEADER = "X-AUTH-TOKEN";
+
     private final String secretKey = "secretKey";
 
     private final long tokenValidTime = 1000L * 60 * 60 * 24; // 하루
 
+    // setSigningKey(String) 과 같이 secretKey 를 Base64 로 읽은 키
+    private final Key legacyKey = new SecretKeySpec(
+        TextCodec.BASE64.decode(secretKey), SignatureAlgorithm.HS256.getJcaName());
+
+    private final UserVoCache cache;
+
+    private final JwtKeySet keySet;
+
+    // keySet 이 있을 때 kid 없는 토큰을 받는 마지막 시각. null 이면 받지 않는다.
+    private final Instant legacyTokensUntil;
+
+    private final SigningKeyResolver keyResolver = new SigningKeyResolverAdapter() {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            return resolveKey(header, claims);
+        }
+    };
+
+    private volatile long keySetVersion;
+
+    public JwtAuthenticationProvider() {
+        this(10000, 1000L * 60 * 10);
+    }
+
+    /**
+     * @param cacheSize      검증한 토큰을 보관할 최대 개수 (0 이면 보관하지 않음)
+     * @param cacheTtlMillis 보관 시간. 토큰 만료 시각보다 길게 보관하지는 않는다.
+     */
+    public JwtAuthenticationProvider(int cacheSize, long cacheTtlMillis) {
+        this(cacheSize, cacheTtlMillis, null, null);
+    }
+
+    /**
+     * @param keySet             비대칭 키 목록 (null 이면 HS256)
+     * @param legacyTokensUntil 이 시각까지만 kid 없는 HS256 토큰도 받는다. 키를 바꾸는 동안 이미 발급한 토큰을 위해 둔다.
+     *                          secretKey 는 코드에 있어 누구나 서명할 수 있으므로 재시작과 상관없는 고정 시각으로 정하고,
+     *                          그 전에 발급되고 유효 기간이 tokenValidTime 이하인 토큰만 받는다. (null 이면 받지 않음)
+     */
+    public JwtAuthenticationProvider(int cacheSize, long cacheTtlMillis, JwtKeySet keySet,
+        Instant legacyTokensUntil) {
+        this.cache = new UserVoCache(cacheSize, cacheTtlMillis);
+        this.keySet = keySet;
+        this.legacyTokensUntil = legacyTokensUntil;
+        this.keySetVersion = keySet == null ? 0 : keySet.version();
+    }
+
     public String createToken(String userPk, Long id, UserType userType) {
         Claims claims = Jwts.claims()
                         .setSubject(Aes256Util.encrypt(userPk))
@@ -23,31 +96,136 @@ public class JwtAuthenticationProvider {
         claims.put("roles", userType);
         Date now = new Date();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
             .setClaims(claims)
             .setIssuedAt(now)
-            .setExpiration(new Date(now.getTime() + tokenValidTime))
-            .signWith(SignatureAlgorithm.HS256, secretKey)
+            .setExpiration(new Date(now.getTime() + tokenValidTime));
+        if (keySet == null) {
+            return builder.signWith(SignatureAlgorithm.HS256, secretKey).compact();
+        }
+        JwtKeySet.KeyEntry key = keySet.signingKey();
+        return builder
+            .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
+            .signWith(key.getAlgorithm(), key.getPrivateKey())
             .compact();
     }
 
     public boolean validateToken(String jwtToken) {
+        return authenticate(jwtToken).isPresent();
+    }
+
+    public UserVo getUserVo(String token) {
+        UserVo user = getCached(token);
+        return user != null ? user : verify(token);
+    }
+
+    /**
+     * 서명 검증, 만료 확인, 복호화를 한 번에 한다. 검증한 토큰은 만료 전까지 다시 검증하지 않는다.
+     * 올바르지 않은 토큰이면 empty
+     */
+    public Optional<UserVo> authenticate(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        UserVo user = getCached(token);
+        if (user != null) {
+            return Optional.of(user);
+        }
         try {
-            Jws<Claims> claimsJws =
-                Jwts.parser().setSigningKey(secretKey).parseClaimsJws(jwtToken);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            return Optional.of(verify(token));
         } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 요청당 한 번만 인증한다. 결과는 USER_ATTRIBUTE 에 담아 필터와 컨트롤러가 같이 쓴다.
+     */
+    public Optional<UserVo> authenticate(HttpServletRequest request) {
+        Object user = request.getAttribute(USER_ATTRIBUTE);
+        if (user instanceof UserVo) {
+            return Optional.of((UserVo) user);
+        }
+        Optional<UserVo> authenticated = authenticate(request.getHeader(TOKEN_HEADER));
+        authenticated.ifPresent(vo -> request.setAttribute(USER_ATTRIBUTE, vo));
+        return authenticated;
+    }
+
+    private UserVo getCached(String token) {
+        if (token == null) {
+            return null;
+        }
+        if (keySet != null) {
+            long version = keySet.version();
+            if (version != keySetVersion) {
+                // 빠진 키로 검증한 토큰이 남지 않도록 키가 바뀌면 모두 다시 검증한다.
+                cache.clear();
+                keySetVersion = version;
+            }
+        }
+        return cache.get(digest(token), System.currentTimeMillis());
+    }
+
+    private Key resolveKey(JwsHeader<?> header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (!isLegacyAccepted(header, claims)) {
+                throw new SignatureException("kid is required");
+            }
+            return legacyKey;
+        }
+        if (keySet == null) {
+            throw new SignatureException("unknown kid : " + kid);
+        }
+        return keySet.verifyingKey(kid, header.getAlgorithm());
+    }
+
+    private boolean isLegacyAccepted(JwsHeader<?> header, Claims claims) {
+        if (!SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+            return false;
+        }
+        if (keySet == null) {
+            return true;
+        }
+        if (legacyTokensUntil == null) {
             return false;
         }
+        long until = legacyTokensUntil.toEpochMilli();
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return System.currentTimeMillis() <= until
+            && issuedAt != null && expiration != null
+            && issuedAt.getTime() <= until
+            && expiration.getTime() - issuedAt.getTime() <= tokenValidTime;
     }
 
-    public UserVo getUserVo(String token) {
-        Claims claims = Jwts.parser().setSigningKey(secretKey)
-                                    .parseClaimsJws(token).getBody();
-        return new UserVo(
+    private UserVo verify(String token) {
+        Jws<Claims> claimsJws = Jwts.parser().setSigningKeyResolver(keyResolver)
+            .parseClaimsJws(token);
+        Claims claims = claimsJws.getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new JwtException("expiration is required");
+        }
+
+        Object roles = claims.get("roles");
+        UserVo user = new UserVo(
             Long.valueOf(Objects.requireNonNull(Aes256Util.decrypt(claims.getId()))),
-            Aes256Util.decrypt(claims.getSubject())
+            Aes256Util.decrypt(claims.getSubject()),
+            roles == null ? null : UserType.valueOf(roles.toString())
         );
+        cache.put(digest(token), user, expiration.getTime(), System.currentTimeMillis());
+        return user;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
@@ -0,0 +1,222 @@
+package com.zerobase.cms.domain.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 토큰 서명, 검증에 쓰는 비대칭 키 목록. 키는 kid 로 찾고, 읽을 때 한 번만 파싱해 둔다.
+ * <pre>
+ * {
+ *   "active": "2026-10",
+ *   "keys": [
+ *     { "kid": "2026-10", "alg": "RS256", "public": "MIIBIj...", "private": "MIIEvg..." },
+ *     { "kid": "2026-04", "alg": "RS256", "public": "MIIBIj..." }
+ *   ]
+ * }
+ * </pre>
+ * public 은 X.509(SubjectPublicKeyInfo), private 은 PKCS#8 DER 의 Base64 (PEM 도 가능)
+ * private 와 active 는 토큰을 발급하는 user-api 의 파일에만 넣고, 검증만 하는 서비스에는 public 만 둔다.
+ * <p>
+ * 파일은 reloadIntervalMillis 마다 수정 시각, 크기를 확인해 바뀌었으면 다시 읽는다. (재시작 없이 키 교체)
+ * 새 파일을 읽지 못하면 이전 키를 그대로 쓴다.
+ */
+@Slf4j
+public class JwtKeySet {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path path;
+    private final long reloadIntervalMillis;
+
+    private volatile Keys keys;
+    private volatile long lastChecked;
+    private FileTime lastModified;
+    private long lastSize;
+
+    /**
+     * @throws IllegalStateException 파일을 읽지 못하거나 형식이 올바르지 않을 때
+     */
+    public JwtKeySet(Path path, long reloadIntervalMillis) {
+        this.path = path;
+        this.reloadIntervalMillis = reloadIntervalMillis;
+        try {
+            this.lastModified = Files.getLastModifiedTime(path);
+            this.lastSize = Files.size(path);
+            this.keys = load(path, 1);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("jwt key set load failed : " + path, e);
+        }
+        this.lastChecked = System.currentTimeMillis();
+    }
+
+    /**
+     * 새 토큰에 서명할 키
+     *
+     * @throws IllegalStateException active 키가 없거나 private 키가 없을 때 (검증 전용)
+     */
+    KeyEntry signingKey() {
+        Keys current = current();
+        KeyEntry key = current.active == null ? null : current.byKid.get(current.active);
+        if (key == null || key.privateKey == null) {
+            throw new IllegalStateException("jwt key set has no signing key : " + path);
+        }
+        return key;
+    }
+
+    /**
+     * 토큰 헤더의 kid, alg 에 맞는 검증 키. 키가 없거나 알고리즘이 다르면 SignatureException
+     */
+    PublicKey verifyingKey(String kid, String alg) {
+        KeyEntry key = current().byKid.get(kid);
+        if (key == null) {
+            throw new SignatureException("unknown kid : " + kid);
+        }
+        // 헤더의 alg 를 그대로 믿지 않는다. (공개키를 HMAC 키로 쓰게 하는 공격 방지)
+        if (!key.algorithm.getValue().equals(alg)) {
+            throw new SignatureException("algorithm mismatch. kid : " + kid);
+        }
+        return key.publicKey;
+    }
+
+    /**
+     * 다시 읽을 때마다 1 씩 증가한다.
+     */
+    long version() {
+        return current().version;
+    }
+
+    private Keys current() {
+        long now = System.currentTimeMillis();
+        if (now - lastChecked >= reloadIntervalMillis) {
+            reloadIfChanged(now);
+        }
+        return keys;
+    }
+
+    private synchronized void reloadIfChanged(long now) {
+        if (now - lastChecked < reloadIntervalMillis) {
+            return; // 다른 스레드가 이미 확인함
+        }
+        lastChecked = now;
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            long size = Files.size(path);
+            if (modified.equals(lastModified) && size == lastSize) {
+                return;
+            }
+            // 읽지 못한 파일도 같은 내용이면 다시 시도하지 않도록 먼저 기록한다.
+            lastModified = modified;
+            lastSize = size;
+            keys = load(path, keys.version + 1);
+            log.info("jwt key set reloaded. path : {}, kids : {}, active : {}",
+                path, keys.byKid.keySet(), keys.active);
+        } catch (IOException | RuntimeException e) {
+            log.warn("jwt key set reload failed, keeping previous keys. path : {}", path, e);
+        }
+    }
+
+    private static Keys load(Path path, long version) throws IOException {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        Map<String, KeyEntry> byKid = new HashMap<>();
+        for (JsonNode node : root.path("keys")) {
+            KeyEntry key = parse(node);
+            if (byKid.put(key.kid, key) != null) {
+                throw new IllegalArgumentException("duplicate kid : " + key.kid);
+            }
+        }
+        String active = root.hasNonNull("active") ? root.get("active").asText() : null;
+        if (active != null && !byKid.containsKey(active)) {
+            throw new IllegalArgumentException("active kid not found : " + active);
+        }
+        return new Keys(Collections.unmodifiableMap(byKid), active, version);
+    }
+
+    private static KeyEntry parse(JsonNode node) {
+        String kid = node.path("kid").asText(null);
+        if (kid == null || kid.isEmpty()) {
+            throw new IllegalArgumentException("kid is required");
+        }
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(node.path("alg").asText("RS256"));
+        String family;
+        if (algorithm.isRsa()) {
+            family = "RSA";
+        } else if (algorithm.isEllipticCurve()) {
+            family = "EC";
+        } else {
+            throw new IllegalArgumentException(
+                "asymmetric algorithm is required. kid : " + kid + ", alg : " + algorithm);
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(family);
+            PublicKey publicKey = keyFactory.generatePublic(
+                new X509EncodedKeySpec(decode(node.path("public").asText(""))));
+            PrivateKey privateKey = node.hasNonNull("private")
+                ? keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decode(node.get("private").asText())))
+                : null;
+            return new KeyEntry(kid, algorithm, publicKey, privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("invalid key. kid : " + kid, e);
+        }
+    }
+
+    private static byte[] decode(String key) {
+        return Base64.getMimeDecoder().decode(key.replaceAll("-----[A-Z ]+-----", ""));
+    }
+
+    static class KeyEntry {
+        private final String kid;
+        private final SignatureAlgorithm algorithm;
+        private final PublicKey publicKey;
+        private final PrivateKey privateKey;
+
+        private KeyEntry(String kid, SignatureAlgorithm algorithm, PublicKey publicKey,
+            PrivateKey privateKey) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.publicKey = publicKey;
+            this.privateKey = privateKey;
+        }
+
+        String getKid() {
+            return kid;
+        }
+
+        SignatureAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+
+    private static class Keys {
+        private final Map<String, KeyEntry> byKid;
+        private final String active;
+        private final long version;
+
+        private Keys(Map<String, KeyEntry> byKid, String active, long version) {
+            this.byKid = byKid;
+            this.active = active;
+            this.version = version;
+        }
+    }
+}
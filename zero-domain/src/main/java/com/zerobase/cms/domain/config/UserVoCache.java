@@ -0,0 +1,74 @@
+package com.zerobase.cms.domain.config;
+
+import com.zerobase.cms.domain.domain.common.UserVo;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증한 토큰의 UserVo 를 보관한다. 키는 토큰의 SHA-256 이고 항목은 토큰 만료 시각(exp) 을 넘기지 않는다.
+ * maxSize 에 닿으면 만료된 항목을 지우고, 그래도 가득 차 있으면 1/4 을 비운다.
+ */
+class UserVoCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long ttlMillis;
+
+    UserVoCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    UserVo get(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.user;
+    }
+
+    void put(String key, UserVo user, long expiresAt, long now) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry(user, Math.min(expiresAt, now + ttlMillis)));
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private synchronized void evict(long now) {
+        if (entries.size() < maxSize) {
+            return; // 다른 스레드가 이미 비움
+        }
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        int overflow = entries.size() - maxSize * 3 / 4;
+        Iterator<String> keys = entries.keySet().iterator();
+        while (overflow-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static class Entry {
+        private final UserVo user;
+        private final long expiresAt;
+
+        private Entry(UserVo user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -8,4 +8,10 @@ import lombok.Getter;
 public class UserVo {
     private Long id;
     private String email;
+    // 토큰의 roles (토큰에서 꺼낸 경우만)
+    private UserType userType;
+
+    public UserVo(Long id, String email) {
+        this(id, email, null);
+    }
 }
@@ -1,46 +1,63 @@
 package com.zerobase.cms.domain.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import org.apache.tomcat.util.codec.binary.Base64;
 
+/**
+ * 키와 IV 는 한 번만 만들고, 초기화한 Cipher 를 스레드마다 재사용한다.
+ * doFinal 은 Cipher 를 init 직후 상태로 되돌리므로 다시 init 하지 않아도 된다.
+ * 실패하면 그 스레드의 Cipher 는 버리고 다음 호출에서 새로 만든다.
+ */
 public class Aes256Util {
-    public static String alg = "AES/CBC/PKCS5Padding";
+    public static final String alg = "AES/CBC/PKCS5Padding";
     private static final String KEY = "ZEROBASEKEYISZEROBASEKEY";
     private static final String IV = KEY.substring(0, 16);
 
+    private static final SecretKeySpec KEY_SPEC =
+        new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES");
+    private static final IvParameterSpec IV_SPEC =
+        new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
+
+    private static final ThreadLocal<Cipher> ENCRYPTOR =
+        ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+    private static final ThreadLocal<Cipher> DECRYPTOR =
+        ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+
     public static String encrypt(String text) {
         try {
-            Cipher cipher = Cipher.getInstance(alg);
-            SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
-            IvParameterSpec ivParameterSpec = new IvParameterSpec(IV.getBytes());
-            cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivParameterSpec);
+            byte[] encrypted = ENCRYPTOR.get().doFinal(text.getBytes(StandardCharsets.UTF_8));
 
-            byte[] encrypted = cipher.doFinal(text.getBytes(StandardCharsets.UTF_8));
-
-            return Base64.encodeBase64String(encrypted);
+            return Base64.getEncoder().encodeToString(encrypted);
         } catch (Exception e) {
+            ENCRYPTOR.remove();
             return null;
         }
     }
 
     public static String decrypt(String cipherText) {
         try {
-            Cipher cipher = Cipher.getInstance(alg);
-            SecretKeySpec keySpec = new SecretKeySpec(KEY.getBytes(), "AES");
-            IvParameterSpec ivParameterSpec =
-                new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8));
-            cipher.init(Cipher.DECRYPT_MODE, keySpec, ivParameterSpec);
-
-            byte[] decodeBytes = Base64.decodeBase64(cipherText);
-            byte[] decrypted = cipher.doFinal(decodeBytes);
+            byte[] decodeBytes = Base64.getDecoder().decode(cipherText);
+            byte[] decrypted = DECRYPTOR.get().doFinal(decodeBytes);
 
             return new String(decrypted, StandardCharsets.UTF_8);
         } catch (Exception e) {
+            DECRYPTOR.remove();
             return null;
         }
     }
 
+    private static Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(alg);
+            cipher.init(mode, KEY_SPEC, IV_SPEC);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
@@ -0,0 +1,78 @@
+package com.zerobase.cms.domain.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.domain.domain.common.UserVo;
+import com.zerobase.cms.domain.util.Aes256Util;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+
+class JwtAuthenticationProviderTest {
+
+    private final JwtAuthenticationProvider provider = new JwtAuthenticationProvider();
+
+    @Test
+    void authenticate() {
+        String token = provider.createToken("test@test.com", 1L, UserType.CUSTOMER);
+
+        UserVo user = provider.authenticate(token).orElseThrow();
+
+        assertEquals(1L, user.getId());
+        assertEquals("test@test.com", user.getEmail());
+        assertEquals(UserType.CUSTOMER, user.getUserType());
+        // 두 번째부터는 검증한 결과를 다시 쓴다.
+        assertSame(user, provider.getUserVo(token));
+        assertTrue(provider.validateToken(token));
+    }
+
+    @Test
+    void authenticate_Invalid() {
+        String token = provider.createToken("test@test.com", 1L, UserType.CUSTOMER);
+
+        assertFalse(provider.authenticate(token + "x").isPresent());
+        assertFalse(provider.authenticate("").isPresent());
+        assertFalse(provider.validateToken(null));
+    }
+
+    @Test
+    void authenticate_Expired() {
+        String token = Jwts.builder()
+            .setSubject(Aes256Util.encrypt("test@test.com"))
+            .setId(Aes256Util.encrypt("1"))
+            .setExpiration(new Date(System.currentTimeMillis() - 1000))
+            .signWith(SignatureAlgorithm.HS256, "secretKey")
+            .compact();
+
+        assertFalse(provider.authenticate(token).isPresent());
+    }
+
+    @Test
+    void cache_ExpiresAtTokenExpiration() {
+        UserVoCache cache = new UserVoCache(10, 60_000);
+        UserVo user = new UserVo(1L, "test@test.com");
+
+        cache.put("token", user, 1_500, 1_000);
+
+        assertSame(user, cache.get("token", 1_499));
+        assertNull(cache.get("token", 1_500));
+    }
+
+    @Test
+    void cache_Bounded() {
+        UserVoCache cache = new UserVoCache(4, 60_000);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token" + i, new UserVo((long) i, "test@test.com"), Long.MAX_VALUE, 0);
+        }
+
+        assertTrue(cache.size() <= 4);
+        assertEquals(99L, cache.get("token99", 0).getId());
+    }
+}
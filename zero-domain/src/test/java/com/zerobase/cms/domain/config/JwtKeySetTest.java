@@ -0,0 +1,180 @@
+package com.zerobase.cms.domain.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zerobase.cms.domain.domain.common.UserType;
+import com.zerobase.cms.domain.util.Aes256Util;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JwtKeySetTest {
+
+    private static final KeyPair KEY_1 = generate("RSA", 2048);
+    private static final KeyPair KEY_2 = generate("EC", 256);
+
+    @TempDir
+    Path dir;
+
+    private long modified = 1_000_000;
+
+    @Test
+    void issuerSignsAndVerifierChecksWithPublicKeyOnly() throws IOException {
+        JwtAuthenticationProvider issuer = provider(write("issuer.json",
+            "{\"active\":\"k1\",\"keys\":[" + key("k1", "RS256", KEY_1, true) + "]}"), null);
+        JwtAuthenticationProvider verifier = provider(write("verifier.json",
+            "{\"keys\":[" + key("k1", "RS256", KEY_1, false) + "]}"), null);
+
+        String token = issuer.createToken("test@test.com", 1L, UserType.CUSTOMER);
+
+        assertEquals("k1", Jwts.parser().setSigningKey(KEY_1.getPublic())
+            .parseClaimsJws(token).getHeader().getKeyId());
+        assertEquals(1L, verifier.authenticate(token).orElseThrow().getId());
+        // 검증 전용 서비스는 발급하지 못한다.
+        assertThrows(IllegalStateException.class,
+            () -> verifier.createToken("test@test.com", 1L, UserType.CUSTOMER));
+    }
+
+    @Test
+    void rotateWithoutRestart() throws IOException {
+        Path path = write("keys.json",
+            "{\"active\":\"k1\",\"keys\":[" + key("k1", "RS256", KEY_1, true) + "]}");
+        JwtAuthenticationProvider provider = provider(path, null);
+        String oldToken = provider.createToken("test@test.com", 1L, UserType.CUSTOMER);
+        assertTrue(provider.validateToken(oldToken));
+
+        // 새 키로 바꾸고 이전 키는 검증용으로 남긴다.
+        write("keys.json", "{\"active\":\"k2\",\"keys\":["
+            + key("k1", "RS256", KEY_1, false) + "," + key("k2", "ES256", KEY_2, true) + "]}");
+        String newToken = provider.createToken("test@test.com", 1L, UserType.CUSTOMER);
+
+        assertEquals("k2", Jwts.parser().setSigningKey(KEY_2.getPublic())
+            .parseClaimsJws(newToken).getHeader().getKeyId());
+        assertTrue(provider.validateToken(oldToken));
+        assertTrue(provider.validateToken(newToken));
+
+        // 이전 키를 빼면 캐시에 있던 토큰도 더는 통과하지 않는다.
+        write("keys.json",
+            "{\"active\":\"k2\",\"keys\":[" + key("k2", "ES256", KEY_2, true) + "]}");
+        assertFalse(provider.validateToken(oldToken));
+        assertTrue(provider.validateToken(newToken));
+    }
+
+    @Test
+    void invalidFileKeepsPreviousKeys() throws IOException {
+        Path path = write("keys.json",
+            "{\"active\":\"k1\",\"keys\":[" + key("k1", "RS256", KEY_1, true) + "]}");
+        JwtAuthenticationProvider provider = provider(path, null);
+
+        write("keys.json", "{\"active\":\"k1\",\"keys\":[");
+
+        assertTrue(provider.validateToken(
+            provider.createToken("test@test.com", 1L, UserType.CUSTOMER)));
+        assertThrows(IllegalStateException.class,
+            () -> new JwtKeySet(path, 0));
+    }
+
+    @Test
+    void legacyTokens() throws IOException {
+        Path path = write("keys.json",
+            "{\"active\":\"k1\",\"keys\":[" + key("k1", "RS256", KEY_1, true) + "]}");
+        String legacyToken = new JwtAuthenticationProvider()
+            .createToken("test@test.com", 1L, UserType.CUSTOMER);
+
+        assertTrue(provider(path, Instant.now().plusSeconds(3600)).validateToken(legacyToken));
+        assertFalse(provider(path, null).validateToken(legacyToken));
+        // 정해 둔 시각이 지나면 재시작과 상관없이 받지 않는다.
+        assertFalse(provider(path, Instant.now().minusSeconds(1)).validateToken(legacyToken));
+    }
+
+    @Test
+    void rejectLegacyTokensIssuedAfterCutoff() throws IOException {
+        Path path = write("keys.json",
+            "{\"active\":\"k1\",\"keys\":[" + key("k1", "RS256", KEY_1, true) + "]}");
+        long now = System.currentTimeMillis();
+        JwtAuthenticationProvider provider = provider(path, Instant.ofEpochMilli(now + 10_000));
+
+        // 코드에 있는 secretKey 로 정해 둔 시각 뒤에 발급된 것처럼 만든 토큰
+        assertFalse(provider.validateToken(legacyToken(now + 20_000, now + 80_000)));
+        // 예전에 발급된 것처럼 만들었지만 유효 기간이 하루보다 긴 토큰
+        assertFalse(provider.validateToken(
+            legacyToken(now - 60_000, now + 1000L * 60 * 60 * 24 * 30)));
+        assertTrue(provider.validateToken(legacyToken(now - 60_000, now + 60_000)));
+    }
+
+    @Test
+    void rejectAlgorithmMismatch() throws IOException {
+        Path path = write("keys.json",
+            "{\"active\":\"k1\",\"keys\":[" + key("k1", "RS256", KEY_1, true) + "]}");
+        // 공개키 바이트를 HMAC 키로 써서 만든 토큰
+        String forged = Jwts.builder()
+            .setHeaderParam("kid", "k1")
+            .setSubject("test@test.com")
+            .signWith(SignatureAlgorithm.HS256, KEY_1.getPublic().getEncoded())
+            .compact();
+
+        assertFalse(provider(path, Instant.now().plusSeconds(3600)).validateToken(forged));
+    }
+
+    private static String legacyToken(long issuedAt, long expiration) {
+        Claims claims = Jwts.claims()
+            .setSubject(Aes256Util.encrypt("test@test.com"))
+            .setId(Aes256Util.encrypt("1"));
+        claims.put("roles", UserType.CUSTOMER);
+        return Jwts.builder()
+            .setClaims(claims)
+            .setIssuedAt(new Date(issuedAt))
+            .setExpiration(new Date(expiration))
+            .signWith(SignatureAlgorithm.HS256, "secretKey")
+            .compact();
+    }
+
+    private JwtAuthenticationProvider provider(Path path, Instant legacyTokensUntil) {
+        return new JwtAuthenticationProvider(100, 60_000, new JwtKeySet(path, 0),
+            legacyTokensUntil);
+    }
+
+    private Path write(String name, String json) throws IOException {
+        Path path = dir.resolve(name);
+        Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        // 같은 초 안에 다시 써도 바뀐 것을 알 수 있도록 수정 시각을 옮긴다.
+        Files.setLastModifiedTime(path, FileTime.fromMillis(modified += 1000));
+        return path;
+    }
+
+    private static String key(String kid, String alg, KeyPair pair, boolean withPrivate) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return "{\"kid\":\"" + kid + "\",\"alg\":\"" + alg + "\",\"public\":\""
+            + encoder.encodeToString(pair.getPublic().getEncoded()) + "\""
+            + (withPrivate
+            ? ",\"private\":\"" + encoder.encodeToString(pair.getPrivate().getEncoded()) + "\""
+            : "")
+            + "}";
+    }
+
+    private static KeyPair generate(String algorithm, int size) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+            generator.initialize(size);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.zerobase.cms.domain.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 class Aes256UtilTest {
@@ -11,4 +16,34 @@ class Aes256UtilTest {
         String encrypt = Aes256Util.encrypt("Hello world");
         assertEquals(Aes256Util.decrypt(encrypt), "Hello world");
     }
-}
\ No newline at end of file
+
+    @Test
+    void decryptInvalid() {
+        assertNull(Aes256Util.decrypt("not base64!"));
+        assertNull(Aes256Util.decrypt(Aes256Util.encrypt("Hello world").substring(4)));
+        // 실패한 뒤에도 같은 스레드에서 계속 쓸 수 있다.
+        assertEquals("Hello world", Aes256Util.decrypt(Aes256Util.encrypt("Hello world")));
+    }
+
+    @Test
+    void encryptAndDecryptConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    String text = "user" + thread + "-" + i + "@test.com";
+                    if (!text.equals(Aes256Util.decrypt(Aes256Util.encrypt(text)))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+    }
+}